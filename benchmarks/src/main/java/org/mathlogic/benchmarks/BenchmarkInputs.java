@@ -0,0 +1,189 @@
+package org.mathlogic.benchmarks;
+
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.mathlogic.Constant.CLAUSE_LITERALS_DIVISOR;
+import static org.mathlogic.Constant.VARIABLE_IDENTIFIER;
+
+/**
+ * Inputs of the benchmarks, generated from fixed seeds and checked in under {@code src/main/resources/inputs},
+ * so that every run measures exactly the same terms and clauses. Every line of an input file is a pair
+ * {@code general<TAB>instance}, where the instance is obtained by applying a substitution to the general
+ * term or clause and, for clauses, by adding more literals: so the two unify, and the general one matches
+ * and subsumes the instance.
+ * <p>
+ * Run {@link #main(String[])} to regenerate the files after changing the generator.
+ */
+public final class BenchmarkInputs {
+    public static final int[] TERM_DEPTHS = {2, 4, 6};
+    public static final int[] TERM_WIDTHS = {1, 2, 3};
+    public static final int[] CLAUSE_LITERALS = {4, 8, 16};
+    public static final int PAIRS = 8;
+
+    private static final long SEED = 20240601L;
+    private static final String SEPARATOR = "\t";
+    private static final int VARIABLES = 4;
+    private static final int PREDICATES = 4;
+
+    private BenchmarkInputs() {
+    }
+
+    /**
+     * Pair of a general term, clause or literal and an instance of it.
+     */
+    public record Pair<T>(T general, T instance) {
+    }
+
+    public static List<Pair<Term>> terms(int depth, int width) {
+        return read(termsFile(depth, width)).stream()
+                .map(line -> new Pair<>(Term.parse(line[0]), Term.parse(line[1])))
+                .toList();
+    }
+
+    public static List<Pair<Clause>> clauses(int literals) {
+        return read(clausesFile(literals)).stream()
+                .map(line -> new Pair<>(Clause.parse(line[0]), Clause.parse(line[1])))
+                .toList();
+    }
+
+    /**
+     * Text of the instance clauses of {@link #clauses(int)}, as written in the input file.
+     */
+    public static List<String> clauseTexts(int literals) {
+        return read(clausesFile(literals)).stream().map(line -> line[1]).toList();
+    }
+
+    public static void main(String[] args) throws IOException {
+        Path directory = Path.of(args.length > 0 ? args[0] : "src/main/resources/inputs");
+        Files.createDirectories(directory);
+        for (int depth : TERM_DEPTHS) {
+            for (int width : TERM_WIDTHS) {
+                Generator generator = new Generator(new Random(SEED + 31L * depth + width), width);
+                List<String> lines = new ArrayList<>();
+                for (int i = 0; i < PAIRS; i++) {
+                    Term general = generator.term(depth, true);
+                    Term instance = general.applySubstitution(generator.substitution());
+                    lines.add(general + SEPARATOR + instance);
+                }
+                Files.write(directory.resolve(termsFile(depth, width)), lines);
+            }
+        }
+        for (int literals : CLAUSE_LITERALS) {
+            Generator generator = new Generator(new Random(SEED + literals), 2);
+            List<String> lines = new ArrayList<>();
+            for (int i = 0; i < PAIRS; i++) {
+                Set<Literal> generalLiterals = new HashSet<>();
+                while (generalLiterals.size() < literals / 2) {
+                    generalLiterals.add(generator.literal(true));
+                }
+                Map<String, Term> substitution = generator.substitution();
+                Set<Literal> instanceLiterals = generalLiterals.stream()
+                        .map(literal -> literal.applySubstitution(substitution))
+                        .collect(Collectors.toCollection(HashSet::new));
+                while (instanceLiterals.size() < literals) {
+                    instanceLiterals.add(generator.literal(false));
+                }
+                lines.add(format(generalLiterals) + SEPARATOR + format(instanceLiterals));
+            }
+            Files.write(directory.resolve(clausesFile(literals)), lines);
+        }
+    }
+
+    private static String termsFile(int depth, int width) {
+        return "terms-d" + depth + "-w" + width + ".txt";
+    }
+
+    private static String clausesFile(int literals) {
+        return "clauses-" + literals + ".txt";
+    }
+
+    private static List<String[]> read(String file) {
+        InputStream input = BenchmarkInputs.class.getResourceAsStream("/inputs/" + file);
+        if (input == null) {
+            throw new IllegalArgumentException("No benchmark input " + file);
+        }
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            return reader.lines().map(line -> line.split(SEPARATOR)).toList();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Clause in the syntax of {@link Clause#parse(String)}.
+     */
+    private static String format(Set<Literal> literals) {
+        String negatives = literals.stream().filter(Literal::isNegated)
+                .map(literal -> literal.negate().toString()).sorted().collect(Collectors.joining(", "));
+        String positives = literals.stream().filter(literal -> !literal.isNegated())
+                .map(Literal::toString).sorted().collect(Collectors.joining(", "));
+        return (negatives + " " + CLAUSE_LITERALS_DIVISOR + " " + positives).trim();
+    }
+
+    /**
+     * Random terms and literals on a fixed signature: functions {@code f0}, {@code f1} of the given arity,
+     * constants {@code a}, {@code b}, {@code c}, predicates {@code P0}... of arity 2, variables {@code ?x0}...
+     */
+    private static class Generator {
+        private final Random random;
+        private final int width;
+
+        private Generator(Random random, int width) {
+            this.random = random;
+            this.width = width;
+        }
+
+        private Term term(int depth, boolean withVariables) {
+            if (depth == 0) {
+                if (withVariables && random.nextInt(3) == 0) {
+                    return new Term(VARIABLE_IDENTIFIER + "x" + random.nextInt(VARIABLES));
+                }
+                return new Term(String.valueOf((char) ('a' + random.nextInt(3))));
+            }
+            List<Term> arguments = new ArrayList<>();
+            for (int i = 0; i < width; i++) {
+                arguments.add(term(depth - 1, withVariables));
+            }
+            return new Term("f" + random.nextInt(2), arguments);
+        }
+
+        private Literal literal(boolean withVariables) {
+            return new Literal(
+                    random.nextBoolean(),
+                    "P" + random.nextInt(PREDICATES),
+                    term(1 + random.nextInt(2), withVariables),
+                    term(1 + random.nextInt(2), withVariables)
+            );
+        }
+
+        /**
+         * Substitution of every variable with a small ground term.
+         */
+        private Map<String, Term> substitution() {
+            Map<String, Term> substitution = new HashMap<>();
+            for (int i = 0; i < VARIABLES; i++) {
+                substitution.put(VARIABLE_IDENTIFIER + "x" + i, term(1, false));
+            }
+            return substitution;
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package org.mathlogic.benchmarks;
+
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+import org.mathlogic.utility.MaximalLiteral;
+import org.mathlogic.utility.Subsumption;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static org.mathlogic.Constant.VARIABLE_IDENTIFIER;
+
+/**
+ * Operations on clauses of growing number of literals: maximal literals, subsumption of an instance,
+ * construction, copy, substitution and parsing.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ClauseBenchmark {
+    @Param({"4", "8", "16"})
+    public int literals;
+
+    private List<BenchmarkInputs.Pair<Clause>> clauses;
+    private List<Set<Literal>> literalSets;
+    private List<String> texts;
+    private Map<String, Term> substitution;
+
+    @Setup
+    public void setUp() {
+        clauses = BenchmarkInputs.clauses(literals);
+        literalSets = clauses.stream().map(pair -> pair.instance().getAllLiterals()).toList();
+        texts = BenchmarkInputs.clauseTexts(literals);
+        substitution = new HashMap<>();
+        for (int i = 0; i < 4; i++) {
+            substitution.put(VARIABLE_IDENTIFIER + "x" + i, Term.parse("f0(a, ?y" + i + ")"));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void maximalLiterals(Blackhole blackhole) {
+        for (BenchmarkInputs.Pair<Clause> pair : clauses) {
+            blackhole.consume(MaximalLiteral.getMaximalLiterals(pair.instance()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void isSubsumed(Blackhole blackhole) {
+        for (BenchmarkInputs.Pair<Clause> pair : clauses) {
+            blackhole.consume(Subsumption.isSubsumed(pair.general(), pair.instance()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void construct(Blackhole blackhole) {
+        for (Set<Literal> literalSet : literalSets) {
+            blackhole.consume(new Clause(literalSet));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void copy(Blackhole blackhole) {
+        for (BenchmarkInputs.Pair<Clause> pair : clauses) {
+            blackhole.consume(pair.instance().copy());
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void applySubstitution(Blackhole blackhole) {
+        for (BenchmarkInputs.Pair<Clause> pair : clauses) {
+            blackhole.consume(pair.general().applySubstitution(substitution));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void parse(Blackhole blackhole) {
+        for (String text : texts) {
+            blackhole.consume(Clause.parse(text));
+        }
+    }
+}
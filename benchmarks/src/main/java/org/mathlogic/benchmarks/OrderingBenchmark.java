@@ -0,0 +1,78 @@
+package org.mathlogic.benchmarks;
+
+import org.mathlogic.comparator.LpoComparator;
+import org.mathlogic.comparator.MultisetComparator;
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link LpoComparator#compare(Term, Term)} of a term with an instance of it, and
+ * {@link MultisetComparator#compare(Map, Map)} of the multiset views of the literals of a clause.
+ * The LPO comparator is created without a cache, to measure the ordering itself.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class OrderingBenchmark {
+    @Param({"2", "4", "6"})
+    public int depth;
+
+    @Param({"1", "2", "3"})
+    public int width;
+
+    private final LpoComparator lpoComparator = new LpoComparator(String::compareTo, null);
+    private final MultisetComparator multisetComparator = new MultisetComparator();
+    private List<BenchmarkInputs.Pair<Term>> terms;
+    private List<BenchmarkInputs.Pair<Map<Term, Integer>>> multisets;
+
+    @Setup
+    public void setUp() {
+        terms = BenchmarkInputs.terms(depth, width);
+        multisets = new ArrayList<>();
+        for (BenchmarkInputs.Pair<Clause> pair : BenchmarkInputs.clauses(BenchmarkInputs.CLAUSE_LITERALS[BenchmarkInputs.CLAUSE_LITERALS.length - 1])) {
+            List<Literal> literals = new ArrayList<>(pair.instance().getAllLiterals());
+            multisets.add(new BenchmarkInputs.Pair<>(
+                    literals.get(0).getMultisetView(),
+                    literals.get(1).getMultisetView()
+            ));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void lpoCompare(Blackhole blackhole) {
+        for (BenchmarkInputs.Pair<Term> pair : terms) {
+            blackhole.consume(lpoComparator.compare(pair.instance(), pair.general()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void multisetCompare(Blackhole blackhole) {
+        for (BenchmarkInputs.Pair<Map<Term, Integer>> pair : multisets) {
+            blackhole.consume(multisetComparator.compare(pair.general(), pair.instance()));
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package org.mathlogic.benchmarks;
+
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.mathlogic.Constant.IDENTITY_SYMBOL;
+import static org.mathlogic.Constant.VARIABLE_IDENTIFIER;
+
+/**
+ * Generator of random first-order clause sets with a given shape. The same parameters and seed
+ * always give the same clauses, in the same order.
+ * <p>
+ * The signature has {@code predicates} predicates {@code P0}, {@code P1}... and {@code functions} functions
+ * {@code f0}, {@code f1}..., where the symbol {@code i} has arity {@code i % (maxArity + 1)}: so {@code f0}
+ * is always a constant. Each clause has from one to {@code maxLiterals} literals on the variables
+ * {@code ?x0}, {@code ?x1}, {@code ?x2}, and each literal is an equation with probability {@code equalityRatio}.
+ */
+public class RandomClauseGenerator {
+    private static final int VARIABLES = 3;
+
+    /**
+     * Shape of the generated clause sets.
+     */
+    public record Parameters(
+            int predicates,
+            int functions,
+            int maxArity,
+            int maxDepth,
+            int clauses,
+            int maxLiterals,
+            double equalityRatio
+    ) {
+        public Parameters {
+            if (predicates < 1 || functions < 1 || maxArity < 0 || maxDepth < 0 || clauses < 0 || maxLiterals < 1) {
+                throw new IllegalArgumentException("Invalid clause set shape");
+            }
+            if (equalityRatio < 0 || equalityRatio > 1) {
+                throw new IllegalArgumentException("Equality ratio must be between 0 and 1");
+            }
+        }
+
+        public Parameters withClauses(int clauses) {
+            return new Parameters(predicates, functions, maxArity, maxDepth, clauses, maxLiterals, equalityRatio);
+        }
+    }
+
+    private final Parameters parameters;
+    private final Random random;
+    private final List<Integer> constants;
+    private final List<Integer> nonConstantFunctions;
+
+    public RandomClauseGenerator(Parameters parameters, long seed) {
+        this.parameters = parameters;
+        this.random = new Random(seed);
+        this.constants = new ArrayList<>();
+        this.nonConstantFunctions = new ArrayList<>();
+        for (int i = 0; i < parameters.functions(); i++) {
+            (arity(i) == 0 ? constants : nonConstantFunctions).add(i);
+        }
+    }
+
+    /**
+     * Generate a set of {@code clauses} distinct clauses, none of them a tautology.
+     */
+    public Set<Clause> generate() {
+        Set<Clause> clauses = new LinkedHashSet<>();
+        while (clauses.size() < parameters.clauses()) {
+            Clause clause = clause();
+            if (!clause.isTautology()) {
+                clauses.add(clause);
+            }
+        }
+        return clauses;
+    }
+
+    public Clause clause() {
+        int size = 1 + random.nextInt(parameters.maxLiterals());
+        Set<Literal> literals = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            literals.add(literal());
+        }
+        return new Clause(literals);
+    }
+
+    public Literal literal() {
+        boolean isNegated = random.nextBoolean();
+        if (random.nextDouble() < parameters.equalityRatio()) {
+            return new Literal(isNegated, IDENTITY_SYMBOL, term(randomDepth()), term(randomDepth()));
+        }
+
+        int predicate = random.nextInt(parameters.predicates());
+        List<Term> arguments = new ArrayList<>();
+        for (int i = 0; i < arity(predicate); i++) {
+            arguments.add(term(randomDepth()));
+        }
+        return new Literal(isNegated, "P" + predicate, arguments);
+    }
+
+    /**
+     * Random term of at most the given depth: a variable or a constant at depth {@code 0},
+     * otherwise a function application, unless the signature has only constants.
+     */
+    public Term term(int depth) {
+        if (depth == 0 || nonConstantFunctions.isEmpty()) {
+            if (random.nextInt(3) == 0) {
+                return new Term(VARIABLE_IDENTIFIER + "x" + random.nextInt(VARIABLES));
+            }
+            return new Term("f" + constants.get(random.nextInt(constants.size())));
+        }
+
+        int function = nonConstantFunctions.get(random.nextInt(nonConstantFunctions.size()));
+        List<Term> arguments = new ArrayList<>();
+        for (int i = 0; i < arity(function); i++) {
+            arguments.add(term(random.nextInt(depth)));
+        }
+        return new Term("f" + function, arguments);
+    }
+
+    private int randomDepth() {
+        return random.nextInt(parameters.maxDepth() + 1);
+    }
+
+    private int arity(int symbol) {
+        return symbol % (parameters.maxArity() + 1);
+    }
+}
@@ -0,0 +1,154 @@
+package org.mathlogic.benchmarks;
+
+import org.mathlogic.AutomaticCalculus;
+import org.mathlogic.CalculusR;
+import org.mathlogic.CalculusS;
+import org.mathlogic.ProverStatistics;
+import org.mathlogic.RefutationStatus;
+import org.mathlogic.SortedCalculus;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * End-to-end benchmark of the calculi: it refutes every problem of {@link SaturationCorpus} with each
+ * calculus, one run at a time, and writes the time, the given clause iterations, the generated and
+ * kept clauses and the peak heap of each run to {@code <prefix>.csv} and {@code <prefix>.json}.
+ * <p>
+ * The arguments are the time limit of each run in seconds, {@code 10} by default, and the output
+ * prefix, {@code saturation-result} by default. Before the measured runs, the examples are refuted once
+ * with each calculus to warm up the JIT.
+ */
+public final class SaturationBenchmark {
+    private static final String CSV_HEADER =
+            "family,problem,size,calculus,status,millis,iterations,generated,kept,peakHeapBytes";
+
+    private static final Map<String, Supplier<AutomaticCalculus>> CALCULI = new LinkedHashMap<>();
+
+    static {
+        CALCULI.put("R", CalculusR::new);
+        CALCULI.put("Sorted", SortedCalculus::new);
+        CALCULI.put("S", CalculusS::new);
+    }
+
+    private SaturationBenchmark() {
+    }
+
+    public record Run(
+            SaturationCorpus.Problem problem,
+            String calculus,
+            RefutationStatus status,
+            Duration elapsed,
+            long iterations,
+            long generatedClauses,
+            long keptClauses,
+            long peakHeapBytes
+    ) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        Duration timeLimit = Duration.ofSeconds(args.length > 0 ? Long.parseLong(args[0]) : 10);
+        String prefix = args.length > 1 ? args[1] : "saturation-result";
+
+        for (SaturationCorpus.Problem problem : SaturationCorpus.examples()) {
+            for (Map.Entry<String, Supplier<AutomaticCalculus>> calculus : CALCULI.entrySet()) {
+                run(problem, calculus.getKey(), calculus.getValue().get(), timeLimit);
+            }
+        }
+
+        List<Run> runs = new ArrayList<>();
+        for (SaturationCorpus.Problem problem : SaturationCorpus.all()) {
+            for (Map.Entry<String, Supplier<AutomaticCalculus>> calculus : CALCULI.entrySet()) {
+                Run run = run(problem, calculus.getKey(), calculus.getValue().get(), timeLimit);
+                System.out.println(csv(run));
+                runs.add(run);
+            }
+        }
+
+        writeCsv(Path.of(prefix + ".csv"), runs);
+        writeJson(Path.of(prefix + ".json"), runs);
+    }
+
+    /**
+     * Refute a problem with a new calculus, in deterministic mode so that repeated runs take the same path.
+     * The peak heap is the sum of the peaks of the heap memory pools during the run, so it is an upper bound
+     * of the actual peak.
+     */
+    public static Run run(SaturationCorpus.Problem problem, String name, AutomaticCalculus calculus, Duration timeLimit) {
+        calculus.setTimeLimit(timeLimit);
+        calculus.setDeterministic(true);
+        ProverStatistics statistics = new ProverStatistics();
+        calculus.setStatistics(statistics);
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        heapPools.forEach(MemoryPoolMXBean::resetPeakUsage);
+
+        long start = System.nanoTime();
+        RefutationStatus status = calculus.tryRefute(problem.clauses());
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+
+        long peakHeap = heapPools.stream().mapToLong(pool -> pool.getPeakUsage().getUsed()).sum();
+        return new Run(problem, name, status, elapsed, calculus.getIterations(),
+                statistics.getGeneratedClauses(), statistics.getKeptClauses(), peakHeap);
+    }
+
+    private static void writeCsv(Path path, List<Run> runs) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            writer.println(CSV_HEADER);
+            for (Run run : runs) {
+                writer.println(csv(run));
+            }
+        }
+    }
+
+    private static void writeJson(Path path, List<Run> runs) throws IOException {
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+            writer.println("[");
+            for (int i = 0; i < runs.size(); i++) {
+                Run run = runs.get(i);
+                writer.printf(
+                        "  {\"family\": %s, \"problem\": %s, \"size\": %d, \"calculus\": %s, \"status\": %s, " +
+                                "\"millis\": %d, \"iterations\": %d, \"generated\": %d, \"kept\": %d, " +
+                                "\"peakHeapBytes\": %d}%s%n",
+                        quote(run.problem().family()), quote(run.problem().name()), run.problem().size(),
+                        quote(run.calculus()), quote(run.status().name()), run.elapsed().toMillis(),
+                        run.iterations(), run.generatedClauses(), run.keptClauses(), run.peakHeapBytes(),
+                        i + 1 < runs.size() ? "," : ""
+                );
+            }
+            writer.println("]");
+        }
+    }
+
+    private static String csv(Run run) {
+        return String.join(",",
+                run.problem().family(),
+                run.problem().name(),
+                String.valueOf(run.problem().size()),
+                run.calculus(),
+                run.status().name(),
+                String.valueOf(run.elapsed().toMillis()),
+                String.valueOf(run.iterations()),
+                String.valueOf(run.generatedClauses()),
+                String.valueOf(run.keptClauses()),
+                String.valueOf(run.peakHeapBytes())
+        );
+    }
+
+    private static String quote(String value) {
+        return "\"" + value.replace("\\", "\\\\").replace("\"", "\\\"") + "\"";
+    }
+}
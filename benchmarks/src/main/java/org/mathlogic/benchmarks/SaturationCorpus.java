@@ -0,0 +1,219 @@
+package org.mathlogic.benchmarks;
+
+import org.mathlogic.structure.Clause;
+import org.mathlogic.utility.Parser;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Problems of the saturation benchmark: scalable families of clause sets, generated from their size
+ * (and from a fixed seed for the random ones), and the refutation examples of the tests, checked in
+ * under {@code src/main/resources/problems}.
+ */
+public final class SaturationCorpus {
+    public static final int[] PIGEONHOLE_SIZES = {2, 3, 4, 5};
+    public static final int[] CHAIN_SIZES = {8, 16, 32, 64, 128};
+    public static final int[] GROUP_SIZES = {1, 2, 4, 8};
+    public static final int[] RING_SIZES = {1, 2, 4, 8};
+    public static final int[] HORN_SIZES = {25, 50, 100, 200};
+
+    private static final long SEED = 20240601L;
+    private static final String EXAMPLES_FILE = "/problems/examples.txt";
+    private static final String EXAMPLE_HEADER = "#";
+
+    private SaturationCorpus() {
+    }
+
+    /**
+     * Problem of a family. The size is the parameter of the family, or the number of clauses
+     * for the examples.
+     */
+    public record Problem(String family, String name, int size, Set<Clause> clauses) {
+    }
+
+    /**
+     * All the problems: every family at each of its sizes, then the examples.
+     */
+    public static List<Problem> all() {
+        List<Problem> problems = new ArrayList<>();
+        for (int n : PIGEONHOLE_SIZES) {
+            problems.add(pigeonhole(n));
+        }
+        for (int n : CHAIN_SIZES) {
+            problems.add(implicationChain(n));
+        }
+        for (int n : GROUP_SIZES) {
+            problems.add(group(n));
+        }
+        for (int n : RING_SIZES) {
+            problems.add(ring(n));
+        }
+        for (int n : HORN_SIZES) {
+            problems.add(randomHorn(n));
+        }
+        problems.addAll(examples());
+        return problems;
+    }
+
+    /**
+     * {@code n + 1} pigeons in {@code n} holes, with {@code P(p_i, h_j)} if pigeon {@code i} is in hole
+     * {@code j}: every pigeon is in a hole, and no two pigeons share a hole. It is unsatisfiable, and
+     * every resolution refutation of it is exponential in {@code n}.
+     */
+    public static Problem pigeonhole(int n) {
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i <= n + 1; i++) {
+            List<String> holes = new ArrayList<>();
+            for (int j = 1; j <= n; j++) {
+                holes.add(hole(i, j));
+            }
+            lines.add("=> " + String.join(", ", holes));
+        }
+        for (int j = 1; j <= n; j++) {
+            for (int i = 1; i <= n + 1; i++) {
+                for (int k = i + 1; k <= n + 1; k++) {
+                    lines.add(hole(i, j) + ", " + hole(k, j) + " =>");
+                }
+            }
+        }
+        return problem("pigeonhole", n, lines);
+    }
+
+    /**
+     * Chain of {@code n} implications {@code P_i(x) -> P_{i+1}(s(x))} from the fact {@code P_0(a)}
+     * to the negated goal {@code P_n(x)}.
+     */
+    public static Problem implicationChain(int n) {
+        List<String> lines = new ArrayList<>();
+        lines.add("=> P0(a)");
+        for (int i = 0; i < n; i++) {
+            lines.add("P" + i + "(?x) => P" + (i + 1) + "(s(?x))");
+        }
+        lines.add("P" + n + "(?x) =>");
+        return problem("chain", n, lines);
+    }
+
+    /**
+     * Group axioms, with left identity, left inverse and associativity, and the negated goal
+     * {@code t_n = b}, where {@code t_0 = b} and {@code t_k = i(a) * (a * t_{k-1})}.
+     */
+    public static Problem group(int n) {
+        String term = "b";
+        for (int k = 0; k < n; k++) {
+            term = "m(i(a), m(a, " + term + "))";
+        }
+        return problem("group", n, List.of(
+                "=> =(m(e, ?x), ?x)",
+                "=> =(m(i(?x), ?x), e)",
+                "=> =(m(m(?x, ?y), ?z), m(?x, m(?y, ?z)))",
+                "=(" + term + ", b) =>"
+        ));
+    }
+
+    /**
+     * Ring axioms, with the abelian group of the addition, the associativity of the multiplication
+     * and the distributivity, and the negated goal {@code a * (c_1 + ... + c_n) = a * c_1 + ... + a * c_n}.
+     */
+    public static Problem ring(int n) {
+        String sum = "c" + n;
+        String products = "mul(a, c" + n + ")";
+        for (int k = n - 1; k >= 1; k--) {
+            sum = "add(c" + k + ", " + sum + ")";
+            products = "add(mul(a, c" + k + "), " + products + ")";
+        }
+        return problem("ring", n, List.of(
+                "=> =(add(z, ?x), ?x)",
+                "=> =(add(neg(?x), ?x), z)",
+                "=> =(add(add(?x, ?y), ?z), add(?x, add(?y, ?z)))",
+                "=> =(add(?x, ?y), add(?y, ?x))",
+                "=> =(mul(mul(?x, ?y), ?z), mul(?x, mul(?y, ?z)))",
+                "=> =(mul(?x, add(?y, ?z)), add(mul(?x, ?y), mul(?x, ?z)))",
+                "=> =(mul(add(?x, ?y), ?z), add(mul(?x, ?z), mul(?y, ?z)))",
+                "=(mul(a, " + sum + "), " + products + ") =>"
+        ));
+    }
+
+    /**
+     * {@code n} random Horn clauses on {@code n / 4} unary predicates and the constants {@code a} and
+     * {@code b}: facts, rules with up to three premises on a shared variable, and the negated goal
+     * {@code P_0(a)}. Whether it is refutable depends on the seed.
+     */
+    public static Problem randomHorn(int n) {
+        Random random = new Random(SEED + n);
+        int predicates = Math.max(4, n / 4);
+        List<String> lines = new ArrayList<>();
+        for (int i = 1; i < n; i++) {
+            String head = "P" + random.nextInt(predicates);
+            if (random.nextInt(5) == 0) {
+                lines.add("=> " + head + "(" + (random.nextBoolean() ? "a" : "b") + ")");
+            } else {
+                List<String> premises = new ArrayList<>();
+                for (int k = 1 + random.nextInt(3); k > 0; k--) {
+                    premises.add("P" + random.nextInt(predicates) + "(?x)");
+                }
+                lines.add(String.join(", ", premises) + " => " + head + "(?x)");
+            }
+        }
+        lines.add("P0(a) =>");
+        return problem("horn", n, lines);
+    }
+
+    /**
+     * The refutation examples of the calculi tests. In the file each example starts with a
+     * {@code # name} line, followed by its clauses, one for each line.
+     */
+    public static List<Problem> examples() {
+        InputStream input = SaturationCorpus.class.getResourceAsStream(EXAMPLES_FILE);
+        if (input == null) {
+            throw new IllegalArgumentException("No saturation problems " + EXAMPLES_FILE);
+        }
+
+        Parser parser = new Parser();
+        List<Problem> problems = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8))) {
+            String name = null;
+            StringBuilder clauses = new StringBuilder();
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                if (line.startsWith(EXAMPLE_HEADER)) {
+                    if (name != null) {
+                        problems.add(example(name, parser.parseClauses(clauses)));
+                    }
+                    name = line.substring(EXAMPLE_HEADER.length()).trim();
+                    clauses.setLength(0);
+                } else {
+                    clauses.append(line).append('\n');
+                }
+            }
+            if (name != null) {
+                problems.add(example(name, parser.parseClauses(clauses)));
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return problems;
+    }
+
+    private static Problem example(String name, List<Clause> clauses) {
+        return new Problem("example", name, clauses.size(), new LinkedHashSet<>(clauses));
+    }
+
+    private static Problem problem(String family, int size, List<String> lines) {
+        Set<Clause> clauses = lines.stream().map(Clause::parse).collect(Collectors.toCollection(LinkedHashSet::new));
+        return new Problem(family, family + "-" + size, size, clauses);
+    }
+
+    private static String hole(int pigeon, int hole) {
+        return "P(p" + pigeon + ", h" + hole + ")";
+    }
+}
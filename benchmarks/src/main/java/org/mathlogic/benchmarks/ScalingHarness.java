@@ -0,0 +1,206 @@
+package org.mathlogic.benchmarks;
+
+import org.mathlogic.CalculusR;
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.utility.Reduction;
+import org.mathlogic.utility.Subsumption;
+import org.mathlogic.utility.Unification;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.ToLongFunction;
+
+/**
+ * Scaling curves of the prover on random clause sets of {@link RandomClauseGenerator}: for clause sets
+ * of doubling size it measures the time and the bytes allocated by the selection of the given clause,
+ * the unification and the forward reductions of a fixed batch of probe clauses against the whole set,
+ * and by a {@code refute} with a fixed number of given clause iterations. Each of them should grow
+ * linearly with the size of the set.
+ * <p>
+ * The growth of each curve is fitted as the exponent {@code k} of {@code c * n^k}, by least squares on the
+ * logarithms, and it is flagged as a super-linear regression if {@code k} exceeds {@code 1 + TOLERANCE}.
+ * The arguments are the largest clause set size, {@code 16000} by default, and the repetitions of each
+ * measurement, {@code 3} by default, whose median is taken. The measurements are written to
+ * {@code scaling-result.csv}, and the process exits with status {@code 1} if a curve is flagged.
+ */
+public final class ScalingHarness {
+    public static final RandomClauseGenerator.Parameters PARAMETERS =
+            new RandomClauseGenerator.Parameters(32, 16, 3, 3, 0, 4, 0.2);
+
+    private static final long SEED = 20240601L;
+    private static final int MIN_CLAUSES = 1000;
+    private static final int PROBES = 64;
+    private static final int REFUTE_ITERATIONS = 20;
+    private static final double TOLERANCE = 0.3;
+
+    private ScalingHarness() {
+    }
+
+    /**
+     * Operation measured on a clause set, with the probe clauses.
+     */
+    private record Measurement(String name, Operation operation) {
+    }
+
+    @FunctionalInterface
+    private interface Operation {
+        void run(Set<Clause> clauses, List<Clause> probes);
+    }
+
+    /**
+     * Time in nanoseconds and allocated bytes of an operation on a clause set of the given size.
+     */
+    public record Point(String measurement, int size, long nanos, long allocatedBytes) {
+    }
+
+    public static void main(String[] args) throws IOException {
+        int maxClauses = args.length > 0 ? Integer.parseInt(args[0]) : 16000;
+        int repetitions = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        List<Measurement> measurements = List.of(
+                new Measurement("selection", ScalingHarness::selection),
+                new Measurement("unification", ScalingHarness::unification),
+                new Measurement("reduction", ScalingHarness::reduction),
+                new Measurement("refute", ScalingHarness::refute)
+        );
+        List<Clause> probes = new ArrayList<>(
+                new RandomClauseGenerator(PARAMETERS.withClauses(PROBES), SEED - 1).generate());
+
+        List<Point> points = new ArrayList<>();
+        for (int size = MIN_CLAUSES; size <= maxClauses; size *= 2) {
+            Set<Clause> clauses = new RandomClauseGenerator(PARAMETERS.withClauses(size), SEED).generate();
+            for (Measurement measurement : measurements) {
+                Point point = measure(measurement, clauses, probes, repetitions);
+                System.out.printf("%-12s %8d clauses %10.2f ms %14d bytes%n",
+                        point.measurement(), point.size(), point.nanos() / 1e6, point.allocatedBytes());
+                points.add(point);
+            }
+        }
+
+        boolean regression = false;
+        for (Measurement measurement : measurements) {
+            List<Point> curve = points.stream().filter(point -> point.measurement().equals(measurement.name())).toList();
+            double timeExponent = growthExponent(curve, Point::nanos);
+            double memoryExponent = growthExponent(curve, Point::allocatedBytes);
+            boolean superLinear = timeExponent > 1 + TOLERANCE || memoryExponent > 1 + TOLERANCE;
+            regression |= superLinear;
+            System.out.printf("%-12s time ~ n^%.2f, memory ~ n^%.2f%s%n", measurement.name(),
+                    timeExponent, memoryExponent, superLinear ? "  SUPER-LINEAR" : "");
+        }
+
+        try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(Path.of("scaling-result.csv")))) {
+            writer.println("measurement,size,nanos,allocatedBytes");
+            for (Point point : points) {
+                writer.println(point.measurement() + "," + point.size() + "," + point.nanos() + "," + point.allocatedBytes());
+            }
+        }
+        if (regression) {
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Median time and allocated bytes of the repetitions of an operation, after a warm-up run.
+     */
+    private static Point measure(Measurement measurement, Set<Clause> clauses, List<Clause> probes, int repetitions) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().getId();
+        measurement.operation().run(clauses, probes);
+
+        long[] nanos = new long[repetitions];
+        long[] bytes = new long[repetitions];
+        for (int i = 0; i < repetitions; i++) {
+            long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+            long start = System.nanoTime();
+            measurement.operation().run(clauses, probes);
+            nanos[i] = System.nanoTime() - start;
+            bytes[i] = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+        }
+        return new Point(measurement.name(), clauses.size(), median(nanos), median(bytes));
+    }
+
+    /**
+     * Exponent {@code k} of the power law {@code c * n^k} that best fits the curve, by least squares
+     * on {@code log(y) = log(c) + k * log(n)}.
+     */
+    public static double growthExponent(List<Point> curve, ToLongFunction<Point> value) {
+        double meanX = 0, meanY = 0;
+        for (Point point : curve) {
+            meanX += Math.log(point.size());
+            meanY += Math.log(Math.max(1, value.applyAsLong(point)));
+        }
+        meanX /= curve.size();
+        meanY /= curve.size();
+
+        double covariance = 0, variance = 0;
+        for (Point point : curve) {
+            double x = Math.log(point.size()) - meanX;
+            covariance += x * (Math.log(Math.max(1, value.applyAsLong(point))) - meanY);
+            variance += x * x;
+        }
+        return variance == 0 ? 0 : covariance / variance;
+    }
+
+    private static void selection(Set<Clause> clauses, List<Clause> probes) {
+        CalculusR calculus = new CalculusR();
+        for (int i = 0; i < probes.size(); i++) {
+            calculus.selectGivenClause(clauses);
+        }
+    }
+
+    private static void unification(Set<Clause> clauses, List<Clause> probes) {
+        forEachLiteral(probes, probe -> {
+            for (Clause clause : clauses) {
+                for (Literal literal : clause.getAllLiterals()) {
+                    Unification.unify(probe, literal);
+                }
+            }
+        });
+    }
+
+    /**
+     * Forward reductions of the probes: subsumption by a clause of the set and matching replacement
+     * resolution with all of them.
+     */
+    private static void reduction(Set<Clause> clauses, List<Clause> probes) {
+        for (Clause probe : probes) {
+            for (Clause clause : clauses) {
+                if (Subsumption.isSubsumed(clause, probe)) {
+                    break;
+                }
+            }
+            Reduction.matchingReplacementResolution(clauses, probe);
+        }
+    }
+
+    /**
+     * A deterministic refutation of the streamed clause set, stopped after a fixed number of given clause iterations.
+     */
+    private static void refute(Set<Clause> clauses, List<Clause> probes) {
+        CalculusR calculus = new CalculusR();
+        calculus.setDeterministic(true);
+        calculus.setMaxIterations(REFUTE_ITERATIONS);
+        calculus.tryRefute(clauses.stream());
+    }
+
+    private static void forEachLiteral(List<Clause> clauses, Consumer<Literal> action) {
+        for (Clause clause : clauses) {
+            clause.getAllLiterals().forEach(action);
+        }
+    }
+
+    private static long median(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        return sorted[sorted.length / 2];
+    }
+}
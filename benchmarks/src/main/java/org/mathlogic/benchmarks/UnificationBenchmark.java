@@ -0,0 +1,69 @@
+package org.mathlogic.benchmarks;
+
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+import org.mathlogic.utility.Unification;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link Unification#unify(Term, Term)} and {@link Unification#match(Literal, Literal)} of a term with an
+ * instance of it, on terms of growing depth and width of the function symbols.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class UnificationBenchmark {
+    @Param({"2", "4", "6"})
+    public int depth;
+
+    @Param({"1", "2", "3"})
+    public int width;
+
+    private List<BenchmarkInputs.Pair<Term>> terms;
+    private List<BenchmarkInputs.Pair<Literal>> literals;
+
+    @Setup
+    public void setUp() {
+        terms = BenchmarkInputs.terms(depth, width);
+        literals = terms.stream()
+                .map(pair -> new BenchmarkInputs.Pair<>(
+                        new Literal(false, "P", pair.general()),
+                        new Literal(false, "P", pair.instance())
+                ))
+                .toList();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void unify(Blackhole blackhole) {
+        for (BenchmarkInputs.Pair<Term> pair : terms) {
+            blackhole.consume(Unification.unify(pair.general(), pair.instance()));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BenchmarkInputs.PAIRS)
+    public void match(Blackhole blackhole) {
+        for (BenchmarkInputs.Pair<Literal> pair : literals) {
+            blackhole.consume(Unification.match(pair.general(), pair.instance()));
+        }
+    }
+}
@@ -1,67 +1,1088 @@
 package org.mathlogic;
 
+import org.mathlogic.comparator.LpoComparator;
+import org.mathlogic.comparator.OrderingCache;
+import org.mathlogic.exception.CheckpointException;
+import org.mathlogic.exception.RefutationCancelledException;
+import org.mathlogic.exception.ResourceLimitExceededException;
+import org.mathlogic.event.GivenClauseEvent;
+import org.mathlogic.event.InferenceEvent;
+import org.mathlogic.event.ReductionEvent;
+import org.mathlogic.event.RuleApplicationEvent;
+import org.mathlogic.event.UnificationEvent;
+import org.mathlogic.io.Checkpoint;
+import org.mathlogic.io.CheckpointWriter;
+import org.mathlogic.io.Trace;
+import org.mathlogic.io.TraceWriter;
+import org.mathlogic.store.ClauseScopes;
+import org.mathlogic.store.ClauseSet;
+import org.mathlogic.store.ClauseStore;
+import org.mathlogic.store.SubsumptionIndex;
 import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+import org.mathlogic.utility.Reduction;
 import org.mathlogic.utility.Renaming;
+import org.mathlogic.utility.Unification;
 
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinWorkerThread;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.BooleanSupplier;
+import java.util.stream.Stream;
 
 public abstract class AutomaticCalculus {
-    protected final Set<Clause> usable; // Us
-    protected final Set<Clause> worked; // Wo
+    protected final ClauseStore store;
+    protected final ClauseSet usable; // Us
+    protected final ClauseSet worked; // Wo
+    private final ClauseScopes scopes;
+
+    /**
+     * Number of threads used to generate the inferences, {@code 1} for a sequential run.
+     */
+    private int parallelism;
+
+    /**
+     * Whether the given clause loop overlaps generation and forward reduction of the new clauses.
+     */
+    private boolean pipelined;
+
+    /**
+     * Whether the clauses are inserted in {@code Us} in canonical order and the given clause is
+     * selected by a total order.
+     */
+    private boolean deterministic;
+
+    /**
+     * Pool of the running refutation, {@code null} if the run is sequential.
+     */
+    protected ForkJoinPool pool;
+
+    /**
+     * Pipeline of the running refutation, {@code null} if the loop is not pipelined.
+     */
+    private InferencePipeline pipeline;
+
+    /**
+     * Every how many given clauses the oldest clause of {@code Us} is selected instead of the
+     * lightest one, {@code 0} to always select the lightest one.
+     */
+    private int ageWeightRatio;
+
+    /**
+     * Maximum number of given clause iterations, {@code 0} for no limit.
+     */
+    private volatile long maxIterations;
+
+    /**
+     * Maximum duration of a refutation, {@code null} for no limit.
+     */
+    private volatile Duration timeLimit;
+
+    /**
+     * File where the checkpoints are written, {@code null} to not write them.
+     */
+    private Path checkpointPath;
+
+    /**
+     * Every how many given clause iterations a checkpoint is written.
+     */
+    private long checkpointInterval;
+
+    /**
+     * Writer of the checkpoints of the running refutation, {@code null} if they are not written.
+     */
+    private CheckpointWriter checkpointWriter;
+
+    /**
+     * File where the trace of the refutations is written, {@code null} to not write it.
+     */
+    private Path tracePath;
+
+    /**
+     * Writer of the trace of the running refutation, {@code null} if it is not written.
+     */
+    private TraceWriter trace;
+
+    /**
+     * Conclusions of the inferences running on each thread, written to the trace with their partner.
+     */
+    private final ThreadLocal<List<Trace.Conclusion>> tracedConclusions = ThreadLocal.withInitial(ArrayList::new);
+
+    /**
+     * Whether the reductions being applied are the forward ones of the current iteration or the backward ones,
+     * {@code null} outside the reductions of an iteration, where they are not traced.
+     */
+    private Boolean forwardReductions;
+
+    /**
+     * Cache of the comparisons of the term ordering during the refutations, {@code null} for none.
+     */
+    private OrderingCache orderingCache;
+
+    private volatile boolean cancelled;
+    private volatile long iterations;
+
+    /**
+     * Statistics of the refutations, {@code null} when disabled.
+     */
+    private ProverStatistics statistics;
+
+    /**
+     * Generated and kept clauses of the running, or last, refutation, counted by the refuting thread
+     * even when the statistics are disabled.
+     */
+    private long generatedClauses;
+    private long keptClauses;
+
+    /**
+     * Per-clause profile of the refutations, {@code null} when disabled.
+     */
+    private ClauseProfile clauseProfile;
+    private long startTime;
+
+    /**
+     * Derivation records of the clauses of the store, {@code null} when the proofs are not recorded.
+     */
+    private DerivationRecorder derivations;
+
+    /**
+     * Whether the derivation records include the unifiers of the inferences.
+     */
+    private boolean unifierRecording;
+
+    /**
+     * Whether the next refutations register a {@link ProverMXBean}.
+     */
+    private boolean monitored;
+
+    /**
+     * Monitor of the running refutation, {@code null} if it is not monitored.
+     */
+    private ProverMonitor monitor;
+
+    /**
+     * Dump of the saturation state requested through the {@link ProverMXBean}, {@code null} if there is none.
+     */
+    private final AtomicReference<StateDump> pendingDump;
+
+    private record StateDump(Path path, CompletableFuture<Boolean> written) {
+    }
 
     protected AutomaticCalculus() {
-        this.usable = new HashSet<>();
-        this.worked = new HashSet<>();
+        this.store = new ClauseStore();
+        this.usable = store.createSet();
+        this.worked = store.createSet();
+        this.scopes = new ClauseScopes(store);
+        this.parallelism = 1;
+        this.pendingDump = new AtomicReference<>();
+    }
+
+    public int getAgeWeightRatio() {
+        return ageWeightRatio;
+    }
+
+    /**
+     * Select the oldest clause of {@code Us} as given clause once every {@code ageWeightRatio}
+     * iterations, and the lightest one otherwise. With {@code 0} the lightest one is always selected.
+     */
+    public void setAgeWeightRatio(int ageWeightRatio) {
+        if (ageWeightRatio < 0) {
+            throw new IllegalArgumentException("Age weight ratio cannot be negative");
+        }
+        this.ageWeightRatio = ageWeightRatio;
+    }
+
+    public long getMaxIterations() {
+        return maxIterations;
+    }
+
+    /**
+     * Limit the number of given clause iterations, {@code 0} for no limit. It can be changed
+     * while a refutation is running, and exceeding it makes {@link #refute(Set)} throw
+     * {@link ResourceLimitExceededException}.
+     */
+    public void setMaxIterations(long maxIterations) {
+        if (maxIterations < 0) {
+            throw new IllegalArgumentException("Max iterations cannot be negative");
+        }
+        this.maxIterations = maxIterations;
+    }
+
+    public OrderingCache getOrderingCache() {
+        return orderingCache;
+    }
+
+    /**
+     * Memoize the comparisons of the term ordering, {@link LpoComparator#DEFAULT}, made on all the threads of
+     * the next refutations in the given cache, or not with {@code null}, the default. The precedence of the
+     * ordering does not change, so the same cache can be shared by many calculi, even running concurrently.
+     */
+    public void setOrderingCache(OrderingCache orderingCache) {
+        this.orderingCache = orderingCache;
+    }
+
+    public Duration getTimeLimit() {
+        return timeLimit;
+    }
+
+    /**
+     * Limit the duration of a refutation, {@code null} for no limit. It can be changed while a
+     * refutation is running, and exceeding it makes {@link #refute(Set)} throw
+     * {@link ResourceLimitExceededException}.
+     */
+    public void setTimeLimit(Duration timeLimit) {
+        this.timeLimit = timeLimit;
+    }
+
+    /**
+     * Cooperatively cancel the running refutation, or the next one if none is running:
+     * {@link #refute(Set)} throws {@link RefutationCancelledException} at the next check.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Number of given clause iterations of the running, or last, refutation.
+     */
+    public long getIterations() {
+        return iterations;
+    }
+
+    /**
+     * Number of clauses generated by the inferences of the running, or last, refutation,
+     * before the forward reductions, counting once the clauses generated more than once in an iteration.
+     */
+    public long getGeneratedClauses() {
+        return generatedClauses;
+    }
+
+    /**
+     * Number of generated clauses of the running, or last, refutation that survived the forward
+     * reductions and have been added to {@code Us}.
+     */
+    public long getKeptClauses() {
+        return keptClauses;
+    }
+
+    public ProverStatistics getStatistics() {
+        return statistics;
+    }
+
+    /**
+     * Collect the statistics of the next refutations in the given object, or disable them with {@code null},
+     * the default. When disabled, they cost a {@code null} check at each counting point.
+     */
+    public void setStatistics(ProverStatistics statistics) {
+        this.statistics = statistics;
+    }
+
+    public ClauseProfile getClauseProfile() {
+        return clauseProfile;
+    }
+
+    /**
+     * Collect the per-clause profile of the next refutations in the given object, or disable it with {@code null},
+     * the default.
+     */
+    public void setClauseProfile(ClauseProfile clauseProfile) {
+        this.clauseProfile = clauseProfile;
+    }
+
+    public boolean isProofRecording() {
+        return derivations != null;
+    }
+
+    /**
+     * Record, from now on, the derivation of every clause of the saturation state, so that {@link #getProof()}
+     * can reconstruct the proof of a refutation, or stop recording it. The clauses already in the state are
+     * inputs of the proofs. It must not be changed while a refutation is running.
+     * When disabled, the default, it costs a {@code null} check at each inference and unification.
+     */
+    public void setProofRecording(boolean recording) {
+        if (recording == (derivations != null)) {
+            return;
+        }
+        if (recording) {
+            derivations = new DerivationRecorder(scopes, unifierRecording);
+            derivations.reset(store, usable, worked);
+            store.addListener(derivations);
+        } else {
+            store.removeListener(derivations);
+            derivations = null;
+        }
+    }
+
+    public boolean isUnifierRecording() {
+        return unifierRecording;
+    }
+
+    /**
+     * Include, or not, the unifier of each inference in the derivations recorded by {@link #setProofRecording(boolean)}.
+     */
+    public void setUnifierRecording(boolean unifierRecording) {
+        this.unifierRecording = unifierRecording;
+        if (derivations != null) {
+            derivations.setUnifiers(unifierRecording);
+        }
+    }
+
+    /**
+     * Reconstruct the proof of the empty clause of the current saturation state, walking back its derivation.
+     * Throw {@link IllegalStateException} if the proofs are not recorded or the state contains no empty clause.
+     */
+    public Proof getProof() {
+        if (derivations == null) {
+            throw new IllegalStateException("Proofs are not recorded");
+        }
+        for (Clause clause : usable) {
+            if (clause.isEmpty()) {
+                return derivations.proofOf(clause);
+            }
+        }
+        throw new IllegalStateException("No refutation has been found");
+    }
+
+    /**
+     * Derivation records of the clauses of the store, {@code null} when the proofs are not recorded.
+     */
+    DerivationRecorder getDerivations() {
+        return derivations;
+    }
+
+    public boolean isMonitored() {
+        return monitored;
+    }
+
+    /**
+     * Register a {@link ProverMXBean} in the platform MBean server while each of the next refutations runs,
+     * or not, the default.
+     */
+    public void setMonitored(boolean monitored) {
+        this.monitored = monitored;
+    }
+
+    public int getParallelism() {
+        return parallelism;
+    }
+
+    /**
+     * Set the number of threads used by the next refutations. With more than one thread the
+     * inferences between the given clause and the clauses of {@code Wo} are generated in parallel,
+     * and the calculi can use {@link #pool} to run their reductions in parallel.
+     */
+    public void setParallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be positive");
+        }
+        this.parallelism = parallelism;
+    }
+
+    public Path getCheckpointPath() {
+        return checkpointPath;
+    }
+
+    /**
+     * Write a checkpoint of the saturation state to {@code path} every {@code interval} given clause
+     * iterations of the next refutations, or disable the checkpoints with a {@code null} path.
+     * The checkpoints are written in background, skipping the ones due while the previous one is still
+     * being written, and no checkpoint is written while a scope of {@link #push()} is open.
+     * A refutation can then be continued with {@link #resume(Path)}.
+     */
+    public void setCheckpoint(Path path, long interval) {
+        if (path != null && interval < 1) {
+            throw new IllegalArgumentException("Checkpoint interval must be positive");
+        }
+        this.checkpointPath = path;
+        this.checkpointInterval = interval;
+    }
+
+    public Path getTracePath() {
+        return tracePath;
+    }
+
+    /**
+     * Write the given clause trace of each of the next refutations to {@code path}, overwriting the trace of the
+     * previous one, or disable it with {@code null}. See {@link org.mathlogic.io.Trace} for its content, and
+     * {@link TraceReplay} to replay it.
+     */
+    public void setTrace(Path path) {
+        this.tracePath = path;
+    }
+
+    public boolean isPipelined() {
+        return pipelined;
+    }
+
+    /**
+     * Enable or disable the pipelined given clause loop. In this loop the inferences are streamed,
+     * while they are generated, to {@link #forwardReduction(Clause)} workers, and the survivors
+     * are collected by the refuting thread, which then applies
+     * {@link #forwardReductionOfSurvivors(Set)}, the backwards reductions and the insertion in {@code Us}.
+     * Only the generation and the forward reductions that treat each clause on its own, like <b>Taut</b>, overlap:
+     * the other reductions depend on the order they are applied in, and the backwards reductions and the
+     * insertion modify {@code Us} and {@code Wo}, so they run once the stream of new clauses is over.
+     * The reductions are the same of the sequential loop, in the same order, so in deterministic mode,
+     * see {@link #setDeterministic(boolean)}, both loops keep the same clauses.
+     * The inferences are generated on {@code parallelism} threads and reduced on half as many, at least one.
+     * While a scope of {@link #push()} is open the loop is not pipelined, since the level of each new
+     * clause must be known before its reduction.
+     */
+    public void setPipelined(boolean pipelined) {
+        this.pipelined = pipelined;
+    }
+
+    public boolean isDeterministic() {
+        return deterministic;
+    }
+
+    /**
+     * Enable or disable the deterministic mode. In this mode the input clauses and the new clauses of each
+     * iteration are inserted in {@code Us} in a canonical order, so the ids of the clauses, and then the
+     * iteration order of {@code Us} and {@code Wo}, depend neither on hash codes nor on the order of the input set
+     * nor on the threads, and the lightest given clause is selected by the total order (weight, age, id).
+     * Two refutations of the same clauses with the same configuration then make the same choices.
+     * It costs a sort of the new clauses at each iteration.
+     */
+    public void setDeterministic(boolean deterministic) {
+        this.deterministic = deterministic;
+    }
+
+    /**
+     * Whether a saturation of the clauses without refutation, {@link RefutationStatus#COMPLETION_FOUND},
+     * proves that they are satisfiable. By default the calculus is complete for any clauses.
+     */
+    public boolean isCompleteFor(Set<Clause> clauses) {
+        return true;
+    }
+
+    /**
+     * Initialize usable and worked clauses sets with a given set of clauses to refute.
+     */
+    protected void initClausesSets(Set<Clause> clauses) {
+        clearClausesSets();
+        usable.addAll(inInsertionOrder(preprocessClauses(clauses)));
+        initialReduction();
+        clearPendingDerivations();
+    }
+
+    /**
+     * Initialize usable and worked clauses sets with the clauses of an iterator, consumed one at a time:
+     * each clause is reduced by {@link #ingestionReduction(Clause, SubsumptionIndex)} as soon as it arrives,
+     * and the iterator is no longer consumed once the empty clause has been found.
+     */
+    private void ingestClauses(Iterator<Clause> clauses) {
+        clearClausesSets();
+        try (SubsumptionIndex index = new SubsumptionIndex(store)) {
+            while (clauses.hasNext()) {
+                checkLimits();
+                Clause input = clauses.next();
+                if (trace != null) {
+                    trace.writeInput(input, true);
+                }
+                Clause clause = preprocessClause(input);
+                if (usable.contains(clause)) {
+                    continue;
+                }
+
+                clause = ingestionReduction(clause, index);
+                if (clause != null) {
+                    usable.add(clause);
+                    if (clause.isEmpty()) {
+                        return;
+                    }
+                }
+            }
+        }
+    }
+
+    private void clearClausesSets() {
+        scopes.reset();
+        usable.clear();
+        worked.clear();
+        store.clear();
+        resetDerivations();
+    }
+
+    /**
+     * Consider all the clauses of the state inputs of the proofs, if they are recorded, after the state has
+     * been replaced without notifying the listeners of the store.
+     */
+    private void resetDerivations() {
+        if (derivations != null) {
+            derivations.reset(store, usable, worked);
+        }
+    }
+
+    /**
+     * Forget the derivations of the new clauses of a step that have not entered the state, if they are recorded.
+     */
+    private void clearPendingDerivations() {
+        if (derivations != null) {
+            derivations.clearPending();
+        }
+    }
+
+    /**
+     * Transform the input clauses before they are added to {@code Us}, by default with {@link #preprocessClause(Clause)}.
+     */
+    protected Set<Clause> preprocessClauses(Set<Clause> clauses) {
+        Set<Clause> preprocessed = new HashSet<>();
+        for (Clause clause : clauses) {
+            preprocessed.add(preprocessClause(clause));
+        }
+        return preprocessed;
+    }
+
+    /**
+     * Transform an input clause before it is added to {@code Us}. By default it is left unchanged.
+     */
+    protected Clause preprocessClause(Clause clause) {
+        return clause;
+    }
+
+    /**
+     * Try to refute the clauses. Return {@code true} if a refutation is reached (Proof Found),
+     * otherwise {@code false} (Completion Found).
+     * Throw {@link RefutationCancelledException} if cancelled, or {@link ResourceLimitExceededException}
+     * if a limit is exceeded, before reaching one of the two answers.
+     * The previous saturation state, with all its scopes, is discarded.
+     */
+    public boolean refute(Set<Clause> clauses) {
+        return runRefutation(() -> {
+            if (trace != null) {
+                clauses.forEach(clause -> trace.writeInput(clause, false));
+            }
+            initClausesSets(clauses);
+        });
+    }
+
+    /**
+     * Try to refute the clauses of a stream, like {@link #refute(Set)}, consuming the stream while the
+     * clauses are ingested: the input is never held in memory as a whole, see {@link #refute(Iterator)}.
+     * The stream is not closed.
+     */
+    public boolean refute(Stream<Clause> clauses) {
+        return refute(clauses.iterator());
+    }
+
+    /**
+     * Try to refute the clauses of an iterator, like {@link #refute(Set)}. Instead of the
+     * {@link #initialReduction()} of the whole input, each clause is deduplicated and reduced by
+     * {@link #ingestionReduction(Clause, SubsumptionIndex)} against the clauses ingested before it,
+     * so memory and start-up time depend on the reduced set rather than on the input.
+     */
+    public boolean refute(Iterator<Clause> clauses) {
+        return runRefutation(() -> ingestClauses(clauses));
+    }
+
+    /**
+     * Add clauses to the current saturation state, as assumptions of the current scope.
+     * Like the clauses derived by an iteration, they are reduced with respect to {@code Us} and {@code Wo},
+     * and they reduce them in turn. They are considered by the next {@link #checkRefutable()}.
+     */
+    public void addClauses(Set<Clause> clauses) {
+        Set<Clause> newClauses = new HashSet<>();
+        for (Clause clause : preprocessClauses(clauses)) {
+            if (!worked.contains(clause) && !usable.contains(clause)) {
+                newClauses.add(clause);
+            }
+        }
+
+        // Only the new clauses are reduced, like the ones derived by an iteration
+        newClauses = inInsertionOrder(newClauses);
+        forwardReduction(newClauses);
+        backwardsReduction(newClauses);
+        usable.addAll(newClauses);
+        clearPendingDerivations();
+    }
+
+    /**
+     * Take an immutable snapshot of the current saturation state, for example of the axioms of many
+     * problems saturated up to a limit, that can then be forked by {@link #refute(SaturationSnapshot, Set)}.
+     * Throw {@link IllegalStateException} if a scope is open.
+     */
+    public SaturationSnapshot snapshot() {
+        if (scopes.getLevel() > 0) {
+            throw new IllegalStateException("Cannot take a snapshot with open scopes");
+        }
+        return new SaturationSnapshot(getClass(), store.snapshot());
+    }
+
+    /**
+     * Replace the current saturation state with a snapshot, in constant time: the clauses of the
+     * snapshot are shared, and copied only when modified. All the scopes are closed.
+     * Throw {@link IllegalArgumentException} if the snapshot has been taken from a different calculus.
+     */
+    public void restore(SaturationSnapshot snapshot) {
+        if (snapshot.getCalculus() != getClass()) {
+            throw new IllegalArgumentException("Snapshot has been taken from a different calculus");
+        }
+        scopes.reset();
+        store.restore(snapshot.getStore());
+        resetDerivations();
+    }
+
+    /**
+     * Try to refute the clauses of a snapshot together with the given goal clauses, continuing the
+     * saturation of the snapshot instead of starting from scratch, see {@link #refute(Set)}.
+     */
+    public boolean refute(SaturationSnapshot snapshot, Set<Clause> goals) {
+        return runRefutation(() -> {
+            traceContinued();
+            restore(snapshot);
+            addClauses(goals);
+        });
+    }
+
+    /**
+     * Open a new scope: the clauses added from now on, and all the clauses derived from them,
+     * are retracted by the matching {@link #pop()}.
+     */
+    public void push() {
+        scopes.push();
+    }
+
+    /**
+     * Close the current scope, retracting its assumptions and every clause that may depend on them,
+     * and restoring in {@code Us} the clauses of the outer scopes that have been deleted in the meantime.
+     * Throw {@link IllegalStateException} if no scope is open.
+     */
+    public void pop() {
+        for (ClauseScopes.TrailedClause trailed : scopes.pop()) {
+            Clause clause = trailed.clause();
+            if (!worked.contains(clause)) {
+                usable.add(clause);
+            }
+            scopes.lower(store.idOf(clause), trailed.level());
+        }
+        if (derivations != null) {
+            derivations.prune(store);
+        }
     }
 
     /**
-     * Initialize usable and worked clauses sets with a given set of clauses to refute.
+     * Number of open scopes.
      */
-    protected void initClausesSets(Set<Clause> clauses) {
-        usable.clear();
-        worked.clear();
-        usable.addAll(clauses);
-        initialReduction();
+    public int getScopeLevel() {
+        return scopes.getLevel();
     }
 
     /**
-     * Try to refute the clauses. Return {@code true} if a refutation is reached (Proof Found),
-     * otherwise {@code false} (Completion Found).
+     * Continue the saturation of the current state, built by {@link #refute(Set)} and {@link #addClauses(Set)},
+     * reusing all the work already done. Return {@code true} if a refutation is reached, otherwise {@code false}.
+     * It throws like {@link #refute(Set)}, and after a cancellation or an exceeded limit
+     * the state is still consistent, so the saturation can be continued by calling it again.
      */
-    public boolean refute(Set<Clause> clauses) {
-        initClausesSets(clauses);
+    public boolean checkRefutable() {
+        return runRefutation(this::traceContinued);
+    }
+
+    /**
+     * Continue the refutation saved in a checkpoint file by a calculus of the same class, with the same
+     * configuration, from where it has been saved: it makes the same choices the original refutation
+     * would have made. It returns and throws like {@link #refute(Set)}, and it throws
+     * {@link CheckpointException} if the checkpoint cannot be read.
+     */
+    public boolean resume(Path path) {
+        Checkpoint checkpoint = Checkpoint.read(path);
+        if (!checkpoint.calculus().equals(getClass().getName())) {
+            throw new IllegalArgumentException("Checkpoint has been written by a different calculus");
+        }
+        return runRefutation(() -> {
+            traceContinued();
+            scopes.reset();
+            store.restore(checkpoint.store());
+            resetDerivations();
+            iterations = checkpoint.iterations();
+        });
+    }
+
+    /**
+     * Continue the refutation saved in a checkpoint file, like {@link #resume(Path)},
+     * but report how the refutation ended.
+     */
+    public RefutationStatus tryResume(Path path) {
+        return status(() -> resume(path));
+    }
+
+    private boolean runRefutation(Runnable initialization) {
+        iterations = 0;
+        generatedClauses = 0;
+        keptClauses = 0;
+        startTime = System.nanoTime();
+        OrderingCache callerCache = LpoComparator.getThreadCache();
+        LpoComparator.setThreadCache(orderingCache);
+        if (parallelism > 1 || pipelined) {
+            pool = new ForkJoinPool(parallelism, workerFactory(orderingCache), null, false);
+        }
+        if (pipelined) {
+            pipeline = new InferencePipeline(this, pool, Math.max(1, parallelism / 2));
+        }
+        if (checkpointPath != null) {
+            checkpointWriter = new CheckpointWriter(checkpointPath);
+        }
+        if (tracePath != null) {
+            trace = new TraceWriter(tracePath, getClass().getName(), deterministic, ageWeightRatio, maxIterations,
+                    parallelism, pipelined, orderingCache == null ? 0 : orderingCache.getCapacity());
+        }
+        if (monitored) {
+            monitor = ProverMonitor.register(this);
+            store.addListener(monitor);
+        }
+        try {
+            publishState(true);
+            long start = statistics == null ? 0 : System.nanoTime();
+            initialization.run();
+            if (statistics != null) {
+                statistics.endPhase(ProverStatistics.Phase.INITIALIZATION, start);
+            }
+            // A restored snapshot does not notify the listeners
+            publishState(true);
+
+            boolean refuted = !usable.isEmpty() && saturate();
+            if (checkpointWriter != null) {
+                checkpointWriter.close();
+                checkpointWriter = null;
+            }
+            if (trace != null) {
+                trace.writeEnd(System.nanoTime() - startTime, refuted);
+            }
+            return refuted;
+        } finally {
+            if (pipeline != null) {
+                pipeline.shutdown();
+                pipeline = null;
+            }
+            if (pool != null) {
+                pool.shutdownNow();
+                pool = null;
+            }
+            if (checkpointWriter != null) {
+                // The refutation has already failed, so a failed checkpoint would only hide the cause
+                try {
+                    checkpointWriter.close();
+                } catch (CheckpointException ignored) {
+                }
+                checkpointWriter = null;
+            }
+            if (trace != null) {
+                trace.close();
+                trace = null;
+            }
+            if (monitor != null) {
+                store.removeListener(monitor);
+                monitor.unregister();
+                monitor = null;
+            }
+            if (clauseProfile != null) {
+                clauseProfile.endRefutation(clause -> store.idOf(clause) >= 0);
+            }
+            StateDump dump = pendingDump.getAndSet(null);
+            if (dump != null) {
+                dump.written().complete(false);
+            }
+            LpoComparator.setThreadCache(callerCache);
+            forwardReductions = null;
+            cancelled = false;
+        }
+    }
+
+    /**
+     * Factory of the workers of the pool of a refutation, that memoize the term ordering in {@code cache}.
+     */
+    private static ForkJoinPool.ForkJoinWorkerThreadFactory workerFactory(OrderingCache cache) {
+        if (cache == null) {
+            return ForkJoinPool.defaultForkJoinWorkerThreadFactory;
+        }
+        return pool -> new ForkJoinWorkerThread(pool) {
+            @Override
+            protected void onStart() {
+                super.onStart();
+                LpoComparator.setThreadCache(cache);
+            }
+        };
+    }
+
+    /**
+     * Try to refute the clauses, like {@link #refute(Set)}, but report how the refutation ended
+     * instead of throwing an exception when it is cancelled or exceeds a limit.
+     */
+    public RefutationStatus tryRefute(Set<Clause> clauses) {
+        return status(() -> refute(clauses));
+    }
+
+    /**
+     * Try to refute the clauses of a stream, like {@link #refute(Stream)}, but report how the refutation ended.
+     */
+    public RefutationStatus tryRefute(Stream<Clause> clauses) {
+        return status(() -> refute(clauses));
+    }
+
+    /**
+     * Try to refute the clauses of a snapshot together with the given goal clauses, like
+     * {@link #refute(SaturationSnapshot, Set)}, but report how the refutation ended.
+     */
+    public RefutationStatus tryRefute(SaturationSnapshot snapshot, Set<Clause> goals) {
+        return status(() -> refute(snapshot, goals));
+    }
+
+    private static RefutationStatus status(BooleanSupplier refutation) {
+        try {
+            return refutation.getAsBoolean() ? RefutationStatus.PROOF_FOUND : RefutationStatus.COMPLETION_FOUND;
+        } catch (RefutationCancelledException e) {
+            return RefutationStatus.CANCELLED;
+        } catch (ResourceLimitExceededException e) {
+            return RefutationStatus.LIMIT_REACHED;
+        }
+    }
+
+    /**
+     * Throw the corresponding exception if the refutation has been cancelled or has exceeded a limit.
+     */
+    protected void checkLimits() {
+        if (cancelled) {
+            throw new RefutationCancelledException();
+        }
+
+        long iterationsLimit = maxIterations;
+        if (iterationsLimit > 0 && iterations >= iterationsLimit) {
+            throw new ResourceLimitExceededException("iterations");
+        }
 
-        if (usable.isEmpty()) {
-            return false;
+        Duration duration = timeLimit;
+        if (duration != null && System.nanoTime() - startTime >= duration.toNanos()) {
+            throw new ResourceLimitExceededException("time");
         }
+    }
 
+    /**
+     * Given clause loop on the current {@code Us} and {@code Wo} sets.
+     */
+    private boolean saturate() {
         do {
             // If Us contains an empty clause we have reached a refutation.
             if (containsEmptyClause(usable)) return true;
 
+            checkLimits();
+            writeCheckpoint();
+            writeDump();
+            iterations++;
+
+            // Clauses derived from now on are younger than the ones already in Us and Wo
+            store.nextAge();
+            long phaseStart = startPhase();
+
             // 1. Select the given clause
-            Clause given = selectGivenClause(usable);
+            GivenClauseEvent selectionEvent = GivenClauseEvent.start();
+            int usableSize = usable.size();
+            boolean oldest = ageWeightRatio > 0 && iterations % ageWeightRatio == 0;
+            Clause given;
+            if (oldest) {
+                given = selectOldestClause(usable);
+            } else {
+                given = deterministic ? selectLightestClause(usable) : selectGivenClause(usable);
+            }
             worked.add(given);
             usable.remove(given);
+            selectionEvent.commit(iterations, store, given, usableSize, oldest);
+            if (trace != null) {
+                trace.writeGiven(iterations, System.nanoTime() - startTime, store.idOf(given), given, usableSize);
+            }
+            forwardReductions = true;
+            if (monitor != null) {
+                monitor.publishGivenClause(store.idOf(given));
+            }
+            if (statistics != null) {
+                statistics.countGivenClause();
+            }
+            phaseStart = endPhase(ProverStatistics.Phase.SELECTION, phaseStart);
 
-            // 2. Generates new clauses by inferences between given clause and clauses in Wo and Us
-            Set<Clause> newClauses = inferAllPossibleClauses(given);
+            Set<Clause> newClauses;
+            Map<Clause, Integer> newClausesLevels = null;
+            try {
+                if (scopes.getLevel() > 0) {
+                    // 2. Generates new clauses, keeping track of the scopes they depend on
+                    newClausesLevels = new HashMap<>();
+                    newClauses = inferAllPossibleClausesInScopes(given, newClausesLevels);
+                } else if (pipeline == null) {
+                    // 2. Generates new clauses by inferences between given clause and clauses in Wo and Us
+                    newClauses = inferAllPossibleClauses(given);
+                } else {
+                    // 2-3. Generates new clauses and concurrently apply the forward reductions of each of them
+                    newClauses = pipeline.run(given, new ArrayList<>(worked));
+                }
+                phaseStart = endPhase(ProverStatistics.Phase.INFERENCE, phaseStart);
+                newClauses = inInsertionOrder(newClauses);
+                int generated = pipeline == null || newClausesLevels != null ?
+                        newClauses.size() : pipeline.getGeneratedClauses();
+                generatedClauses += generated;
 
-            // 3. Apply forward reductions on new clauses
-            forwardReduction(newClauses);
+                // 3. Apply forward reductions on new clauses
+                ReductionEvent forwardEvent = ReductionEvent.start();
+                if (newClausesLevels != null) {
+                    forwardReduction(newClauses);
+                    trailReducedClauses(newClauses, newClausesLevels);
+                } else if (pipeline == null) {
+                    forwardReduction(newClauses);
+                } else {
+                    forwardReductionOfSurvivors(newClauses);
+                }
+                forwardEvent.commit(ReductionEvent.FORWARD, iterations, generated, newClauses.size(),
+                        usable.size(), worked.size());
+                phaseStart = endPhase(ProverStatistics.Phase.FORWARD_REDUCTION, phaseStart);
+            } catch (RuntimeException e) {
+                // The given clause has not been worked, so it goes back to Us to keep the state consistent
+                usable.add(given);
+                worked.remove(given);
+                throw e;
+            }
 
             // 4. Apply backwards reductions on olds clauses in Us and Wo with the new ones
+            ReductionEvent backwardEvent = ReductionEvent.start();
+            int kept = newClauses.size();
+            forwardReductions = false;
             backwardsReduction(newClauses);
+            forwardReductions = null;
+            backwardEvent.commit(ReductionEvent.BACKWARD, iterations, kept, newClauses.size(),
+                    usable.size(), worked.size());
 
             // 4. Add the new clauses to Us
             usable.addAll(newClauses);
+            if (trace != null) {
+                List<Trace.StoredClause> keptClauses = new ArrayList<>();
+                for (Clause newClause : newClauses) {
+                    keptClauses.add(new Trace.StoredClause(store.idOf(newClause), newClause));
+                }
+                trace.writeKept(keptClauses);
+            }
+            if (newClausesLevels != null) {
+                for (Clause newClause : newClauses) {
+                    Integer level = newClausesLevels.get(newClause);
+                    if (level != null) {
+                        scopes.lower(store.idOf(newClause), level);
+                    }
+                }
+            }
+
+            keptClauses += newClauses.size();
+            if (statistics != null) {
+                endPhase(ProverStatistics.Phase.BACKWARD_REDUCTION, phaseStart);
+                statistics.countKeptClauses(newClauses.size());
+                statistics.endIteration(iterations, usable.size(), worked.size());
+            }
+            clearPendingDerivations();
+            publishState(false);
         } while (!usable.isEmpty());
 
         // Return false to indicate that it did not find a refutation, so it is satisfiable
         return false;
     }
 
+    /**
+     * Record in the trace, if any, that the refutation continues the current saturation state.
+     */
+    private void traceContinued() {
+        if (trace != null) {
+            trace.writeContinued();
+        }
+    }
+
+    /**
+     * Start time of a phase, if the statistics are enabled.
+     */
+    private long startPhase() {
+        return statistics == null ? 0 : System.nanoTime();
+    }
+
+    /**
+     * Add the time of a phase to the statistics, if they are enabled, and return the start time of the next one.
+     */
+    private long endPhase(ProverStatistics.Phase phase, long start) {
+        return statistics == null ? 0 : statistics.endPhase(phase, start);
+    }
+
+    /**
+     * Submit a checkpoint of the current state, if one is due and the previous one has been written.
+     * The state is copied on the refuting thread and written on the background one.
+     */
+    private void writeCheckpoint() {
+        if (checkpointWriter == null || iterations == 0 || iterations % checkpointInterval != 0 ||
+                scopes.getLevel() > 0 || !checkpointWriter.isIdle()) {
+            return;
+        }
+        checkpointWriter.submit(new Checkpoint(getClass().getName(), iterations, store.snapshot()));
+    }
+
+    /**
+     * Request a dump of the saturation state to a file, written like a checkpoint by the refuting thread
+     * at the start of the next iteration without open scopes. The future completes with {@code true} once it
+     * has been written, or with {@code false} if the refutation ends before, or if another dump is requested.
+     */
+    CompletableFuture<Boolean> requestDump(Path path) {
+        StateDump dump = new StateDump(path, new CompletableFuture<>());
+        StateDump previous = pendingDump.getAndSet(dump);
+        if (previous != null) {
+            previous.written().complete(false);
+        }
+        return dump.written();
+    }
+
+    /**
+     * Write the requested dump of the current state, if any. A failure is reported to the requester only,
+     * so it does not stop the refutation.
+     */
+    private void writeDump() {
+        if (pendingDump.get() == null || scopes.getLevel() > 0) {
+            return;
+        }
+        StateDump dump = pendingDump.getAndSet(null);
+        if (dump == null) {
+            return;
+        }
+
+        Checkpoint checkpoint = new Checkpoint(getClass().getName(), iterations, store.snapshot());
+        try (FileChannel channel = FileChannel.open(dump.path(), StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            checkpoint.write(channel);
+            dump.written().complete(true);
+        } catch (IOException | RuntimeException e) {
+            dump.written().completeExceptionally(e);
+        }
+    }
+
+    /**
+     * Publish the sizes of the sets to the monitor, if any, recounting the symbols of their clauses if {@code reset}.
+     */
+    private void publishState(boolean reset) {
+        if (monitor == null) {
+            return;
+        }
+        if (reset) {
+            monitor.reset(store, usable, worked);
+        } else {
+            monitor.publishSizes(usable.size(), worked.size(), store.size());
+        }
+    }
+
     /**
      * Check if the given set of clauses contains an empty clause.
      */
@@ -83,36 +1104,377 @@ public abstract class AutomaticCalculus {
         return given;
     }
 
+    /**
+     * Select the lightest clause of a set of this store, breaking ties by age and then by id, so that the
+     * choice depends only on the content of the set.
+     */
+    private Clause selectLightestClause(ClauseSet clauses) {
+        Clause given = null;
+        int givenWeight = 0, givenAge = 0;
+        // The iteration follows the ids, so among equally heavy and old clauses the first one is kept
+        for (Clause clause : clauses) {
+            int weight = clause.collectSymbols().size();
+            int age = store.getAge(store.idOf(clause));
+            if (given == null || weight < givenWeight || weight == givenWeight && age < givenAge) {
+                given = clause;
+                givenWeight = weight;
+                givenAge = age;
+            }
+        }
+        return given;
+    }
+
+    /**
+     * The clauses in the order they are inserted in {@code Us}: as they are, or in canonical order in
+     * deterministic mode, by weight and then by text with the literals sorted.
+     */
+    private Set<Clause> inInsertionOrder(Set<Clause> clauses) {
+        if (!deterministic) {
+            return clauses;
+        }
+
+        record CanonicalClause(Clause clause, int weight, String text) {
+        }
+        List<CanonicalClause> canonical = new ArrayList<>(clauses.size());
+        for (Clause clause : clauses) {
+            List<String> literals = new ArrayList<>();
+            for (Literal literal : clause.getAllLiterals()) {
+                literals.add(literal.toString());
+            }
+            literals.sort(null);
+            canonical.add(new CanonicalClause(clause, clause.collectSymbols().size(), String.join(", ", literals)));
+        }
+        canonical.sort(Comparator.comparingInt(CanonicalClause::weight).thenComparing(CanonicalClause::text));
+
+        Set<Clause> ordered = new LinkedHashSet<>();
+        for (CanonicalClause clause : canonical) {
+            ordered.add(clause.clause());
+        }
+        return ordered;
+    }
+
+    /**
+     * Select the oldest clause of a set. Since the clauses of a store are numbered in order
+     * of insertion, it is the first one of the set.
+     */
+    public Clause selectOldestClause(ClauseSet clauses) {
+        return clauses.isEmpty() ? null : clauses.iterator().next();
+    }
+
     /**
      * Apply all possible inference between {@code given} clause, itself and the clauses of {@code Wo}.
      */
     private Set<Clause> inferAllPossibleClauses(Clause given) {
+        Set<Clause> newClauses = inferAllPossibleClausesWithItself(given);
+        newClauses.addAll(inferAllPossibleClausesWithWorkedClauses(given, worked));
+        return newClauses;
+    }
+
+    /**
+     * Apply all possible inference like {@link #inferAllPossibleClauses(Clause)}, and put in {@code levels}
+     * the level of each new clause: the deepest scope of its premises.
+     * The clauses of {@code Wo} are grouped by the level their inferences with {@code given} get.
+     */
+    private Set<Clause> inferAllPossibleClausesInScopes(Clause given, Map<Clause, Integer> levels) {
+        int givenLevel = scopes.levelOf(store.idOf(given));
+        Map<Integer, List<Clause>> workedByLevel = new TreeMap<>();
+        for (Clause clauseWo : worked) {
+            int level = Math.max(givenLevel, scopes.levelOf(store.idOf(clauseWo)));
+            workedByLevel.computeIfAbsent(level, l -> new ArrayList<>()).add(clauseWo);
+        }
+
+        Set<Clause> newClauses = inferAllPossibleClausesWithItself(given);
+        for (Clause newClause : newClauses) {
+            levels.merge(newClause, givenLevel, Math::min);
+        }
+        for (Map.Entry<Integer, List<Clause>> entry : workedByLevel.entrySet()) {
+            for (Clause newClause : inferAllPossibleClausesWithWorkedClauses(given, entry.getValue())) {
+                levels.merge(newClause, entry.getKey(), Math::min);
+                newClauses.add(newClause);
+            }
+        }
+        return newClauses;
+    }
+
+    /**
+     * Record in the trail of the current scope the new clauses of outer scopes that have been
+     * deleted or replaced by the forward reductions, which may have used clauses of the current scope.
+     * The replacements are not in {@code levels}, so they keep the current level.
+     */
+    private void trailReducedClauses(Set<Clause> newClauses, Map<Clause, Integer> levels) {
+        for (Map.Entry<Clause, Integer> entry : levels.entrySet()) {
+            if (!newClauses.contains(entry.getKey())) {
+                scopes.trail(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * Apply all possible inference between {@code given} clause and itself.
+     */
+    Set<Clause> inferAllPossibleClausesWithItself(Clause given) {
         Clause givenCopy = given.copy();
         // Apply renomination to make sure that the tow clause have disjoint variables
         Renaming.renameClausesToDisjointVariable(given, givenCopy);
 
+        InferenceEvent event = InferenceEvent.start();
+        long start = clauseProfile == null ? 0 : clauseProfile.startInference();
+        if (derivations != null) {
+            derivations.startInference(given, given);
+        }
+        if (trace != null) {
+            tracedConclusions.get().clear();
+        }
         Set<Clause> newClauses = new HashSet<>(inferAllPossibleClausesFromItself(given, givenCopy));
+        event.commit(store, given, given, newClauses.size());
+        if (clauseProfile != null) {
+            clauseProfile.countInference(given, null, newClauses, start);
+        }
+        if (trace != null) {
+            traceInference(given);
+        }
+        countGeneratedClauses(newClauses.size());
+        return newClauses;
+    }
 
-        for (Clause clauseWo : worked) {
-            // Apply renomination to make sure that the tow clause have disjoint variables
-            Renaming.renameClausesToDisjointVariable(clauseWo, given);
-
-            newClauses.addAll(inferAllPossibleClausesFromWorkedClause(given, clauseWo));
+    /**
+     * Apply all possible inference between {@code given} clause and the given clauses of {@code Wo},
+     * in parallel if the refutation is running on a pool.
+     */
+    private Set<Clause> inferAllPossibleClausesWithWorkedClauses(Clause given, Collection<Clause> workedClauses) {
+        Set<Clause> newClauses = new HashSet<>();
+        if (pool == null) {
+            for (Clause clauseWo : workedClauses) {
+                if (cancelled) {
+                    throw new RefutationCancelledException();
+                }
+                newClauses.addAll(inferAllPossibleClausesWithWorkedClause(given, clauseWo));
+            }
+        } else {
+            List<Clause> workedList = new ArrayList<>(workedClauses);
+            int chunkSize = Math.max(1, workedList.size() / (parallelism * InferenceTask.CHUNKS_PER_THREAD));
+            newClauses.addAll(pool.invoke(
+                    new InferenceTask(this, given, workedList, 0, workedList.size(), chunkSize)));
         }
 
         return newClauses;
     }
 
+    /**
+     * Apply all possible inference between {@code given} clause and a clause of {@code Wo}.
+     * It only reads the two clauses, so it can be called concurrently for different clauses of {@code Wo}.
+     */
+    Set<Clause> inferAllPossibleClausesWithWorkedClause(Clause given, Clause clauseWo) {
+        // Apply renomination to make sure that the tow clause have disjoint variables,
+        // always on a copy since the clauses in Wo must not be mutated
+        Clause renamedClauseWo = clauseWo.copy();
+        Renaming.renameClausesToDisjointVariable(given, renamedClauseWo);
+
+        InferenceEvent event = InferenceEvent.start();
+        long start = clauseProfile == null ? 0 : clauseProfile.startInference();
+        if (derivations != null) {
+            derivations.startInference(given, clauseWo);
+        }
+        if (trace != null) {
+            tracedConclusions.get().clear();
+        }
+        Set<Clause> newClauses = inferAllPossibleClausesFromWorkedClause(given, renamedClauseWo);
+        event.commit(store, given, clauseWo, newClauses.size());
+        if (clauseProfile != null) {
+            clauseProfile.countInference(given, clauseWo, newClauses, start);
+        }
+        if (trace != null) {
+            traceInference(clauseWo);
+        }
+        countGeneratedClauses(newClauses.size());
+        return newClauses;
+    }
+
+    /**
+     * Write to the trace the conclusions of the inferences between the given clause and {@code partner}
+     * that ran on the current thread.
+     */
+    private void traceInference(Clause partner) {
+        List<Trace.Conclusion> conclusions = tracedConclusions.get();
+        trace.writeInference(store.idOf(partner), List.copyOf(conclusions));
+        conclusions.clear();
+    }
+
+    private void countGeneratedClauses(int count) {
+        if (statistics != null) {
+            statistics.countGeneratedClauses(count);
+        }
+        if (monitor != null) {
+            monitor.countInferredClauses(count);
+        }
+    }
+
+    /**
+     * Unify two literals, like {@link Unification#unify(Literal, Literal)}, counting the unification
+     * in the statistics.
+     */
+    protected final Map<String, Term> unify(Literal l1, Literal l2) {
+        UnificationEvent event = UnificationEvent.start();
+        return countUnification(event, Unification.unify(l1, l2));
+    }
+
+    /**
+     * Unify two terms, like {@link Unification#unify(Term, Term)}, counting the unification in the statistics.
+     */
+    protected final Map<String, Term> unify(Term t1, Term t2) {
+        UnificationEvent event = UnificationEvent.start();
+        return countUnification(event, Unification.unify(t1, t2));
+    }
+
+    private Map<String, Term> countUnification(UnificationEvent event, Map<String, Term> mgu) {
+        boolean failed = Unification.invalidSubstitution(mgu);
+        event.commit(!failed, failed ? -1 : mgu.size());
+        if (statistics != null) {
+            statistics.countUnification(failed);
+        }
+        if (derivations != null && !failed) {
+            derivations.recordUnifier(mgu);
+        }
+        return mgu;
+    }
+
+    /**
+     * Count an attempted application of an inference rule in the statistics, that succeeded
+     * if its conclusion is not {@code null}, commit its event, started before the application,
+     * and record the derivation of the conclusion if the proofs are recorded.
+     * The other premise is {@code null} for the rules with one premise.
+     */
+    protected final void countInference(
+            RuleApplicationEvent event,
+            InferenceRule rule,
+            Clause premise,
+            Clause otherPremise,
+            Clause conclusion
+    ) {
+        event.commit(rule, premise, otherPremise, conclusion);
+        if (statistics != null) {
+            statistics.countInference(rule, conclusion != null);
+        }
+        if (derivations != null && conclusion != null) {
+            derivations.recordInference(rule, premise, otherPremise, conclusion);
+        }
+        if (trace != null && conclusion != null) {
+            tracedConclusions.get().add(new Trace.Conclusion(rule.name(), conclusion));
+        }
+    }
+
+    /**
+     * Listener of the <b>MRR</b> replacements of the reductions, recording their derivations if the proofs are recorded.
+     */
+    protected final Reduction.ReplacementListener replacementListener() {
+        return derivations == null ? Reduction.ReplacementListener.NONE : derivations;
+    }
+
+    /**
+     * Count the clauses deleted or replaced by a reduction rule in the statistics.
+     */
+    protected final void countReductions(ReductionRule rule, int count) {
+        if (statistics != null) {
+            statistics.countReductions(rule, count);
+        }
+    }
+
+    /**
+     * Ids of the clauses of {@code target} before a reduction of them, to be passed to
+     * {@link #countReductions(ReductionRule, int, Map, Set)}, or {@code null} if the reduction is not traced.
+     */
+    protected final Map<Clause, Integer> beforeReduction(Set<Clause> target) {
+        if (trace == null || forwardReductions == null) {
+            return null;
+        }
+        Map<Clause, Integer> ids = new HashMap<>();
+        for (Clause clause : target) {
+            ids.put(clause, store.idOf(clause));
+        }
+        return ids;
+    }
+
+    /**
+     * Count the clauses of {@code target} deleted or replaced by a reduction rule, like
+     * {@link #countReductions(ReductionRule, int)}, and write to the trace the clauses the reduction deleted
+     * and added, comparing {@code target} with its clauses {@code before} it.
+     */
+    protected final void countReductions(
+            ReductionRule rule,
+            int count,
+            Map<Clause, Integer> before,
+            Set<Clause> target
+    ) {
+        countReductions(rule, count);
+        if (before == null || count == 0) {
+            return;
+        }
+
+        List<Trace.StoredClause> deleted = new ArrayList<>();
+        for (Map.Entry<Clause, Integer> entry : before.entrySet()) {
+            if (!target.contains(entry.getKey())) {
+                deleted.add(new Trace.StoredClause(entry.getValue(), entry.getKey()));
+            }
+        }
+        List<Clause> replacements = new ArrayList<>();
+        for (Clause clause : target) {
+            if (!before.containsKey(clause)) {
+                replacements.add(clause);
+            }
+        }
+        trace.writeReduction(rule.name(), forwardReductions, deleted, replacements);
+    }
+
+    /**
+     * Count the deletion of a new clause by a reduction rule, writing it to the trace.
+     */
+    protected final void countDeletion(ReductionRule rule, Clause deleted) {
+        countReductions(rule, 1);
+        if (trace != null && forwardReductions != null) {
+            trace.writeReduction(rule.name(), forwardReductions,
+                    List.of(new Trace.StoredClause(store.idOf(deleted), deleted)), List.of());
+        }
+    }
+
     /**
      * Initial reduction on the given input clauses to refute.
      */
     protected abstract void initialReduction();
 
+    /**
+     * Reduction of a clause ingested by {@link #refute(Iterator)} with respect to the clauses ingested before it,
+     * all in {@code Us} and indexed by {@code index}. Return the reduced clause, or {@code null} if it has been deleted;
+     * the clauses of {@code Us} it makes redundant can be removed. By default no reduction is applied.
+     */
+    protected Clause ingestionReduction(Clause clause, SubsumptionIndex index) {
+        return clause;
+    }
+
     /**
      * Forward reductions on the new found clauses.
      */
     protected abstract void forwardReduction(Set<Clause> newClauses);
 
+    /**
+     * Forward reductions of a single new clause, applied by the pipelined loop while the inferences are generated.
+     * Return the reduced clause, or {@code null} if it has been deleted. It is called concurrently, so it must not
+     * modify any state of the calculus, and it must only apply the first reductions of
+     * {@link #forwardReduction(Set)} that reduce each clause independently of the others, so that the pipelined loop
+     * keeps the same clauses of the sequential one. By default no reduction is applied.
+     */
+    protected Clause forwardReduction(Clause newClause) {
+        return newClause;
+    }
+
+    /**
+     * The forward reductions of {@link #forwardReduction(Set)} that follow the ones of
+     * {@link #forwardReduction(Clause)}, applied by the pipelined loop once the stream of new clauses is over.
+     * By default all the forward reductions are applied.
+     */
+    protected void forwardReductionOfSurvivors(Set<Clause> newClauses) {
+        forwardReduction(newClauses);
+    }
+
     /**
      * Backwards reductions on olds clauses in {@code Us} and {@code Wo} with the new ones
      */
@@ -126,7 +1488,8 @@ public abstract class AutomaticCalculus {
 
     /**
      * Apply all possible inference between {@code given} clause and a clause of {@code Wo} renamed
-     * so that they have disjoint variable.
+     * so that they have disjoint variable. In a parallel run it is called concurrently,
+     * so it must not modify any state of the calculus.
      */
     protected abstract Set<Clause> inferAllPossibleClausesFromWorkedClause(Clause given, Clause renamedClauseWo);
 }
@@ -0,0 +1,220 @@
+package org.mathlogic;
+
+import org.mathlogic.comparator.LpoComparator;
+import org.mathlogic.comparator.OrderingCache;
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.TermBank;
+
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * Refute many independent problems on a bounded pool of threads, each problem with its own calculus
+ * and budget. The input clauses of all the problems are interned in a shared, bounded {@link TermBank}:
+ * only the input clauses are interned, the clauses derived by the calculi are not. All the calculi memoize
+ * the term ordering, {@link LpoComparator#DEFAULT}, in the {@link OrderingCache} of the batch prover:
+ * both are thread-safe, and the ordering has no other state.
+ */
+public class BatchProver {
+    /**
+     * Number of problems, for each thread, that can be solved but not yet consumed,
+     * after which no new problem is started.
+     */
+    private static final int PENDING_PROBLEMS_PER_THREAD = 2;
+
+    private static final int ORDERING_CACHE_CAPACITY = 1 << 16;
+
+    private static final int TERM_BANK_CAPACITY = 1 << 16;
+
+    public record Problem(String name, Set<Clause> clauses) {
+    }
+
+    public record ProblemResult(
+            Problem problem,
+            RefutationStatus status,
+            Duration elapsed,
+            long iterations,
+            Throwable failure
+    ) {
+    }
+
+    /**
+     * Marker of the end of the results, that may carry the failure of the problems stream.
+     */
+    private record End(RuntimeException failure) {
+    }
+
+    private final Supplier<? extends AutomaticCalculus> calculus;
+    private final int threads;
+    private final long maxIterations;
+    private final Duration timeLimit;
+    private final TermBank termBank;
+    private final OrderingCache orderingCache;
+
+    /**
+     * Batch prover refuting each problem with a new calculus created by {@code calculus},
+     * limited by {@code maxIterations} and {@code timeLimit} (see {@link AutomaticCalculus#setMaxIterations(long)}
+     * and {@link AutomaticCalculus#setTimeLimit(Duration)}).
+     */
+    public BatchProver(
+            @NotNull Supplier<? extends AutomaticCalculus> calculus,
+            int threads,
+            long maxIterations,
+            Duration timeLimit
+    ) {
+        if (threads < 1) {
+            throw new IllegalArgumentException("Threads must be positive");
+        }
+        this.calculus = calculus;
+        this.threads = threads;
+        this.maxIterations = maxIterations;
+        this.timeLimit = timeLimit;
+        this.termBank = new TermBank(TERM_BANK_CAPACITY);
+        this.orderingCache = new OrderingCache(ORDERING_CACHE_CAPACITY);
+    }
+
+    public TermBank getTermBank() {
+        return termBank;
+    }
+
+    public OrderingCache getOrderingCache() {
+        return orderingCache;
+    }
+
+    /**
+     * Refute the problems, returning their results in order of completion. The problems are read
+     * lazily, and a new one is started only when the results already computed are being consumed.
+     * Closing the returned stream stops the problems still running.
+     */
+    public Stream<ProblemResult> refute(@NotNull Stream<Problem> problems) {
+        BlockingQueue<Object> results = new LinkedBlockingQueue<>();
+        Semaphore pending = new Semaphore(threads * PENDING_PROBLEMS_PER_THREAD);
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        Set<AutomaticCalculus> running = ConcurrentHashMap.newKeySet();
+
+        Thread feeder = new Thread(() -> {
+            RuntimeException failure = null;
+            try {
+                Iterator<Problem> iterator = problems.iterator();
+                while (iterator.hasNext()) {
+                    pending.acquire();
+                    Problem problem = iterator.next();
+                    executor.execute(() -> results.add(solve(problem, running)));
+                }
+            } catch (InterruptedException e) {
+                // The results stream has been closed
+                Thread.currentThread().interrupt();
+            } catch (RuntimeException e) {
+                failure = e;
+            } finally {
+                executor.shutdown();
+                awaitTermination(executor);
+                results.add(new End(failure));
+            }
+        }, "batch-prover-feeder");
+        feeder.setDaemon(true);
+        feeder.start();
+
+        Iterator<ProblemResult> iterator = new Iterator<>() {
+            private Object next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    next = take(results);
+                }
+                if (next instanceof End end) {
+                    if (end.failure() != null) throw end.failure();
+                    return false;
+                }
+                return true;
+            }
+
+            @Override
+            public ProblemResult next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                ProblemResult result = (ProblemResult) next;
+                next = null;
+                pending.release();
+                return result;
+            }
+        };
+
+        return StreamSupport.stream(
+                Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL),
+                false
+        ).onClose(() -> {
+            feeder.interrupt();
+            executor.shutdownNow();
+            running.forEach(AutomaticCalculus::cancel);
+        });
+    }
+
+    private ProblemResult solve(Problem problem, Set<AutomaticCalculus> running) {
+        AutomaticCalculus prover = calculus.get();
+        prover.setMaxIterations(maxIterations);
+        prover.setTimeLimit(timeLimit);
+        prover.setOrderingCache(orderingCache);
+        prover.setMonitored(false);
+        long start = System.nanoTime();
+
+        RefutationStatus status;
+        Throwable failure = null;
+        running.add(prover);
+        try {
+            status = Thread.currentThread().isInterrupted() ?
+                    RefutationStatus.CANCELLED : prover.tryRefute(termBank.intern(problem.clauses()));
+        } catch (RuntimeException | StackOverflowError e) {
+            status = RefutationStatus.FAILED;
+            failure = e;
+        } finally {
+            running.remove(prover);
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new ProblemResult(problem, status, elapsed, prover.getIterations(), failure);
+    }
+
+    /**
+     * Wait for the results of the problems already started, even if the feeder has been interrupted.
+     */
+    private static void awaitTermination(ExecutorService executor) {
+        boolean interrupted = Thread.interrupted();
+        while (!executor.isTerminated()) {
+            try {
+                executor.awaitTermination(1, TimeUnit.MINUTES);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Object take(BlockingQueue<Object> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the batch results", e);
+        }
+    }
+}
@@ -1,8 +1,11 @@
 package org.mathlogic;
 
+import org.mathlogic.event.RuleApplicationEvent;
+import org.mathlogic.store.SubsumptionIndex;
 import org.mathlogic.structure.Clause;
 import org.mathlogic.structure.Literal;
 import org.mathlogic.structure.Term;
+import org.mathlogic.utility.ParallelReduction;
 import org.mathlogic.utility.Reduction;
 import org.mathlogic.utility.Unification;
 
@@ -14,26 +17,110 @@ import java.util.Map;
 import java.util.Set;
 
 public class CalculusR extends AutomaticCalculus {
+    /**
+     * The calculus has no rule for the identity, which it treats like any other predicate,
+     * so it is complete only for clauses without identities.
+     */
+    @Override
+    public boolean isCompleteFor(Set<Clause> clauses) {
+        for (Clause clause : clauses) {
+            for (Literal literal : clause.getAllLiterals()) {
+                if (literal.isIdentity()) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
     @Override
     protected void initialReduction() {
-        Reduction.removeTautology(usable);
-        Reduction.subsumptionReduction(usable);
-        Reduction.matchingReplacementResolution(usable, usable);
+        removeTautology(usable);
+        subsumptionReduction(usable);
+        matchingReplacementResolution(usable, usable);
+    }
+
+    /**
+     * <b>Taut</b> and forward <b>Sub</b> of the ingested clause, and backward <b>Sub</b> of the clauses of {@code Us}.
+     */
+    @Override
+    protected Clause ingestionReduction(Clause clause, SubsumptionIndex index) {
+        if (clause.isTautology()) {
+            countReductions(ReductionRule.TAUTOLOGY_DELETION, 1);
+            return null;
+        }
+        if (index.findSubsuming(clause) != null) {
+            countReductions(ReductionRule.SUBSUMPTION, 1);
+            return null;
+        }
+        List<Clause> subsumed = index.findSubsumed(clause);
+        subsumed.forEach(usable::remove);
+        countReductions(ReductionRule.SUBSUMPTION, subsumed.size());
+        return clause;
     }
 
     @Override
     protected void forwardReduction(Set<Clause> newClauses) {
-        Reduction.removeTautology(newClauses);
-        Reduction.subsumptionReduction(newClauses);
-        Reduction.matchingReplacementResolution(newClauses, newClauses);
-        Reduction.matchingReplacementResolution(worked, newClauses);
-        Reduction.matchingReplacementResolution(usable, newClauses);
+        removeTautology(newClauses);
+        forwardReductionOfSurvivors(newClauses);
+    }
+
+    /**
+     * <b>Taut</b>, the only forward reduction that does not depend on the other new clauses or on the
+     * reductions applied before it.
+     */
+    @Override
+    protected Clause forwardReduction(Clause newClause) {
+        if (newClause.isTautology()) {
+            countDeletion(ReductionRule.TAUTOLOGY_DELETION, newClause);
+            return null;
+        }
+        return newClause;
+    }
+
+    @Override
+    protected void forwardReductionOfSurvivors(Set<Clause> newClauses) {
+        subsumptionReduction(newClauses);
+        matchingReplacementResolution(newClauses, newClauses);
+        matchingReplacementResolution(worked, newClauses);
+        matchingReplacementResolution(usable, newClauses);
     }
 
     @Override
     protected void backwardsReduction(Set<Clause> newClauses) {
-        Reduction.matchingReplacementResolution(newClauses, worked);
-        Reduction.matchingReplacementResolution(newClauses, usable);
+        matchingReplacementResolution(newClauses, worked);
+        matchingReplacementResolution(newClauses, usable);
+    }
+
+    /**
+     * <b>Taut</b> reduction, in parallel if the refutation is running on a pool.
+     */
+    private void removeTautology(Set<Clause> clauses) {
+        Map<Clause, Integer> before = beforeReduction(clauses);
+        int removed = pool == null ?
+                Reduction.removeTautology(clauses) : ParallelReduction.removeTautology(clauses, pool);
+        countReductions(ReductionRule.TAUTOLOGY_DELETION, removed, before, clauses);
+    }
+
+    /**
+     * <b>Sub</b> reduction, in parallel if the refutation is running on a pool.
+     */
+    private void subsumptionReduction(Set<Clause> clauses) {
+        Map<Clause, Integer> before = beforeReduction(clauses);
+        int removed = pool == null ?
+                Reduction.subsumptionReduction(clauses) : ParallelReduction.subsumptionReduction(clauses, pool);
+        countReductions(ReductionRule.SUBSUMPTION, removed, before, clauses);
+    }
+
+    /**
+     * <b>MRR</b> reduction, in parallel if the refutation is running on a pool.
+     */
+    private void matchingReplacementResolution(Set<Clause> reference, Set<Clause> target) {
+        Map<Clause, Integer> before = beforeReduction(target);
+        int replaced = pool == null ?
+                Reduction.matchingReplacementResolution(reference, target, replacementListener()) :
+                ParallelReduction.matchingReplacementResolution(reference, target, pool, replacementListener());
+        countReductions(ReductionRule.MATCHING_REPLACEMENT_RESOLUTION, replaced, before, target);
     }
 
     @Override
@@ -67,7 +154,9 @@ public class CalculusR extends AutomaticCalculus {
         Set<Clause> newClauses = new HashSet<>();
         for (Literal pos : getPossibleSolvablePositiveLiterals(clauseWithPos)) {
             for (Literal neg : getPossibleSolvableNegativeLiterals(clauseWithNeg)) {
+                RuleApplicationEvent event = RuleApplicationEvent.start();
                 Clause resolvent = applyResolution(clauseWithPos, clauseWithNeg, pos, neg);
+                countInference(event, InferenceRule.RESOLUTION, clauseWithPos, clauseWithNeg, resolvent);
                 if (resolvent != null) {
                     newClauses.add(resolvent);
                 }
@@ -87,7 +176,9 @@ public class CalculusR extends AutomaticCalculus {
             for (int j = i + 1; j < posList.size(); j++) {
                 if (posList.get(i).equals(posList.get(j))) continue;
 
+                RuleApplicationEvent event = RuleApplicationEvent.start();
                 Clause factorized = applyRightFactorize(clause, posList.get(i), posList.get(j));
+                countInference(event, InferenceRule.RIGHT_FACTORIZATION, clause, null, factorized);
                 if (factorized != null) {
                     newClauses.add(factorized);
                 }
@@ -105,7 +196,7 @@ public class CalculusR extends AutomaticCalculus {
             Literal posToDelete,
             Literal negToDelete
     ) {
-        Map<String, Term> mgu = Unification.unify(posToDelete, negToDelete);
+        Map<String, Term> mgu = unify(posToDelete, negToDelete);
         if (Unification.invalidSubstitution(mgu) ||
                 !resolutionCanBeApplied(clauseWithPos, clauseWithNeg, posToDelete, negToDelete, mgu)) {
             return null;
@@ -128,7 +219,7 @@ public class CalculusR extends AutomaticCalculus {
      * Right Factorization of a clause with the given literals for which we need to perform the unification.
      */
     public Clause applyRightFactorize(Clause clause, Literal lit1, Literal lit2) {
-        Map<String, Term> mgu = Unification.unify(lit1, lit2);
+        Map<String, Term> mgu = unify(lit1, lit2);
         if (Unification.invalidSubstitution(mgu) ||
                 !rightFactorizationCanBeApplied(clause, lit1, mgu)) {
             return null;
@@ -1,6 +1,7 @@
 package org.mathlogic;
 
 import org.mathlogic.comparator.LpoComparator;
+import org.mathlogic.event.RuleApplicationEvent;
 import org.mathlogic.structure.Clause;
 import org.mathlogic.structure.Literal;
 import org.mathlogic.structure.Term;
@@ -18,12 +19,11 @@ import java.util.Set;
 import static org.mathlogic.Constant.IDENTITY_SYMBOL;
 
 public class CalculusS extends AutomaticCalculus {
-    private static final LpoComparator lpoComparator = new LpoComparator();
+    private static final LpoComparator lpoComparator = LpoComparator.DEFAULT;
 
     @Override
-    protected void initClausesSets(Set<Clause> clauses) {
-        Set<Clause> formattedClauses = formatClausesWrtIdentity(clauses);
-        super.initClausesSets(formattedClauses);
+    protected Clause preprocessClause(Clause clause) {
+        return clause.formatLiteralsWrtIdentity();
     }
 
     @Override
@@ -41,17 +41,6 @@ public class CalculusS extends AutomaticCalculus {
         // Not implemented
     }
 
-    /**
-     * Format all clauses with literals formatted as identities.
-     */
-    private Set<Clause> formatClausesWrtIdentity(Set<Clause> clauses) {
-        Set<Clause> formattedClauses = new HashSet<>();
-        for (Clause clause : clauses) {
-            formattedClauses.add(clause.formatLiteralsWrtIdentity());
-        }
-        return formattedClauses;
-    }
-
     @Override
     protected Set<Clause> inferAllPossibleClausesFromItself(Clause given, Clause renamedGiven) {
         Set<Clause> newClauses = new HashSet<>();
@@ -97,7 +86,9 @@ public class CalculusS extends AutomaticCalculus {
         Set<Clause> newClauses = new HashSet<>();
         for (Literal pos1 : clauseWithPos1.getMaximalPositiveLiterals()) {
             for (Literal pos2 : clauseWithPos2.getMaximalPositiveLiterals()) {
+                RuleApplicationEvent event = RuleApplicationEvent.start();
                 Clause newClause = applyLeftOrRightSuperposition(clauseWithPos1, clauseWithPos2, pos1, pos2, false);
+                countInference(event, InferenceRule.RIGHT_SUPERPOSITION, clauseWithPos1, clauseWithPos2, newClause);
                 if (newClause != null) {
                     newClauses.add(newClause);
                 }
@@ -113,7 +104,9 @@ public class CalculusS extends AutomaticCalculus {
         Set<Clause> newClauses = new HashSet<>();
         for (Literal pos : clauseWithPos.getMaximalPositiveLiterals()) {
             for (Literal neg : clauseWithNeg.getMaximalNegativeLiterals()) {
+                RuleApplicationEvent event = RuleApplicationEvent.start();
                 Clause newClause = applyLeftOrRightSuperposition(clauseWithPos, clauseWithNeg, pos, neg, true);
+                countInference(event, InferenceRule.LEFT_SUPERPOSITION, clauseWithPos, clauseWithNeg, newClause);
                 if (newClause != null) {
                     newClauses.add(newClause);
                 }
@@ -128,7 +121,9 @@ public class CalculusS extends AutomaticCalculus {
     private Set<Clause> equalityResolution(Clause clause) {
         Set<Clause> newClauses = new HashSet<>();
         for (Literal lit : clause.getMaximalNegativeLiterals()) {
+            RuleApplicationEvent event = RuleApplicationEvent.start();
             Clause newClause = applyEqualityResolution(clause, lit);
+            countInference(event, InferenceRule.EQUALITY_RESOLUTION, clause, null, newClause);
             if (newClause != null) {
                 newClauses.add(newClause);
             }
@@ -145,7 +140,9 @@ public class CalculusS extends AutomaticCalculus {
             for (Literal lit2 : clause.getPositiveLiterals()) {
                 if (lit1.equals(lit2)) continue;
 
+                RuleApplicationEvent event = RuleApplicationEvent.start();
                 Clause newClause = applyEqualityFactorization(clause, lit1, lit2);
+                countInference(event, InferenceRule.EQUALITY_FACTORIZATION, clause, null, newClause);
                 if (newClause != null) {
                     newClauses.add(newClause);
                 }
@@ -192,7 +189,7 @@ public class CalculusS extends AutomaticCalculus {
 
             // We dont manage s|p like a variable
             if (!sArgument.isVariable()) {
-                Map<String, Term> mgu = Unification.unify(sArgument, l);
+                Map<String, Term> mgu = unify(sArgument, l);
 
                 if (Unification.invalidSubstitution(mgu) ||
                         !leftOrRightSuperpositionCanBeApplied(
@@ -240,7 +237,7 @@ public class CalculusS extends AutomaticCalculus {
             currentClause.removeLiteral(lit);
             currentClause.addLiteral(currentLit);
 
-            Map<String, Term> mgu = Unification.unify(s, t);
+            Map<String, Term> mgu = unify(s, t);
             if (Unification.invalidSubstitution(mgu) ||
                     !equalityResolutionOrFactoringCanBeApplied(currentClause, currentLit, mgu)) {
                 continue;
@@ -273,7 +270,7 @@ public class CalculusS extends AutomaticCalculus {
                 Term s2 = lit2.getTerms().get(j);
                 Term t2 = lit2.getTerms().get(1 - j);
 
-                Map<String, Term> mgu = Unification.unify(s1, s2);
+                Map<String, Term> mgu = unify(s1, s2);
                 if (Unification.invalidSubstitution(mgu) ||
                         !equalityResolutionOrFactoringCanBeApplied(clause, lit1, mgu)) {
                     continue;
@@ -0,0 +1,157 @@
+package org.mathlogic;
+
+import org.mathlogic.structure.Clause;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ * Per-clause accounting of the refutations of an {@link AutomaticCalculus}, enabled with
+ * {@link AutomaticCalculus#setClauseProfile(ClauseProfile)}, to find the clauses responsible for a blow-up.
+ * For each clause that has been a premise of an inference it counts the inferences, the children they
+ * generated and how many of them were deleted, by a forward or backward reduction, before the end of the
+ * refutation, and the CPU time spent on the inferences. An inference between two clauses is charged to both.
+ * <p>
+ * The parents of the children of a running refutation are kept until its end, so profiling costs memory
+ * proportional to the generated clauses. Like {@link ProverStatistics} the counters accumulate over the
+ * refutations until {@link #reset()}.
+ */
+public class ClauseProfile {
+    /**
+     * Counters of a clause.
+     *
+     * @param inferences      number of inferences the clause has been a premise of
+     * @param children        number of clauses generated by these inferences
+     * @param deletedChildren number of these children deleted before the end of their refutation
+     * @param inferenceNanos  CPU time of these inferences
+     */
+    public record Entry(Clause clause, long inferences, long children, long deletedChildren, long inferenceNanos) {
+    }
+
+    /**
+     * Orders of the entries for {@link #top(int, Comparator)}, from the heaviest clause.
+     */
+    public static final Comparator<Entry> BY_INFERENCE_TIME =
+            Comparator.comparingLong(Entry::inferenceNanos).reversed();
+    public static final Comparator<Entry> BY_CHILDREN = Comparator.comparingLong(Entry::children).reversed();
+    public static final Comparator<Entry> BY_DELETED_CHILDREN =
+            Comparator.comparingLong(Entry::deletedChildren).reversed();
+
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private final Map<Clause, Counters> counters = new ConcurrentHashMap<>();
+    private final Map<Clause, Collection<Clause>> parents = new ConcurrentHashMap<>();
+
+    private static final class Counters {
+        private final LongAdder inferences = new LongAdder();
+        private final LongAdder children = new LongAdder();
+        private final LongAdder deletedChildren = new LongAdder();
+        private final LongAdder inferenceNanos = new LongAdder();
+    }
+
+    /**
+     * Entries of the clauses of the profile, in no particular order.
+     */
+    public List<Entry> entries() {
+        List<Entry> entries = new ArrayList<>();
+        counters.forEach((clause, counter) -> entries.add(new Entry(
+                clause,
+                counter.inferences.sum(),
+                counter.children.sum(),
+                counter.deletedChildren.sum(),
+                counter.inferenceNanos.sum()
+        )));
+        return entries;
+    }
+
+    /**
+     * The {@code n} heaviest clauses in the given order.
+     */
+    public List<Entry> top(int n, Comparator<Entry> order) {
+        return entries().stream().sorted(order).limit(n).toList();
+    }
+
+    /**
+     * Report of the {@code n} clauses with the longest inference time, one per line.
+     */
+    public String report(int n) {
+        StringBuilder report = new StringBuilder(String.format(
+                "%12s %10s %10s %10s  %s%n", "cpu ms", "inferences", "children", "deleted", "clause"));
+        for (Entry entry : top(n, BY_INFERENCE_TIME)) {
+            report.append(String.format("%12.3f %10d %10d %10d  %s%n", entry.inferenceNanos() / 1e6,
+                    entry.inferences(), entry.children(), entry.deletedChildren(), entry.clause()));
+        }
+        return report.toString();
+    }
+
+    public void reset() {
+        counters.clear();
+        parents.clear();
+    }
+
+    @Override
+    public String toString() {
+        return report(10);
+    }
+
+    /**
+     * Current CPU time of the thread, to be passed to {@link #countInference(Clause, Clause, Collection, long)}.
+     */
+    long startInference() {
+        return THREADS.getCurrentThreadCpuTime();
+    }
+
+    /**
+     * Charge an inference and its children to its premises, the other one {@code null} for the
+     * inferences of a clause with itself.
+     */
+    void countInference(Clause premise, Clause otherPremise, Collection<Clause> children, long start) {
+        long nanos = THREADS.getCurrentThreadCpuTime() - start;
+        count(premise, children.size(), nanos);
+        if (otherPremise != null) {
+            count(otherPremise, children.size(), nanos);
+        }
+
+        for (Clause child : children) {
+            Collection<Clause> childParents = parents.computeIfAbsent(child, c -> new ConcurrentLinkedQueue<>());
+            childParents.add(premise);
+            if (otherPremise != null) {
+                childParents.add(otherPremise);
+            }
+        }
+    }
+
+    /**
+     * Charge to their parents the children of the refutation that has just ended which are not
+     * in the final saturation state, and forget the parents.
+     */
+    void endRefutation(Predicate<Clause> kept) {
+        parents.forEach((child, childParents) -> {
+            if (!kept.test(child)) {
+                for (Clause parent : childParents) {
+                    Counters counter = counters.get(parent);
+                    if (counter != null) {
+                        counter.deletedChildren.increment();
+                    }
+                }
+            }
+        });
+        parents.clear();
+    }
+
+    private void count(Clause clause, int children, long nanos) {
+        Counters counter = counters.computeIfAbsent(clause, c -> new Counters());
+        counter.inferences.increment();
+        counter.children.add(children);
+        counter.inferenceNanos.add(nanos);
+    }
+}
@@ -0,0 +1,234 @@
+package org.mathlogic;
+
+import org.mathlogic.store.ClauseScopes;
+import org.mathlogic.store.ClauseStore;
+import org.mathlogic.store.ClauseStoreListener;
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Term;
+import org.mathlogic.utility.Reduction;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Derivation records of the clauses of a store, enabled with {@link AutomaticCalculus#setProofRecording(boolean)}:
+ * for each clause the rule that derived it, the records of its premises and, optionally, the unifier of the
+ * inference. A record references the records of its premises instead of copies of their clauses, so it costs
+ * a few words per clause, and the {@link Proof} of a clause is only built on demand, walking back from its record.
+ * <p>
+ * Only the records of the clauses in the store are indexed, together with the conclusions of the current step
+ * not inserted yet. The record of a deleted clause stays reachable as long as the record of a clause in the store
+ * depends on it, and is reclaimed by the garbage collector afterwards. While a scope is open the deleted clauses
+ * may be restored, so their records are kept in the index until the scope is closed.
+ */
+final class DerivationRecorder implements ClauseStoreListener, Reduction.ReplacementListener {
+    private static final Derivation[] NO_PREMISES = new Derivation[0];
+
+    private static final class Derivation {
+        private final Clause clause;
+        private final Proof.Rule rule;
+        private final Derivation[] premises;
+        private final Map<String, Term> unifier;
+
+        /**
+         * Id of the clause in the store, {@code -1} if it has not been inserted.
+         */
+        private volatile int id = -1;
+
+        private Derivation(Clause clause, Proof.Rule rule, Derivation[] premises, Map<String, Term> unifier) {
+            this.clause = clause;
+            this.rule = rule;
+            this.premises = premises;
+            this.unifier = unifier;
+        }
+    }
+
+    /**
+     * Premises of the inferences running on a thread, and the last unifier computed by the thread.
+     */
+    private static final class InferenceContext {
+        private Clause given;
+        private Derivation givenDerivation;
+        private Derivation partnerDerivation;
+        private Map<String, Term> unifier;
+    }
+
+    private final ClauseScopes scopes;
+    private final Map<Clause, Derivation> stored = new ConcurrentHashMap<>();
+    private final Map<Clause, Derivation> pending = new ConcurrentHashMap<>();
+    private final ThreadLocal<InferenceContext> contexts = ThreadLocal.withInitial(InferenceContext::new);
+    private volatile boolean unifiers;
+
+    DerivationRecorder(ClauseScopes scopes, boolean unifiers) {
+        this.scopes = scopes;
+        this.unifiers = unifiers;
+    }
+
+    void setUnifiers(boolean unifiers) {
+        this.unifiers = unifiers;
+    }
+
+    /**
+     * Forget all the records, and consider the clauses of the sets as inputs.
+     */
+    void reset(ClauseStore store, Set<Clause> usable, Set<Clause> worked) {
+        stored.clear();
+        pending.clear();
+        for (Set<Clause> clauses : List.of(usable, worked)) {
+            for (Clause clause : clauses) {
+                Derivation derivation = new Derivation(clause, Proof.Rule.INPUT, NO_PREMISES, null);
+                derivation.id = store.idOf(clause);
+                stored.put(clause, derivation);
+            }
+        }
+    }
+
+    /**
+     * Start the inferences between {@code given} and {@code partner}, a clause of {@code Wo} or {@code given}
+     * itself, on the current thread. The premises of the inferences are told apart by identity: {@code given}
+     * itself, or a renamed copy of {@code partner}.
+     */
+    void startInference(Clause given, Clause partner) {
+        InferenceContext context = contexts.get();
+        context.given = given;
+        context.givenDerivation = derivationOf(given);
+        context.partnerDerivation = partner == given ? context.givenDerivation : derivationOf(partner);
+        context.unifier = null;
+    }
+
+    /**
+     * Keep the last unifier computed by the current thread, the one of its next conclusion, if the unifiers
+     * are recorded.
+     */
+    void recordUnifier(Map<String, Term> mgu) {
+        if (unifiers) {
+            contexts.get().unifier = mgu;
+        }
+    }
+
+    /**
+     * Record the derivation of a conclusion of the inferences started on the current thread.
+     */
+    void recordInference(InferenceRule rule, Clause premise, Clause otherPremise, Clause conclusion) {
+        InferenceContext context = contexts.get();
+        if (context.givenDerivation == null) {
+            return;
+        }
+
+        Derivation first = premise == context.given ? context.givenDerivation : context.partnerDerivation;
+        Derivation[] premises;
+        if (otherPremise == null) {
+            premises = new Derivation[]{first};
+        } else {
+            Derivation second = otherPremise == context.given ?
+                    context.givenDerivation : context.partnerDerivation;
+            premises = new Derivation[]{first, second};
+        }
+        Map<String, Term> unifier = unifiers && context.unifier != null ? Map.copyOf(context.unifier) : null;
+        pending.putIfAbsent(conclusion, new Derivation(conclusion, Proof.Rule.of(rule), premises, unifier));
+    }
+
+    @Override
+    public void onReplacement(Clause replaced, Clause reference, Clause replacement) {
+        pending.putIfAbsent(replacement, new Derivation(replacement, Proof.Rule.MATCHING_REPLACEMENT_RESOLUTION,
+                new Derivation[]{derivationOf(replaced), derivationOf(reference)}, null));
+    }
+
+    /**
+     * Forget the conclusions of the current step that have not been inserted in the store.
+     */
+    void clearPending() {
+        pending.clear();
+    }
+
+    /**
+     * Forget the records of the clauses no longer in the store, kept while a scope was open.
+     */
+    void prune(ClauseStore store) {
+        stored.keySet().removeIf(clause -> store.idOf(clause) < 0);
+    }
+
+    /**
+     * Number of indexed records of clauses of the store.
+     */
+    int size() {
+        return stored.size();
+    }
+
+    @Override
+    public void onInsert(int id, Clause clause) {
+        Derivation derivation = pending.remove(clause);
+        if (derivation == null) {
+            derivation = new Derivation(clause, Proof.Rule.INPUT, NO_PREMISES, null);
+        }
+        derivation.id = id;
+        stored.put(clause, derivation);
+    }
+
+    @Override
+    public void onDelete(int id, Clause clause) {
+        if (scopes.getLevel() == 0) {
+            stored.remove(clause);
+        }
+    }
+
+    /**
+     * Reconstruct the proof of a clause of the store.
+     * Throw {@link IllegalArgumentException} if the clause is not in the store.
+     */
+    Proof proofOf(Clause clause) {
+        Derivation root = stored.get(clause);
+        if (root == null) {
+            throw new IllegalArgumentException("Clause is not in the store");
+        }
+
+        // Iterative post-order visit, since the derivations can be deeper than the stack
+        Map<Derivation, Integer> indexes = new IdentityHashMap<>();
+        List<Proof.Step> steps = new ArrayList<>();
+        Deque<Derivation> visit = new ArrayDeque<>();
+        visit.push(root);
+        while (!visit.isEmpty()) {
+            Derivation derivation = visit.peek();
+            if (indexes.containsKey(derivation)) {
+                visit.pop();
+                continue;
+            }
+
+            boolean ready = true;
+            for (Derivation premise : derivation.premises) {
+                if (!indexes.containsKey(premise)) {
+                    visit.push(premise);
+                    ready = false;
+                }
+            }
+            if (ready) {
+                visit.pop();
+                List<Integer> premises = new ArrayList<>(derivation.premises.length);
+                for (Derivation premise : derivation.premises) {
+                    premises.add(indexes.get(premise));
+                }
+                indexes.put(derivation, steps.size());
+                steps.add(new Proof.Step(derivation.id, derivation.clause, derivation.rule,
+                        List.copyOf(premises), derivation.unifier));
+            }
+        }
+        return new Proof(List.copyOf(steps));
+    }
+
+    /**
+     * Record of a clause of the store or of the current step, or a new input record if there is none.
+     */
+    private Derivation derivationOf(Clause clause) {
+        Derivation derivation = stored.get(clause);
+        if (derivation != null) {
+            return derivation;
+        }
+        return pending.computeIfAbsent(clause, c -> new Derivation(c, Proof.Rule.INPUT, NO_PREMISES, null));
+    }
+}
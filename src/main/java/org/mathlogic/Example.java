@@ -15,5 +15,9 @@ public class Example {
                 Clause.parse("=>")
         );
         System.out.println(resolver.refute(clauses));
+
+        // Race the three calculi, the first definitive answer wins
+        PortfolioProver portfolio = PortfolioProver.withAllCalculi();
+        System.out.println(portfolio.refute(clauses).status());
     }
 }
@@ -0,0 +1,260 @@
+package org.mathlogic;
+
+import org.mathlogic.comparator.LpoComparator;
+import org.mathlogic.comparator.OrderingCache;
+import org.mathlogic.structure.Clause;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.IntStream;
+
+/**
+ * Pipelined generation and forward reduction of the new clauses of a given clause iteration.
+ * The stages run concurrently and are connected by bounded queues, so that a fast stage
+ * waits for the slower one instead of filling the memory:
+ * <ol>
+ * <li> the producers, on the fork-join pool, generate the inferences between the given clause
+ *      and the clauses of {@code Wo} and stream them into the candidates queue; </li>
+ * <li> the reducers apply the forward reductions of a single clause to the candidates and
+ *      stream them, deleted or not, into the survivors queue; </li>
+ * <li> the committer, the thread running the refutation, counts the generated clauses and
+ *      collects the survivors. </li>
+ * </ol>
+ * {@code Us} and {@code Wo} are only read while the pipeline runs, the committer modifies
+ * them once the stream of new clauses is over: the rest of the forward reductions, which depend on the
+ * order they are applied in, the backward reductions and the insertion in {@code Us} do not overlap
+ * with the other stages.
+ */
+class InferencePipeline {
+    private static final int QUEUE_CAPACITY = 1024;
+
+    /**
+     * A new clause with the position of its premises in the generation order,
+     * used to collect the survivors in an order independent of the scheduling,
+     * and once reduced the clause that survives, {@code null} if it has been deleted.
+     */
+    private record Candidate(int source, int index, Clause clause, Clause reduced) {
+        private static final Comparator<Candidate> ORDER =
+                Comparator.comparingInt(Candidate::source).thenComparingInt(Candidate::index);
+    }
+
+    /**
+     * Marker of the end of a stream, compared by identity.
+     */
+    private static final Candidate END_OF_STREAM = new Candidate(-1, -1, null, null);
+
+    private final AutomaticCalculus calculus;
+    private final ForkJoinPool producers;
+    private final ExecutorService reducers;
+    private final int reducerCount;
+
+    /**
+     * Distinct clauses generated by the last iteration, before their forward reductions.
+     */
+    private int generatedClauses;
+
+    InferencePipeline(AutomaticCalculus calculus, ForkJoinPool producers, int reducerCount) {
+        this.calculus = calculus;
+        this.producers = producers;
+        // The reducers memoize the term ordering like the thread running the refutation
+        OrderingCache cache = LpoComparator.getThreadCache();
+        ThreadFactory threads = Executors.defaultThreadFactory();
+        this.reducers = Executors.newFixedThreadPool(reducerCount, task -> threads.newThread(() -> {
+            LpoComparator.setThreadCache(cache);
+            task.run();
+        }));
+        this.reducerCount = reducerCount;
+    }
+
+    /**
+     * Generate and forward reduce all the new clauses of the {@code given} clause
+     * with the clauses of {@code Wo}, returning the ones that survive.
+     */
+    Set<Clause> run(Clause given, List<Clause> workedClauses) {
+        return new Iteration(given, workedClauses).run();
+    }
+
+    int getGeneratedClauses() {
+        return generatedClauses;
+    }
+
+    void shutdown() {
+        reducers.shutdownNow();
+    }
+
+    /**
+     * State of the pipeline during a single given clause iteration.
+     * When a stage fails or the committer is interrupted the iteration is aborted: the stages
+     * keep draining their input queue, discarding it, so that no stage stays blocked.
+     */
+    private final class Iteration {
+        private final Clause given;
+        private final List<Clause> workedClauses;
+        private final BlockingQueue<Candidate> candidates;
+        private final BlockingQueue<Candidate> survivors;
+        private final AtomicReference<Throwable> failure;
+        private volatile boolean aborted;
+
+        private Iteration(Clause given, List<Clause> workedClauses) {
+            this.given = given;
+            this.workedClauses = workedClauses;
+            this.candidates = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            this.survivors = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+            this.failure = new AtomicReference<>();
+        }
+
+        private Set<Clause> run() {
+            producers.execute(this::produce);
+            for (int i = 0; i < reducerCount; i++) {
+                reducers.execute(this::reduce);
+            }
+
+            List<Candidate> collected = commit();
+
+            Throwable cause = failure.get();
+            if (cause instanceof RuntimeException runtimeException) throw runtimeException;
+            if (cause instanceof Error error) throw error;
+            if (cause != null) throw new CancellationException("Pipelined saturation interrupted");
+
+            collected.sort(Candidate.ORDER);
+            Set<Clause> generated = new HashSet<>();
+            Set<Clause> newClauses = new LinkedHashSet<>();
+            for (Candidate candidate : collected) {
+                generated.add(candidate.clause());
+                if (candidate.reduced() != null) {
+                    newClauses.add(candidate.reduced());
+                }
+            }
+            generatedClauses = generated.size();
+            return newClauses;
+        }
+
+        /**
+         * Producers stage: inferences of the given clause with itself, then with each clause of
+         * {@code Wo} in parallel. It runs on the fork-join pool, so the parallel stream uses it too.
+         */
+        private void produce() {
+            try {
+                offerAll(-1, calculus.inferAllPossibleClausesWithItself(given));
+
+                IntStream.range(0, workedClauses.size()).parallel().forEach(i -> {
+                    if (!aborted) {
+                        offerAll(i, calculus.inferAllPossibleClausesWithWorkedClause(given, workedClauses.get(i)));
+                    }
+                });
+            } catch (Throwable e) {
+                abort(e);
+            } finally {
+                for (int i = 0; i < reducerCount; i++) {
+                    put(candidates, END_OF_STREAM);
+                }
+            }
+        }
+
+        private void offerAll(int source, Set<Clause> newClauses) {
+            int index = 0;
+            for (Clause newClause : newClauses) {
+                put(candidates, new Candidate(source, index++, newClause, null));
+            }
+        }
+
+        /**
+         * Reducers stage: forward reduction of each single candidate.
+         */
+        private void reduce() {
+            try {
+                Candidate candidate;
+                while ((candidate = take(candidates)) != END_OF_STREAM) {
+                    if (aborted) continue;
+
+                    try {
+                        // The deleted candidates go on too, so that the committer counts all the generated clauses
+                        Clause reduced = calculus.forwardReduction(candidate.clause());
+                        put(survivors, new Candidate(candidate.source(), candidate.index(), candidate.clause(),
+                                reduced));
+                    } catch (Throwable e) {
+                        abort(e);
+                    }
+                }
+            } finally {
+                put(survivors, END_OF_STREAM);
+            }
+        }
+
+        /**
+         * Committer stage: collect the reduced candidates until every reducer has ended.
+         */
+        private List<Candidate> commit() {
+            List<Candidate> collected = new ArrayList<>();
+            int ended = 0;
+            while (ended < reducerCount) {
+                Candidate reduced = take(survivors);
+                if (reduced == END_OF_STREAM) {
+                    ended++;
+                } else if (!aborted) {
+                    collected.add(reduced);
+                }
+            }
+            return collected;
+        }
+
+        private void abort(Throwable cause) {
+            failure.compareAndSet(null, cause);
+            aborted = true;
+        }
+
+        /**
+         * Blocking put that, if interrupted, aborts the iteration and retries, since the
+         * consumers never stop draining the queue.
+         */
+        private void put(BlockingQueue<Candidate> queue, Candidate candidate) {
+            boolean interrupted = false;
+            while (true) {
+                try {
+                    queue.put(candidate);
+                    break;
+                } catch (InterruptedException e) {
+                    abort(e);
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+
+        /**
+         * Blocking take that, if interrupted, aborts the iteration and retries, since the
+         * producers always end their stream.
+         */
+        private Candidate take(BlockingQueue<Candidate> queue) {
+            boolean interrupted = false;
+            try {
+                while (true) {
+                    try {
+                        return queue.take();
+                    } catch (InterruptedException e) {
+                        abort(e);
+                        interrupted = true;
+                    }
+                }
+            } finally {
+                if (interrupted) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+    }
+}
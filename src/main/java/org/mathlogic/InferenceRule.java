@@ -0,0 +1,13 @@
+package org.mathlogic;
+
+/**
+ * Generating inference rules of the calculi.
+ */
+public enum InferenceRule {
+    RESOLUTION,
+    RIGHT_FACTORIZATION,
+    LEFT_SUPERPOSITION,
+    RIGHT_SUPERPOSITION,
+    EQUALITY_RESOLUTION,
+    EQUALITY_FACTORIZATION
+}
@@ -0,0 +1,64 @@
+package org.mathlogic;
+
+import org.mathlogic.structure.Clause;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Fork-join task that generates the inferences between the given clause and a range of clauses of {@code Wo}.
+ * Each leaf collects its clauses in its own buffer, and the buffers are merged following the order
+ * of the range, so the result does not depend on the scheduling of the tasks.
+ */
+class InferenceTask extends RecursiveTask<Set<Clause>> {
+    /**
+     * Number of chunks in which the clauses of {@code Wo} are split for each thread,
+     * so that threads finishing early can steal work from the others.
+     */
+    static final int CHUNKS_PER_THREAD = 4;
+
+    private final AutomaticCalculus calculus;
+    private final Clause given;
+    private final List<Clause> workedClauses;
+    private final int from;
+    private final int to;
+    private final int chunkSize;
+
+    InferenceTask(
+            AutomaticCalculus calculus,
+            Clause given,
+            List<Clause> workedClauses,
+            int from,
+            int to,
+            int chunkSize
+    ) {
+        this.calculus = calculus;
+        this.given = given;
+        this.workedClauses = workedClauses;
+        this.from = from;
+        this.to = to;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    protected Set<Clause> compute() {
+        if (to - from <= chunkSize) {
+            Set<Clause> newClauses = new LinkedHashSet<>();
+            for (int i = from; i < to; i++) {
+                newClauses.addAll(calculus.inferAllPossibleClausesWithWorkedClause(given, workedClauses.get(i)));
+            }
+            return newClauses;
+        }
+
+        int middle = (from + to) >>> 1;
+        InferenceTask left = new InferenceTask(calculus, given, workedClauses, from, middle, chunkSize);
+        InferenceTask right = new InferenceTask(calculus, given, workedClauses, middle, to, chunkSize);
+        left.fork();
+        Set<Clause> rightClauses = right.compute();
+        Set<Clause> newClauses = left.join();
+        newClauses.addAll(rightClauses);
+        return newClauses;
+    }
+}
@@ -0,0 +1,190 @@
+package org.mathlogic;
+
+import org.mathlogic.structure.Clause;
+
+import javax.validation.constraints.NotNull;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Run several configured strategies concurrently on the same clauses. The first strategy reaching
+ * a definitive answer wins, and the other ones are cancelled cooperatively. A completion is a definitive
+ * answer only for a strategy whose calculus is complete for the clauses, see
+ * {@link AutomaticCalculus#isCompleteFor(Set)}: the completions of the other ones are recorded in their
+ * outcomes, but they do not stop the race.
+ */
+public class PortfolioProver {
+    private static final int NO_WINNER = -1;
+
+    /**
+     * Configuration of an {@link AutomaticCalculus} of the portfolio.
+     * A new calculus is created by {@code calculus} for each refutation.
+     *
+     * @param ageWeightRatio see {@link AutomaticCalculus#setAgeWeightRatio(int)}
+     * @param maxIterations  see {@link AutomaticCalculus#setMaxIterations(long)}
+     * @param timeLimit      see {@link AutomaticCalculus#setTimeLimit(Duration)}
+     */
+    public record Strategy(
+            String name,
+            Supplier<? extends AutomaticCalculus> calculus,
+            int ageWeightRatio,
+            long maxIterations,
+            Duration timeLimit
+    ) {
+        /**
+         * Strategy selecting always the lightest clause, with no limits.
+         */
+        public Strategy(String name, Supplier<? extends AutomaticCalculus> calculus) {
+            this(name, calculus, 0, 0, null);
+        }
+
+        private AutomaticCalculus createCalculus() {
+            AutomaticCalculus created = calculus.get();
+            created.setAgeWeightRatio(ageWeightRatio);
+            created.setMaxIterations(maxIterations);
+            created.setTimeLimit(timeLimit);
+            created.setMonitored(false);
+            return created;
+        }
+    }
+
+    /**
+     * How a strategy of the portfolio ended.
+     */
+    public record StrategyOutcome(
+            Strategy strategy,
+            RefutationStatus status,
+            Duration elapsed,
+            long iterations,
+            Throwable failure
+    ) {
+    }
+
+    /**
+     * Result of the portfolio: the status of the winning strategy, or {@link RefutationStatus#LIMIT_REACHED}
+     * if no strategy reached a definitive answer, with the outcomes of all the strategies.
+     */
+    public record Result(RefutationStatus status, Strategy winner, List<StrategyOutcome> outcomes) {
+        public boolean isRefuted() {
+            return status == RefutationStatus.PROOF_FOUND;
+        }
+    }
+
+    private final List<Strategy> strategies;
+    private final ThreadFactory threadFactory;
+
+    public PortfolioProver(@NotNull List<Strategy> strategies) {
+        this(strategies, Executors.defaultThreadFactory());
+    }
+
+    /**
+     * Portfolio running each strategy on a thread of {@code threadFactory},
+     * for example a factory of virtual threads when available.
+     */
+    public PortfolioProver(@NotNull List<Strategy> strategies, @NotNull ThreadFactory threadFactory) {
+        if (strategies.isEmpty()) {
+            throw new IllegalArgumentException("Portfolio needs at least one strategy");
+        }
+        this.strategies = List.copyOf(strategies);
+        this.threadFactory = threadFactory;
+    }
+
+    /**
+     * Default portfolio with the three calculi.
+     */
+    public static PortfolioProver withAllCalculi() {
+        return new PortfolioProver(List.of(
+                new Strategy("R", CalculusR::new),
+                new Strategy("Sorted", SortedCalculus::new),
+                new Strategy("S", CalculusS::new)
+        ));
+    }
+
+    /**
+     * Race all the strategies on the clauses and wait for all of them to end.
+     */
+    public Result refute(@NotNull Set<Clause> clauses) {
+        List<AutomaticCalculus> calculi = new ArrayList<>();
+        for (Strategy strategy : strategies) {
+            calculi.add(strategy.createCalculus());
+        }
+
+        AtomicInteger winner = new AtomicInteger(NO_WINNER);
+        ExecutorService executor = Executors.newFixedThreadPool(strategies.size(), threadFactory);
+        try {
+            List<Future<StrategyOutcome>> futures = new ArrayList<>();
+            for (int i = 0; i < strategies.size(); i++) {
+                int index = i;
+                futures.add(executor.submit(() -> run(index, calculi, clauses, winner)));
+            }
+
+            List<StrategyOutcome> outcomes = new ArrayList<>();
+            for (Future<StrategyOutcome> future : futures) {
+                outcomes.add(waitOutcome(future, calculi));
+            }
+
+            int winnerIndex = winner.get();
+            if (winnerIndex == NO_WINNER) {
+                return new Result(RefutationStatus.LIMIT_REACHED, null, outcomes);
+            }
+            return new Result(outcomes.get(winnerIndex).status(), strategies.get(winnerIndex), outcomes);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private StrategyOutcome run(
+            int index,
+            List<AutomaticCalculus> calculi,
+            Set<Clause> clauses,
+            AtomicInteger winner
+    ) {
+        Strategy strategy = strategies.get(index);
+        AutomaticCalculus calculus = calculi.get(index);
+        long start = System.nanoTime();
+
+        RefutationStatus status;
+        Throwable failure = null;
+        try {
+            status = calculus.tryRefute(clauses);
+        } catch (RuntimeException | StackOverflowError e) {
+            status = RefutationStatus.FAILED;
+            failure = e;
+        }
+
+        // The first definitive answer wins and stops the other strategies
+        boolean definitive = status == RefutationStatus.PROOF_FOUND ||
+                status == RefutationStatus.COMPLETION_FOUND && calculus.isCompleteFor(clauses);
+        if (definitive && winner.compareAndSet(NO_WINNER, index)) {
+            for (AutomaticCalculus other : calculi) {
+                if (other != calculus) {
+                    other.cancel();
+                }
+            }
+        }
+
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - start);
+        return new StrategyOutcome(strategy, status, elapsed, calculus.getIterations(), failure);
+    }
+
+    private StrategyOutcome waitOutcome(Future<StrategyOutcome> future, List<AutomaticCalculus> calculi) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            calculi.forEach(AutomaticCalculus::cancel);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for the portfolio", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
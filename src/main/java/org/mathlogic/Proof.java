@@ -0,0 +1,86 @@
+package org.mathlogic;
+
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Term;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Proof of a clause, usually the empty clause, reconstructed by {@link AutomaticCalculus#getProof()} from the
+ * derivations recorded during the refutation. The steps are in topological order, every premise before the steps
+ * that use it, so the first ones are the input clauses and the last one is the proved clause.
+ */
+public record Proof(List<Step> steps) {
+    /**
+     * Rule that derived the clause of a step.
+     */
+    public enum Rule {
+        /**
+         * Input clause, assumption added to the saturation state, or clause of a restored state, whose derivation
+         * is not known.
+         */
+        INPUT,
+        RESOLUTION,
+        RIGHT_FACTORIZATION,
+        LEFT_SUPERPOSITION,
+        RIGHT_SUPERPOSITION,
+        EQUALITY_RESOLUTION,
+        EQUALITY_FACTORIZATION,
+        /**
+         * Replacement of the first premise by Matching Replacement Resolution with the second one.
+         */
+        MATCHING_REPLACEMENT_RESOLUTION;
+
+        static Rule of(InferenceRule rule) {
+            return switch (rule) {
+                case RESOLUTION -> RESOLUTION;
+                case RIGHT_FACTORIZATION -> RIGHT_FACTORIZATION;
+                case LEFT_SUPERPOSITION -> LEFT_SUPERPOSITION;
+                case RIGHT_SUPERPOSITION -> RIGHT_SUPERPOSITION;
+                case EQUALITY_RESOLUTION -> EQUALITY_RESOLUTION;
+                case EQUALITY_FACTORIZATION -> EQUALITY_FACTORIZATION;
+            };
+        }
+    }
+
+    /**
+     * Step of a proof.
+     *
+     * @param id       id of the clause in the store of the refutation, {@code -1} if it has been replaced
+     *                 before being inserted
+     * @param premises indexes of the steps of the premises, in the order the rule takes them
+     * @param unifier  unifier of the inference, on the premises renamed apart, {@code null} if it has not been
+     *                 recorded or the rule is not an inference
+     */
+    public record Step(int id, Clause clause, Rule rule, List<Integer> premises, Map<String, Term> unifier) {
+    }
+
+    /**
+     * The proved clause.
+     */
+    public Clause conclusion() {
+        return steps.get(steps.size() - 1).clause();
+    }
+
+    /**
+     * The steps, one per line, numbered from {@code 1}, with the rule and the numbers of the premises.
+     */
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder();
+        for (int i = 0; i < steps.size(); i++) {
+            Step step = steps.get(i);
+            builder.append(String.format("%d. %s  [%s", i + 1, step.clause(), step.rule().name().toLowerCase()));
+            for (int premise : step.premises()) {
+                builder.append(' ').append(premise + 1);
+            }
+            builder.append(']');
+            if (step.unifier() != null) {
+                builder.append(' ').append(step.unifier());
+            }
+            builder.append(System.lineSeparator());
+        }
+        return builder.toString();
+    }
+}
@@ -0,0 +1,75 @@
+package org.mathlogic;
+
+/**
+ * Management interface of a running refutation, registered in the platform MBean server under
+ * {@code org.mathlogic:type=Prover,name=<calculus>-<n>} while the refutation runs, if enabled
+ * with {@link AutomaticCalculus#setMonitored(boolean)}.
+ * <p>
+ * The sizes and the weight are published by the refuting thread at each given clause iteration,
+ * so they may be one iteration behind.
+ */
+public interface ProverMXBean {
+    /**
+     * Name of the class of the calculus.
+     */
+    String getCalculus();
+
+    long getIterations();
+
+    int getUsableSize();
+
+    int getWorkedSize();
+
+    /**
+     * Number of clauses of the clause store, in {@code Us}, in {@code Wo} or shared with a snapshot.
+     */
+    int getStoreSize();
+
+    /**
+     * Weight of the current given clause, its number of symbols.
+     */
+    int getGivenClauseWeight();
+
+    long getElapsedMillis();
+
+    /**
+     * Number of clauses generated by the inferences, before the forward reductions.
+     */
+    long getInferredClauses();
+
+    double getIterationsPerSecond();
+
+    double getInferredClausesPerSecond();
+
+    /**
+     * Rough estimate of the heap used by the clauses of {@code Us} and {@code Wo}, from their number of symbols.
+     */
+    long getEstimatedStoreBytes();
+
+    long getMaxIterations();
+
+    /**
+     * Change the limit of given clause iterations, {@code 0} for no limit, see {@link AutomaticCalculus#setMaxIterations(long)}.
+     */
+    void setMaxIterations(long maxIterations);
+
+    /**
+     * Limit of the duration of the refutation in milliseconds, {@code 0} for no limit.
+     */
+    long getTimeLimitMillis();
+
+    void setTimeLimitMillis(long timeLimitMillis);
+
+    /**
+     * Cancel the refutation, see {@link AutomaticCalculus#cancel()}.
+     */
+    void cancel();
+
+    /**
+     * Write a checkpoint of the saturation state to a file, readable by {@link AutomaticCalculus#resume(java.nio.file.Path)}.
+     * It is written by the refuting thread at the start of the next given clause iteration without open scopes.
+     * Return whether it has been written within {@code timeoutMillis}; otherwise it is still pending, and it is
+     * dropped if the refutation ends first.
+     */
+    boolean dumpState(String path, long timeoutMillis);
+}
@@ -0,0 +1,247 @@
+package org.mathlogic;
+
+import org.mathlogic.store.ClauseSet;
+import org.mathlogic.store.ClauseStore;
+import org.mathlogic.store.ClauseStoreListener;
+import org.mathlogic.structure.Clause;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.StandardMBean;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ProverMXBean} of a running refutation. The refuting thread publishes the state of the loop
+ * in volatile fields, and keeps the number of symbols of the stored clauses up to date as a listener
+ * of the store, so the attributes are read without touching the clause sets. The weight of a clause is
+ * computed once, when it is inserted, and kept by id until it is deleted.
+ */
+final class ProverMonitor implements ProverMXBean, ClauseStoreListener {
+    /**
+     * Estimated bytes of a symbol of a stored clause: the term, its name and its list of arguments.
+     */
+    static final long BYTES_PER_SYMBOL = 64;
+
+    private static final AtomicLong INSTANCES = new AtomicLong();
+
+    private final AutomaticCalculus calculus;
+    private final ObjectName name;
+    private final long startTime;
+    private final LongAdder inferredClauses = new LongAdder();
+    private volatile int usableSize;
+    private volatile int workedSize;
+    private volatile int storeSize;
+    private volatile int givenClauseWeight;
+    private volatile long storeSymbols;
+
+    /**
+     * Number of symbols of the stored clauses by id, only accessed by the refuting thread.
+     */
+    private int[] weights = new int[64];
+
+    private ProverMonitor(AutomaticCalculus calculus, ObjectName name) {
+        this.calculus = calculus;
+        this.name = name;
+        this.startTime = System.nanoTime();
+    }
+
+    /**
+     * Register the monitor of a refutation that is starting in the platform MBean server.
+     */
+    static ProverMonitor register(AutomaticCalculus calculus) {
+        try {
+            ObjectName name = new ObjectName("org.mathlogic:type=Prover,name="
+                    + calculus.getClass().getSimpleName() + "-" + INSTANCES.incrementAndGet());
+            ProverMonitor monitor = new ProverMonitor(calculus, name);
+            ManagementFactory.getPlatformMBeanServer().registerMBean(
+                    new StandardMBean(monitor, ProverMXBean.class, true), name);
+            return monitor;
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot register the prover MBean", e);
+        }
+    }
+
+    void unregister() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            if (server.isRegistered(name)) {
+                server.unregisterMBean(name);
+            }
+        } catch (JMException e) {
+            throw new IllegalStateException("Cannot unregister the prover MBean", e);
+        }
+    }
+
+    ObjectName getName() {
+        return name;
+    }
+
+    /**
+     * Publish the sizes of the sets, and the number of symbols of their clauses, recomputed from scratch.
+     */
+    void reset(ClauseStore store, ClauseSet usable, ClauseSet worked) {
+        long symbols = 0;
+        for (ClauseSet set : new ClauseSet[]{usable, worked}) {
+            for (Clause clause : set) {
+                symbols += weigh(store.idOf(clause), clause);
+            }
+        }
+        storeSymbols = symbols;
+        publishSizes(usable.size(), worked.size(), store.size());
+    }
+
+    /**
+     * Publish the weight of the given clause, with the given id in the store.
+     */
+    void publishGivenClause(int id) {
+        givenClauseWeight = weightOf(id);
+    }
+
+    void publishSizes(int usableSize, int workedSize, int storeSize) {
+        this.usableSize = usableSize;
+        this.workedSize = workedSize;
+        this.storeSize = storeSize;
+    }
+
+    void countInferredClauses(int count) {
+        inferredClauses.add(count);
+    }
+
+    @Override
+    public void onInsert(int id, Clause clause) {
+        storeSymbols += weigh(id, clause);
+    }
+
+    @Override
+    public void onDelete(int id, Clause clause) {
+        storeSymbols -= weightOf(id);
+    }
+
+    /**
+     * Compute and keep the weight of a stored clause.
+     */
+    private int weigh(int id, Clause clause) {
+        if (id >= weights.length) {
+            weights = Arrays.copyOf(weights, Math.max(weights.length * 2, id + 1));
+        }
+        int weight = clause.collectSymbols().size();
+        weights[id] = weight;
+        return weight;
+    }
+
+    private int weightOf(int id) {
+        return id < weights.length ? weights[id] : 0;
+    }
+
+    @Override
+    public String getCalculus() {
+        return calculus.getClass().getName();
+    }
+
+    @Override
+    public long getIterations() {
+        return calculus.getIterations();
+    }
+
+    @Override
+    public int getUsableSize() {
+        return usableSize;
+    }
+
+    @Override
+    public int getWorkedSize() {
+        return workedSize;
+    }
+
+    @Override
+    public int getStoreSize() {
+        return storeSize;
+    }
+
+    @Override
+    public int getGivenClauseWeight() {
+        return givenClauseWeight;
+    }
+
+    @Override
+    public long getElapsedMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime);
+    }
+
+    @Override
+    public long getInferredClauses() {
+        return inferredClauses.sum();
+    }
+
+    @Override
+    public double getIterationsPerSecond() {
+        return rate(getIterations());
+    }
+
+    @Override
+    public double getInferredClausesPerSecond() {
+        return rate(getInferredClauses());
+    }
+
+    @Override
+    public long getEstimatedStoreBytes() {
+        return Math.max(0, storeSymbols) * BYTES_PER_SYMBOL;
+    }
+
+    @Override
+    public long getMaxIterations() {
+        return calculus.getMaxIterations();
+    }
+
+    @Override
+    public void setMaxIterations(long maxIterations) {
+        calculus.setMaxIterations(maxIterations);
+    }
+
+    @Override
+    public long getTimeLimitMillis() {
+        Duration timeLimit = calculus.getTimeLimit();
+        return timeLimit == null ? 0 : timeLimit.toMillis();
+    }
+
+    @Override
+    public void setTimeLimitMillis(long timeLimitMillis) {
+        if (timeLimitMillis < 0) {
+            throw new IllegalArgumentException("Time limit cannot be negative");
+        }
+        calculus.setTimeLimit(timeLimitMillis == 0 ? null : Duration.ofMillis(timeLimitMillis));
+    }
+
+    @Override
+    public void cancel() {
+        calculus.cancel();
+    }
+
+    @Override
+    public boolean dumpState(String path, long timeoutMillis) {
+        try {
+            return calculus.requestDump(Path.of(path)).get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            return false;
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Cannot write the state to " + path, e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private double rate(long count) {
+        long nanos = System.nanoTime() - startTime;
+        return nanos == 0 ? 0 : count * 1e9 / nanos;
+    }
+}
@@ -0,0 +1,230 @@
+package org.mathlogic;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and phase timers of the refutations of an {@link AutomaticCalculus}, enabled with
+ * {@link AutomaticCalculus#setStatistics(ProverStatistics)}. The counters are {@link LongAdder}s, since the
+ * inferences and the reductions may run on many threads, and they accumulate over the refutations
+ * until {@link #reset()}.
+ * <p>
+ * With an iteration log, one JSON line with the counters so far is written to it at the end of every
+ * given clause iteration.
+ */
+public class ProverStatistics {
+    /**
+     * Phases of a refutation. In a pipelined refutation the forward reductions of each new clause
+     * run together with the inferences, so they are timed as {@link #INFERENCE}.
+     */
+    public enum Phase {
+        /**
+         * Preprocessing, initial reduction or ingestion of the input clauses.
+         */
+        INITIALIZATION,
+        SELECTION,
+        INFERENCE,
+        FORWARD_REDUCTION,
+        /**
+         * Backward reductions and insertion of the new clauses in {@code Us}.
+         */
+        BACKWARD_REDUCTION
+    }
+
+    private final LongAdder givenClauses = new LongAdder();
+    private final LongAdder generatedClauses = new LongAdder();
+    private final LongAdder keptClauses = new LongAdder();
+    private final LongAdder unifications = new LongAdder();
+    private final LongAdder unificationFailures = new LongAdder();
+    private final Map<InferenceRule, LongAdder> attemptedInferences = adders(InferenceRule.class);
+    private final Map<InferenceRule, LongAdder> succeededInferences = adders(InferenceRule.class);
+    private final Map<ReductionRule, LongAdder> reductions = adders(ReductionRule.class);
+    private final Map<Phase, LongAdder> phaseNanos = adders(Phase.class);
+    private final Writer iterationLog;
+
+    public ProverStatistics() {
+        this(null);
+    }
+
+    /**
+     * Statistics that write a JSON line to the given writer at the end of every iteration.
+     * The writer is flushed but not closed.
+     */
+    public ProverStatistics(Writer iterationLog) {
+        this.iterationLog = iterationLog;
+    }
+
+    public long getGivenClauses() {
+        return givenClauses.sum();
+    }
+
+    /**
+     * Number of clauses generated by the inferences, before the forward reductions.
+     */
+    public long getGeneratedClauses() {
+        return generatedClauses.sum();
+    }
+
+    /**
+     * Number of generated clauses that survived the forward reductions and have been added to {@code Us}.
+     */
+    public long getKeptClauses() {
+        return keptClauses.sum();
+    }
+
+    public long getUnifications() {
+        return unifications.sum();
+    }
+
+    public long getUnificationFailures() {
+        return unificationFailures.sum();
+    }
+
+    public long getAttemptedInferences(InferenceRule rule) {
+        return attemptedInferences.get(rule).sum();
+    }
+
+    public long getSucceededInferences(InferenceRule rule) {
+        return succeededInferences.get(rule).sum();
+    }
+
+    /**
+     * Number of clauses deleted, or replaced, by the given reduction rule.
+     */
+    public long getReductions(ReductionRule rule) {
+        return reductions.get(rule).sum();
+    }
+
+    public long getPhaseNanos(Phase phase) {
+        return phaseNanos.get(phase).sum();
+    }
+
+    public void reset() {
+        givenClauses.reset();
+        generatedClauses.reset();
+        keptClauses.reset();
+        unifications.reset();
+        unificationFailures.reset();
+        attemptedInferences.values().forEach(LongAdder::reset);
+        succeededInferences.values().forEach(LongAdder::reset);
+        reductions.values().forEach(LongAdder::reset);
+        phaseNanos.values().forEach(LongAdder::reset);
+    }
+
+    /**
+     * All the counters as a JSON object.
+     */
+    public String toJson() {
+        StringBuilder json = new StringBuilder("{");
+        appendCounters(json);
+        return json.append('}').toString();
+    }
+
+    @Override
+    public String toString() {
+        return toJson();
+    }
+
+    void countGivenClause() {
+        givenClauses.increment();
+    }
+
+    void countGeneratedClauses(int count) {
+        generatedClauses.add(count);
+    }
+
+    void countKeptClauses(int count) {
+        keptClauses.add(count);
+    }
+
+    void countUnification(boolean failed) {
+        unifications.increment();
+        if (failed) {
+            unificationFailures.increment();
+        }
+    }
+
+    void countInference(InferenceRule rule, boolean succeeded) {
+        attemptedInferences.get(rule).increment();
+        if (succeeded) {
+            succeededInferences.get(rule).increment();
+        }
+    }
+
+    void countReductions(ReductionRule rule, int count) {
+        if (count > 0) {
+            reductions.get(rule).add(count);
+        }
+    }
+
+    /**
+     * Add the time elapsed since {@code start} to the phase, and return the current time,
+     * that is the start of the next phase.
+     */
+    long endPhase(Phase phase, long start) {
+        long now = System.nanoTime();
+        phaseNanos.get(phase).add(now - start);
+        return now;
+    }
+
+    /**
+     * Write the line of the given iteration to the iteration log, if any.
+     */
+    void endIteration(long iteration, int usableSize, int workedSize) {
+        if (iterationLog == null) {
+            return;
+        }
+
+        StringBuilder line = new StringBuilder("{\"iteration\": ").append(iteration)
+                .append(", \"usable\": ").append(usableSize)
+                .append(", \"worked\": ").append(workedSize)
+                .append(", ");
+        appendCounters(line);
+        line.append("}\n");
+        try {
+            iterationLog.write(line.toString());
+            iterationLog.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void appendCounters(StringBuilder json) {
+        json.append("\"givenClauses\": ").append(getGivenClauses())
+                .append(", \"generatedClauses\": ").append(getGeneratedClauses())
+                .append(", \"keptClauses\": ").append(getKeptClauses())
+                .append(", \"unifications\": ").append(getUnifications())
+                .append(", \"unificationFailures\": ").append(getUnificationFailures());
+
+        json.append(", \"inferences\": {");
+        for (InferenceRule rule : InferenceRule.values()) {
+            json.append(rule.ordinal() > 0 ? ", " : "").append('"').append(rule).append("\": {")
+                    .append("\"attempted\": ").append(getAttemptedInferences(rule))
+                    .append(", \"succeeded\": ").append(getSucceededInferences(rule))
+                    .append('}');
+        }
+        json.append("}, \"reductions\": {");
+        for (ReductionRule rule : ReductionRule.values()) {
+            json.append(rule.ordinal() > 0 ? ", " : "").append('"').append(rule).append("\": ")
+                    .append(getReductions(rule));
+        }
+        json.append("}, \"phaseNanos\": {");
+        for (Phase phase : Phase.values()) {
+            json.append(phase.ordinal() > 0 ? ", " : "").append('"').append(phase).append("\": ")
+                    .append(getPhaseNanos(phase));
+        }
+        json.append('}');
+    }
+
+    private static <E extends Enum<E>> Map<E, LongAdder> adders(Class<E> type) {
+        Map<E, LongAdder> adders = new EnumMap<>(type);
+        for (E constant : type.getEnumConstants()) {
+            adders.put(constant, new LongAdder());
+        }
+        return adders;
+    }
+}
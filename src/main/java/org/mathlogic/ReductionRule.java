@@ -0,0 +1,19 @@
+package org.mathlogic;
+
+/**
+ * Reduction rules of the calculi, that delete or replace clauses.
+ */
+public enum ReductionRule {
+    /**
+     * <b>Taut:</b> deletion of a tautology.
+     */
+    TAUTOLOGY_DELETION,
+    /**
+     * <b>Sub:</b> deletion of a subsumed clause.
+     */
+    SUBSUMPTION,
+    /**
+     * <b>MRR:</b> replacement of a clause by Matching Replacement Resolution.
+     */
+    MATCHING_REPLACEMENT_RESOLUTION
+}
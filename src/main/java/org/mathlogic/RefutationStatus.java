@@ -0,0 +1,34 @@
+package org.mathlogic;
+
+/**
+ * How a refutation attempt ended.
+ */
+public enum RefutationStatus {
+    /**
+     * The empty clause has been derived, the clauses are unsatisfiable.
+     */
+    PROOF_FOUND,
+    /**
+     * The clauses have been saturated without deriving the empty clause, they are satisfiable.
+     */
+    COMPLETION_FOUND,
+    /**
+     * The refutation exceeded one of its limits before reaching an answer.
+     */
+    LIMIT_REACHED,
+    /**
+     * The refutation has been cancelled before reaching an answer.
+     */
+    CANCELLED,
+    /**
+     * The refutation ended with an unexpected error.
+     */
+    FAILED;
+
+    /**
+     * Whether the status is an answer about the satisfiability of the clauses.
+     */
+    public boolean isDefinitive() {
+        return this == PROOF_FOUND || this == COMPLETION_FOUND;
+    }
+}
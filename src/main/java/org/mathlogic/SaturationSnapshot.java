@@ -0,0 +1,33 @@
+package org.mathlogic;
+
+import org.mathlogic.store.ClauseStore;
+
+/**
+ * Immutable saturation state of an {@link AutomaticCalculus}, its {@code Us} and {@code Wo} sets,
+ * taken by {@link AutomaticCalculus#snapshot()}. It can be restored in constant time by any number of
+ * calculi of the same class, even on different threads, each one continuing the saturation on its own.
+ */
+public final class SaturationSnapshot {
+    private final Class<? extends AutomaticCalculus> calculus;
+    private final ClauseStore.Snapshot store;
+
+    SaturationSnapshot(Class<? extends AutomaticCalculus> calculus, ClauseStore.Snapshot store) {
+        this.calculus = calculus;
+        this.store = store;
+    }
+
+    public Class<? extends AutomaticCalculus> getCalculus() {
+        return calculus;
+    }
+
+    /**
+     * Number of clauses of the saturation state.
+     */
+    public int size() {
+        return store.size();
+    }
+
+    ClauseStore.Snapshot getStore() {
+        return store;
+    }
+}
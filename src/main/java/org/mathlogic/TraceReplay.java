@@ -0,0 +1,115 @@
+package org.mathlogic;
+
+import org.mathlogic.comparator.OrderingCache;
+import org.mathlogic.io.Trace;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashSet;
+import java.util.List;
+
+/**
+ * Replay of a given clause trace, written by a refutation with {@link AutomaticCalculus#setTrace(Path)}, on the
+ * current build: the input clauses of the trace are refuted again by a new calculus of the same class with the
+ * same configuration and execution settings, tracing it, and the two traces are compared step by step, to tell
+ * whether a change of the prover changed its search path or only its speed. The traces of deterministic
+ * refutations, see {@link AutomaticCalculus#setDeterministic(boolean)}, are the only ones expected to follow
+ * the same path.
+ * <p>
+ * Used as a program, the argument is the trace file: it prints the duration of each step of the two traces,
+ * and exits with status {@code 1} if the search paths diverge.
+ */
+public final class TraceReplay {
+    private TraceReplay() {
+    }
+
+    /**
+     * Original and replayed traces.
+     *
+     * @param divergence index of the first step where the search paths differ, {@code -1} if there is none
+     */
+    public record Result(Trace original, Trace replayed, int divergence) {
+        public boolean samePath() {
+            return divergence < 0;
+        }
+    }
+
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.err.println("Usage: TraceReplay <trace>");
+            System.exit(2);
+        }
+
+        Result result = replay(Trace.read(Path.of(args[0])));
+        List<Trace.Step> original = result.original().steps();
+        List<Trace.Step> replayed = result.replayed().steps();
+        System.out.printf("%10s %14s %14s %8s%n", "iteration", "original ms", "replayed ms", "ratio");
+        for (int i = 0; i < Math.min(original.size(), replayed.size()); i++) {
+            long before = original.get(i).nanos(), after = replayed.get(i).nanos();
+            System.out.printf("%10d %14.3f %14.3f %8.2f%s%n", original.get(i).iteration(), before / 1e6, after / 1e6,
+                    before > 0 ? (double) after / before : Double.NaN, i == result.divergence() ? "  DIVERGED" : "");
+        }
+        System.out.printf("total: %.3f ms -> %.3f ms, %d -> %d steps%n", result.original().nanos() / 1e6,
+                result.replayed().nanos() / 1e6, original.size(), replayed.size());
+        if (!result.samePath()) {
+            System.out.println("Search path diverged at step " + result.divergence());
+            System.exit(1);
+        }
+    }
+
+    /**
+     * Replay a trace, and compare it with the trace of the replay. A trace without an answer, cancelled or
+     * stopped by a limit, is replayed up to its number of iterations.
+     * Throw {@link IllegalArgumentException} if the trace continues a saturation state, which it does not contain,
+     * or if its calculus cannot be created.
+     */
+    public static Result replay(@NotNull Trace trace) {
+        if (trace.origin() == Trace.Origin.STATE) {
+            throw new IllegalArgumentException("Trace continues a saturation state, so it cannot be replayed");
+        }
+
+        AutomaticCalculus calculus = newCalculus(trace.calculus());
+        calculus.setDeterministic(trace.deterministic());
+        calculus.setAgeWeightRatio(trace.ageWeightRatio());
+        calculus.setParallelism(trace.parallelism());
+        calculus.setPipelined(trace.pipelined());
+        if (trace.orderingCacheCapacity() > 0) {
+            calculus.setOrderingCache(new OrderingCache(trace.orderingCacheCapacity()));
+        }
+        List<Trace.Step> steps = trace.steps();
+        if (trace.refuted() == null && !steps.isEmpty()) {
+            calculus.setMaxIterations(steps.get(steps.size() - 1).iteration());
+        } else {
+            calculus.setMaxIterations(trace.maxIterations());
+        }
+        calculus.setMonitored(false);
+        try {
+            Path path = Files.createTempFile("replay", ".trace");
+            try {
+                calculus.setTrace(path);
+                if (trace.origin() == Trace.Origin.STREAM) {
+                    calculus.tryRefute(trace.input().stream());
+                } else {
+                    calculus.tryRefute(new LinkedHashSet<>(trace.input()));
+                }
+                Trace replayed = Trace.read(path);
+                return new Result(trace, replayed, trace.firstDivergence(replayed));
+            } finally {
+                Files.deleteIfExists(path);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static AutomaticCalculus newCalculus(String name) {
+        try {
+            return Class.forName(name).asSubclass(AutomaticCalculus.class).getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException e) {
+            throw new IllegalArgumentException("Cannot create the calculus " + name, e);
+        }
+    }
+}
@@ -6,8 +6,21 @@ import javax.validation.constraints.NotNull;
 import java.util.Comparator;
 import java.util.List;
 
+/**
+ * Lexicographic path ordering. It has no state apart from its optional {@link OrderingCache},
+ * which is thread-safe, so the same instance can be shared by concurrent refutations.
+ */
 public class LpoComparator implements Comparator<Term> {
+    /**
+     * Ordering with the default symbol precedence, used by all the calculi. It has no cache of its own,
+     * its comparisons are memoized only on the threads that set a cache with {@link #setThreadCache(OrderingCache)}.
+     */
+    public static final LpoComparator DEFAULT = new LpoComparator();
+
+    private static final ThreadLocal<OrderingCache> THREAD_CACHES = new ThreadLocal<>();
+
     private final Comparator<String> symbolPrecedence;
+    private final OrderingCache cache;
 
     /**
      * Default symbol precedence is alphabetical order.
@@ -20,7 +33,36 @@ public class LpoComparator implements Comparator<Term> {
      * Possibility to declare custom symbol precedence.
      */
     public LpoComparator(Comparator<String> symbolPrecedence) {
+        this(symbolPrecedence, null);
+    }
+
+    /**
+     * Custom symbol precedence, with the comparisons memoized in {@code cache} if not {@code null}.
+     */
+    public LpoComparator(Comparator<String> symbolPrecedence, OrderingCache cache) {
         this.symbolPrecedence = symbolPrecedence;
+        this.cache = cache;
+    }
+
+    public OrderingCache getCache() {
+        return cache;
+    }
+
+    /**
+     * Memoize the comparisons of {@link #DEFAULT} made by the current thread in {@code cache},
+     * or stop memoizing them with {@code null}. Since the precedence of {@link #DEFAULT} is fixed,
+     * the same cache can be shared by the threads of many refutations.
+     */
+    public static void setThreadCache(OrderingCache cache) {
+        if (cache == null) {
+            THREAD_CACHES.remove();
+        } else {
+            THREAD_CACHES.set(cache);
+        }
+    }
+
+    public static OrderingCache getThreadCache() {
+        return THREAD_CACHES.get();
     }
 
     /**
@@ -35,6 +77,24 @@ public class LpoComparator implements Comparator<Term> {
      */
     @Override
     public int compare(@NotNull Term s, @NotNull Term t) {
+        return compare(s, t, this == DEFAULT ? THREAD_CACHES.get() : cache);
+    }
+
+    private int compare(Term s, Term t, OrderingCache cache) {
+        if (cache == null) {
+            return compareUncached(s, t, null);
+        }
+
+        Integer cached = cache.get(s, t);
+        if (cached != null) {
+            return cached;
+        }
+        int result = compareUncached(s, t, cache);
+        cache.put(s, t, result);
+        return result;
+    }
+
+    private int compareUncached(Term s, Term t, OrderingCache cache) {
         if (s.equals(t)) return 0;
         if (s.equals(Term.MINIMAL)) return -1;
         if (t.equals(Term.MINIMAL)) return 1;
@@ -57,7 +117,7 @@ public class LpoComparator implements Comparator<Term> {
         if (symbolPrecedence.compare(f, g) < 0) {
             boolean allLess = true;
             for (Term sArg : sArgs) {
-                if (compare(sArg, t) >= 0) {
+                if (compare(sArg, t, cache) >= 0) {
                     allLess = false;
                     break;
                 }
@@ -82,11 +142,11 @@ public class LpoComparator implements Comparator<Term> {
             }
 
             // We found an index k where sk and tk differ
-            if (compare(sArgs.get(k), tArgs.get(k)) < 0) {
+            if (compare(sArgs.get(k), tArgs.get(k), cache) < 0) {
                 // Let us check that for each j ∈ {k+1, ..., n} we have sj <lpo t
                 boolean allLess = true;
                 for (int j = k + 1; j < sArgs.size(); j++) {
-                    if (compare(sArgs.get(j), t) >= 0) {
+                    if (compare(sArgs.get(j), t, cache) >= 0) {
                         allLess = false;
                         break;
                     }
@@ -101,7 +161,7 @@ public class LpoComparator implements Comparator<Term> {
 
         for (Term tArg : tArgs) {
             // If s ≤lpo ti for some i ∈ {1, ..., n}
-            if (s.equals(tArg) || compare(s, tArg) < 0) return -1;
+            if (s.equals(tArg) || compare(s, tArg, cache) < 0) return -1;
         }
 
         return 1;
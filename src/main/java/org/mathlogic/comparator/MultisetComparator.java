@@ -10,7 +10,7 @@ import java.util.List;
 import java.util.Map;
 
 public class MultisetComparator implements Comparator<Map<Term , Integer>> {
-    private static final Comparator<Term> lpoComparator = new LpoComparator();
+    private static final Comparator<Term> lpoComparator = LpoComparator.DEFAULT;
 
     /**
      * Let define {@code M} and {@code N} two multisets. We say that {@code M > N} iff we can
@@ -0,0 +1,53 @@
+package org.mathlogic.comparator;
+
+import org.mathlogic.structure.Term;
+
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe memo of the comparisons of a term ordering, that can be shared by refutations
+ * running concurrently. To bound the memory, the cache is emptied when it reaches its capacity.
+ */
+public class OrderingCache {
+    private record Comparison(Term s, Term t) {
+    }
+
+    private final Map<Comparison, Integer> results;
+    private final int capacity;
+
+    public OrderingCache(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Cache capacity must be positive");
+        }
+        this.results = new ConcurrentHashMap<>();
+        this.capacity = capacity;
+    }
+
+    /**
+     * Return the cached result of the comparison of {@code s} with {@code t}, or {@code null} if it is not cached.
+     */
+    public Integer get(@NotNull Term s, @NotNull Term t) {
+        return results.get(new Comparison(s, t));
+    }
+
+    public void put(@NotNull Term s, @NotNull Term t, int result) {
+        if (results.size() >= capacity) {
+            results.clear();
+        }
+        results.put(new Comparison(s, t), result);
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int size() {
+        return results.size();
+    }
+
+    public void clear() {
+        results.clear();
+    }
+}
@@ -0,0 +1,56 @@
+package org.mathlogic.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.mathlogic.store.ClauseStore;
+import org.mathlogic.structure.Clause;
+
+/**
+ * Selection of the given clause of an iteration of the given clause loop.
+ */
+@Name("org.mathlogic.GivenClause")
+@Label("Given Clause Selection")
+@Category({"Math Logic", "Saturation"})
+@Description("Selection of the given clause from Us")
+public final class GivenClauseEvent extends jdk.jfr.Event {
+    @Label("Iteration")
+    long iteration;
+
+    @Label("Clause Id")
+    int clauseId;
+
+    @Label("Clause Size")
+    @Description("Number of literals of the given clause")
+    int clauseSize;
+
+    @Label("Usable Size")
+    @Description("Number of clauses of Us before the selection")
+    int usableSize;
+
+    @Label("Oldest")
+    @Description("Whether the oldest clause has been selected instead of the lightest one")
+    boolean oldest;
+
+    public static GivenClauseEvent start() {
+        GivenClauseEvent event = new GivenClauseEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit the event, if it is enabled. The id is looked up in the store only in that case.
+     */
+    public void commit(long iteration, ClauseStore store, Clause given, int usableSize, boolean oldest) {
+        end();
+        if (shouldCommit()) {
+            this.iteration = iteration;
+            this.clauseId = store.idOf(given);
+            this.clauseSize = given.getAllLiterals().size();
+            this.usableSize = usableSize;
+            this.oldest = oldest;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package org.mathlogic.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.mathlogic.store.ClauseStore;
+import org.mathlogic.structure.Clause;
+
+/**
+ * All the inferences between the given clause and itself, or a clause of {@code Wo}.
+ */
+@Name("org.mathlogic.Inference")
+@Label("Inference")
+@Category({"Math Logic", "Saturation"})
+@Description("Inferences between the given clause and itself or a clause of Wo")
+public final class InferenceEvent extends jdk.jfr.Event {
+    @Label("Given Clause Id")
+    int givenId;
+
+    @Label("Partner Clause Id")
+    @Description("Id of the clause of Wo, or the id of the given clause for the inferences with itself")
+    int partnerId;
+
+    @Label("Given Clause Size")
+    int givenSize;
+
+    @Label("Partner Clause Size")
+    int partnerSize;
+
+    @Label("Conclusions")
+    @Description("Number of distinct clauses generated")
+    int conclusions;
+
+    public static InferenceEvent start() {
+        InferenceEvent event = new InferenceEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit the event, if it is enabled. The ids are looked up in the store only in that case.
+     */
+    public void commit(ClauseStore store, Clause given, Clause partner, int conclusions) {
+        end();
+        if (shouldCommit()) {
+            this.givenId = store.idOf(given);
+            this.partnerId = store.idOf(partner);
+            this.givenSize = given.getAllLiterals().size();
+            this.partnerSize = partner.getAllLiterals().size();
+            this.conclusions = conclusions;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package org.mathlogic.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Forward or backward reduction pass of an iteration of the given clause loop.
+ */
+@Name("org.mathlogic.Reduction")
+@Label("Reduction Pass")
+@Category({"Math Logic", "Saturation"})
+@Description("Forward or backward reduction pass on the new clauses of an iteration")
+public final class ReductionEvent extends jdk.jfr.Event {
+    public static final String FORWARD = "forward";
+    public static final String BACKWARD = "backward";
+
+    @Label("Direction")
+    String direction;
+
+    @Label("Iteration")
+    long iteration;
+
+    @Label("New Clauses Before")
+    int newClausesBefore;
+
+    @Label("New Clauses After")
+    int newClausesAfter;
+
+    @Label("Usable Size")
+    @Description("Number of clauses of Us after the pass")
+    int usableSize;
+
+    @Label("Worked Size")
+    @Description("Number of clauses of Wo after the pass")
+    int workedSize;
+
+    public static ReductionEvent start() {
+        ReductionEvent event = new ReductionEvent();
+        event.begin();
+        return event;
+    }
+
+    public void commit(String direction, long iteration, int newClausesBefore, int newClausesAfter,
+                       int usableSize, int workedSize) {
+        end();
+        if (shouldCommit()) {
+            this.direction = direction;
+            this.iteration = iteration;
+            this.newClausesBefore = newClausesBefore;
+            this.newClausesAfter = newClausesAfter;
+            this.usableSize = usableSize;
+            this.workedSize = workedSize;
+            commit();
+        }
+    }
+}
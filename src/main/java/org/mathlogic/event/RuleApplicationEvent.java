@@ -0,0 +1,56 @@
+package org.mathlogic.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import org.mathlogic.InferenceRule;
+import org.mathlogic.structure.Clause;
+
+/**
+ * Attempted application of an inference rule to some premises, that succeeded if it has a conclusion.
+ */
+@Name("org.mathlogic.RuleApplication")
+@Label("Rule Application")
+@Category({"Math Logic", "Inference"})
+@Description("Attempted application of an inference rule")
+public final class RuleApplicationEvent extends jdk.jfr.Event {
+    @Label("Rule")
+    String rule;
+
+    @Label("Premise Size")
+    int premiseSize;
+
+    @Label("Other Premise Size")
+    @Description("Number of literals of the second premise, 0 for the rules with one premise")
+    int otherPremiseSize;
+
+    @Label("Succeeded")
+    boolean succeeded;
+
+    @Label("Conclusion Size")
+    @Description("Number of literals of the conclusion, -1 if the rule could not be applied")
+    int conclusionSize;
+
+    public static RuleApplicationEvent start() {
+        RuleApplicationEvent event = new RuleApplicationEvent();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Commit the event, if it is enabled. The other premise is {@code null} for the rules with one premise,
+     * and the conclusion is {@code null} if the rule could not be applied.
+     */
+    public void commit(InferenceRule rule, Clause premise, Clause otherPremise, Clause conclusion) {
+        end();
+        if (shouldCommit()) {
+            this.rule = rule.name();
+            this.premiseSize = premise.getAllLiterals().size();
+            this.otherPremiseSize = otherPremise == null ? 0 : otherPremise.getAllLiterals().size();
+            this.succeeded = conclusion != null;
+            this.conclusionSize = conclusion == null ? -1 : conclusion.getAllLiterals().size();
+            commit();
+        }
+    }
+}
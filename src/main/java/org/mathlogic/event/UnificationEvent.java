@@ -0,0 +1,40 @@
+package org.mathlogic.event;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Enabled;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Unification of two literals or terms by an inference rule. There are many of them for every
+ * rule application, so it is disabled by default, and it has to be enabled in the recording settings.
+ */
+@Name("org.mathlogic.Unification")
+@Label("Unification")
+@Category({"Math Logic", "Inference"})
+@Description("Unification of two literals or terms")
+@Enabled(false)
+public final class UnificationEvent extends jdk.jfr.Event {
+    @Label("Succeeded")
+    boolean succeeded;
+
+    @Label("Substitution Size")
+    @Description("Number of variables bound by the unifier, -1 if the unification failed")
+    int substitutionSize;
+
+    public static UnificationEvent start() {
+        UnificationEvent event = new UnificationEvent();
+        event.begin();
+        return event;
+    }
+
+    public void commit(boolean succeeded, int substitutionSize) {
+        end();
+        if (shouldCommit()) {
+            this.succeeded = succeeded;
+            this.substitutionSize = substitutionSize;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,7 @@
+package org.mathlogic.exception;
+
+public class CheckpointException extends RuntimeException {
+    public CheckpointException(String operation, Throwable cause) {
+        super(String.format("Checkpoint cannot be %s", operation), cause);
+    }
+}
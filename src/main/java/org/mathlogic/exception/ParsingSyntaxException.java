@@ -0,0 +1,7 @@
+package org.mathlogic.exception;
+
+public class ParsingSyntaxException extends RuntimeException {
+    public ParsingSyntaxException(String expected, int position) {
+        super(String.format("Expected %s at position %d", expected, position));
+    }
+}
@@ -0,0 +1,7 @@
+package org.mathlogic.exception;
+
+public class RefutationCancelledException extends RuntimeException {
+    public RefutationCancelledException() {
+        super("Refutation has been cancelled");
+    }
+}
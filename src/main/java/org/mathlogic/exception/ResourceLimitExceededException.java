@@ -0,0 +1,7 @@
+package org.mathlogic.exception;
+
+public class ResourceLimitExceededException extends RuntimeException {
+    public ResourceLimitExceededException(String limit) {
+        super(String.format("Refutation exceeded the %s limit", limit));
+    }
+}
@@ -0,0 +1,7 @@
+package org.mathlogic.exception;
+
+public class TptpSyntaxException extends RuntimeException {
+    public TptpSyntaxException(String expected, String source, int line, int column) {
+        super(String.format("Expected %s in %s at line %d, column %d", expected, source, line, column));
+    }
+}
@@ -0,0 +1,7 @@
+package org.mathlogic.exception;
+
+public class TraceException extends RuntimeException {
+    public TraceException(String operation, Throwable cause) {
+        super(String.format("Trace cannot be %s", operation), cause);
+    }
+}
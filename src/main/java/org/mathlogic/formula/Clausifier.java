@@ -0,0 +1,491 @@
+package org.mathlogic.formula;
+
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mathlogic.Constant.VARIABLE_IDENTIFIER;
+
+/**
+ * Transform first-order formulas into sets of clauses that are satisfiable if and only if the formulas are.
+ * <p>
+ * The subformulas that would be multiplied by the distribution of disjunctions over conjunctions are first
+ * replaced, when their clause form would have more than {@code renamingThreshold} clauses, by atoms of new
+ * definition predicates: a definition is an implication or an equivalence according to the polarity of the
+ * subformula, so that the number and size of the clauses grow linearly with the size of the formula.
+ * Then the formula is put in negation normal form, the quantifiers are moved inward as far as possible
+ * (miniscoping), the existential variables are replaced by Skolem terms on the universal variables they
+ * depend on, and the disjunctions are distributed over the conjunctions.
+ * <p>
+ * The new predicates and functions are named with {@code symbolPrefix} followed by {@code def} or {@code sk}
+ * and a counter, so a single clausifier must be used for all the formulas of a problem.
+ */
+public class Clausifier {
+    public static final int DEFAULT_RENAMING_THRESHOLD = 4;
+    public static final String DEFAULT_SYMBOL_PREFIX = "$";
+
+    private final int renamingThreshold;
+    private final String symbolPrefix;
+    private int definitionCount;
+    private int skolemCount;
+    private int variableCount;
+
+    public Clausifier() {
+        this(DEFAULT_RENAMING_THRESHOLD, DEFAULT_SYMBOL_PREFIX);
+    }
+
+    public Clausifier(int renamingThreshold, @NotNull String symbolPrefix) {
+        if (renamingThreshold < 1) {
+            throw new IllegalArgumentException("Renaming threshold must be positive");
+        }
+        this.renamingThreshold = renamingThreshold;
+        this.symbolPrefix = symbolPrefix;
+    }
+
+    /**
+     * Clausify a formula, whose free variables are implicitly universally quantified.
+     */
+    public Set<Clause> clausify(@NotNull Formula formula) {
+        List<Formula> definitions = new ArrayList<>();
+        Formula renamed = rename(formula, 1, definitions);
+
+        Set<Clause> clauses = new LinkedHashSet<>();
+        addClauses(renamed, clauses);
+        for (Formula definition : definitions) {
+            addClauses(definition, clauses);
+        }
+        return clauses;
+    }
+
+    public Set<Clause> clausify(@NotNull Collection<Formula> formulas) {
+        Set<Clause> clauses = new LinkedHashSet<>();
+        for (Formula formula : formulas) {
+            clauses.addAll(clausify(formula));
+        }
+        return clauses;
+    }
+
+    private void addClauses(Formula formula, Set<Clause> clauses) {
+        Set<String> used = new HashSet<>(formula.freeVariables());
+        Formula skolemized = skolemize(miniscope(nnf(formula, false, Map.of(), used)));
+        for (Set<Literal> literals : distribute(skolemized)) {
+            clauses.add(new Clause(literals));
+        }
+    }
+
+    /**
+     * Number of clauses of the naive clause form of the formula if {@code polarity} is positive, of its
+     * negation if it is negative, or of both if it is zero. The result saturates at {@link Long#MAX_VALUE}.
+     */
+    static long clauseCount(Formula formula, int polarity) {
+        if (polarity == 0) {
+            return add(clauseCount(formula, 1), clauseCount(formula, -1));
+        }
+        if (formula instanceof Formula.Atom) {
+            return 1;
+        } else if (formula instanceof Formula.Not not) {
+            return clauseCount(not.operand(), -polarity);
+        } else if (formula instanceof Formula.And and) {
+            return polarity > 0 ? sum(and.operands(), polarity) : product(and.operands(), polarity);
+        } else if (formula instanceof Formula.Or or) {
+            return polarity > 0 ? product(or.operands(), polarity) : sum(or.operands(), polarity);
+        } else if (formula instanceof Formula.Implies implies) {
+            return polarity > 0 ?
+                    multiply(clauseCount(implies.antecedent(), -1), clauseCount(implies.consequent(), 1)) :
+                    add(clauseCount(implies.antecedent(), 1), clauseCount(implies.consequent(), -1));
+        } else if (formula instanceof Formula.Iff iff) {
+            return add(
+                    multiply(clauseCount(iff.left(), -polarity), clauseCount(iff.right(), 1)),
+                    multiply(clauseCount(iff.left(), polarity), clauseCount(iff.right(), -1))
+            );
+        } else if (formula instanceof Formula.Forall forall) {
+            return clauseCount(forall.body(), polarity);
+        } else {
+            return clauseCount(((Formula.Exists) formula).body(), polarity);
+        }
+    }
+
+    /**
+     * Replace, bottom-up, the subformulas that would be multiplied in the clause form by definition atoms,
+     * adding their definitions to {@code definitions}. The subformula has the given polarity in the whole formula.
+     */
+    private Formula rename(Formula formula, int polarity, List<Formula> definitions) {
+        if (formula instanceof Formula.Atom) {
+            return formula;
+        } else if (formula instanceof Formula.Not not) {
+            return new Formula.Not(rename(not.operand(), -polarity, definitions));
+        } else if (formula instanceof Formula.Forall forall) {
+            return new Formula.Forall(forall.variables(), rename(forall.body(), polarity, definitions));
+        } else if (formula instanceof Formula.Exists exists) {
+            return new Formula.Exists(exists.variables(), rename(exists.body(), polarity, definitions));
+        }
+
+        List<Formula> operands = operands(formula);
+        int[] polarities = operandPolarities(formula, polarity);
+        for (int i = 0; i < operands.size(); i++) {
+            operands.set(i, rename(operands.get(i), polarities[i], definitions));
+        }
+
+        Formula renamed = withOperands(formula, operands);
+        if (!isMultiplying(formula, polarity)) {
+            return renamed;
+        }
+        // Rename the operand with the largest clause form until the formula is small enough
+        while (clauseCount(renamed, polarity) > renamingThreshold) {
+            int largest = -1;
+            long largestCount = 0;
+            for (int i = 0; i < operands.size(); i++) {
+                long count = clauseCount(operands.get(i), polarities[i]);
+                // Renaming is useless if the operand has as many clauses as its definition atom
+                long atomCount = polarities[i] == 0 ? 2 : 1;
+                if (!isLiteral(operands.get(i)) && count > atomCount && count > largestCount) {
+                    largest = i;
+                    largestCount = count;
+                }
+            }
+            if (largest < 0) {
+                break;
+            }
+            operands.set(largest, define(operands.get(largest), polarities[largest], definitions));
+            renamed = withOperands(formula, operands);
+        }
+        return renamed;
+    }
+
+    private static boolean isLiteral(Formula formula) {
+        return formula instanceof Formula.Atom ||
+                formula instanceof Formula.Not not && not.operand() instanceof Formula.Atom;
+    }
+
+    /**
+     * Return the atom of a new predicate on the free variables of the formula, adding its definition.
+     */
+    private Formula define(Formula formula, int polarity, List<Formula> definitions) {
+        List<Term> arguments = new ArrayList<>();
+        for (String variable : formula.freeVariables()) {
+            arguments.add(new Term(variable));
+        }
+        Formula atom = Formula.atom(new Literal(false, symbolPrefix + "def" + ++definitionCount, arguments));
+        List<String> variables = List.copyOf(formula.freeVariables());
+
+        Formula definition;
+        if (polarity > 0) {
+            definition = Formula.implies(atom, formula);
+        } else if (polarity < 0) {
+            definition = Formula.implies(formula, atom);
+        } else {
+            definition = Formula.iff(atom, formula);
+        }
+        definitions.add(Formula.forall(variables, definition));
+        return atom;
+    }
+
+    /**
+     * Check if the clause form of the formula, with the given polarity, is a product of the ones of its operands.
+     */
+    private static boolean isMultiplying(Formula formula, int polarity) {
+        if (formula instanceof Formula.And) {
+            return polarity <= 0;
+        } else if (formula instanceof Formula.Or || formula instanceof Formula.Implies) {
+            return polarity >= 0;
+        }
+        return formula instanceof Formula.Iff;
+    }
+
+    private static List<Formula> operands(Formula formula) {
+        if (formula instanceof Formula.And and) {
+            return new ArrayList<>(and.operands());
+        } else if (formula instanceof Formula.Or or) {
+            return new ArrayList<>(or.operands());
+        } else if (formula instanceof Formula.Implies implies) {
+            return new ArrayList<>(List.of(implies.antecedent(), implies.consequent()));
+        }
+        Formula.Iff iff = (Formula.Iff) formula;
+        return new ArrayList<>(List.of(iff.left(), iff.right()));
+    }
+
+    private static int[] operandPolarities(Formula formula, int polarity) {
+        if (formula instanceof Formula.And and) {
+            return filled(and.operands().size(), polarity);
+        } else if (formula instanceof Formula.Or or) {
+            return filled(or.operands().size(), polarity);
+        } else if (formula instanceof Formula.Implies) {
+            return new int[]{-polarity, polarity};
+        }
+        return new int[]{0, 0};
+    }
+
+    private static Formula withOperands(Formula formula, List<Formula> operands) {
+        if (formula instanceof Formula.And) {
+            return new Formula.And(operands);
+        } else if (formula instanceof Formula.Or) {
+            return new Formula.Or(operands);
+        } else if (formula instanceof Formula.Implies) {
+            return new Formula.Implies(operands.get(0), operands.get(1));
+        }
+        return new Formula.Iff(operands.get(0), operands.get(1));
+    }
+
+    /**
+     * Negation normal form of the formula, or of its negation if {@code negated}: the result contains only
+     * atoms, conjunctions, disjunctions and quantifiers. Every bound variable keeps its name, unless the name
+     * is in {@code used}, the names of the variables of the formula so far, in which case it is renamed to a new
+     * variable; {@code bound} maps the names of the variables bound so far to their variables.
+     */
+    private Formula nnf(Formula formula, boolean negated, Map<String, Term> bound, Set<String> used) {
+        if (formula instanceof Formula.Atom atom) {
+            Literal literal = atom.literal().applySubstitution(bound);
+            return Formula.atom(negated ? literal.negate() : literal);
+        } else if (formula instanceof Formula.Not not) {
+            return nnf(not.operand(), !negated, bound, used);
+        } else if (formula instanceof Formula.And and) {
+            List<Formula> operands = and.operands().stream()
+                    .map(operand -> nnf(operand, negated, bound, used))
+                    .toList();
+            return negated ? or(operands) : and(operands);
+        } else if (formula instanceof Formula.Or or) {
+            List<Formula> operands = or.operands().stream()
+                    .map(operand -> nnf(operand, negated, bound, used))
+                    .toList();
+            return negated ? and(operands) : or(operands);
+        } else if (formula instanceof Formula.Implies implies) {
+            Formula antecedent = nnf(implies.antecedent(), !negated, bound, used);
+            Formula consequent = nnf(implies.consequent(), negated, bound, used);
+            return negated ? and(List.of(antecedent, consequent)) : or(List.of(antecedent, consequent));
+        } else if (formula instanceof Formula.Iff iff) {
+            // a ↔ b is (¬a ∨ b) ∧ (a ∨ ¬b), and ¬(a ↔ b) is (a ∨ b) ∧ (¬a ∨ ¬b)
+            return and(List.of(
+                    or(List.of(nnf(iff.left(), !negated, bound, used), nnf(iff.right(), false, bound, used))),
+                    or(List.of(nnf(iff.left(), negated, bound, used), nnf(iff.right(), true, bound, used)))
+            ));
+        }
+
+        boolean universal = formula instanceof Formula.Forall != negated;
+        List<String> variables = formula instanceof Formula.Forall forall ?
+                forall.variables() : ((Formula.Exists) formula).variables();
+        Formula body = formula instanceof Formula.Forall forall ? forall.body() : ((Formula.Exists) formula).body();
+
+        Map<String, Term> innerBound = new HashMap<>(bound);
+        List<String> renamed = new ArrayList<>();
+        for (String variable : variables) {
+            String name = variable;
+            while (!used.add(name)) {
+                name = VARIABLE_IDENTIFIER + "v" + ++variableCount;
+            }
+            innerBound.put(variable, new Term(name));
+            renamed.add(name);
+        }
+        Formula result = nnf(body, negated, innerBound, used);
+        return universal ? Formula.forall(renamed, result) : Formula.exists(renamed, result);
+    }
+
+    /**
+     * Move the quantifiers of a formula in negation normal form as far inward as possible,
+     * quantifying each operand of a conjunction or disjunction only if the variable occurs in it.
+     */
+    private static Formula miniscope(Formula formula) {
+        if (formula instanceof Formula.And and) {
+            return and(and.operands().stream().map(Clausifier::miniscope).toList());
+        } else if (formula instanceof Formula.Or or) {
+            return or(or.operands().stream().map(Clausifier::miniscope).toList());
+        } else if (formula instanceof Formula.Forall forall) {
+            Formula body = miniscope(forall.body());
+            for (int i = forall.variables().size() - 1; i >= 0; i--) {
+                body = quantify(forall.variables().get(i), body, true);
+            }
+            return body;
+        } else if (formula instanceof Formula.Exists exists) {
+            Formula body = miniscope(exists.body());
+            for (int i = exists.variables().size() - 1; i >= 0; i--) {
+                body = quantify(exists.variables().get(i), body, false);
+            }
+            return body;
+        }
+        return formula;
+    }
+
+    private static Formula quantify(String variable, Formula formula, boolean universal) {
+        if (!formula.freeVariables().contains(variable)) {
+            return formula;
+        }
+
+        boolean isAnd = formula instanceof Formula.And;
+        if (isAnd || formula instanceof Formula.Or) {
+            List<Formula> operands = isAnd ? ((Formula.And) formula).operands() : ((Formula.Or) formula).operands();
+            if (isAnd == universal) {
+                // ∀ distributes over ∧ and ∃ over ∨
+                List<Formula> quantified = operands.stream().map(operand -> quantify(variable, operand, universal)).toList();
+                return isAnd ? and(quantified) : or(quantified);
+            }
+
+            List<Formula> dependent = new ArrayList<>();
+            List<Formula> independent = new ArrayList<>();
+            for (Formula operand : operands) {
+                (operand.freeVariables().contains(variable) ? dependent : independent).add(operand);
+            }
+            if (!independent.isEmpty()) {
+                Formula inner = quantify(variable, isAnd ? and(dependent) : or(dependent), universal);
+                independent.add(0, inner);
+                return isAnd ? and(independent) : or(independent);
+            }
+        }
+
+        List<String> variables = List.of(variable);
+        return universal ? Formula.forall(variables, formula) : Formula.exists(variables, formula);
+    }
+
+    /**
+     * Remove the quantifiers of a formula in negation normal form with distinct bound variables,
+     * replacing each existential variable by a new function of the other free variables of its scope.
+     */
+    private Formula skolemize(Formula formula) {
+        if (formula instanceof Formula.And and) {
+            return and(and.operands().stream().map(this::skolemize).toList());
+        } else if (formula instanceof Formula.Or or) {
+            return or(or.operands().stream().map(this::skolemize).toList());
+        } else if (formula instanceof Formula.Forall forall) {
+            return skolemize(forall.body());
+        } else if (formula instanceof Formula.Exists exists) {
+            List<Term> arguments = new ArrayList<>();
+            for (String variable : exists.freeVariables()) {
+                arguments.add(new Term(variable));
+            }
+            Map<String, Term> skolemTerms = new HashMap<>();
+            for (String variable : exists.variables()) {
+                skolemTerms.put(variable, new Term(symbolPrefix + "sk" + ++skolemCount, arguments));
+            }
+            return skolemize(substitute(exists.body(), skolemTerms));
+        }
+        return formula;
+    }
+
+    private static Formula substitute(Formula formula, Map<String, Term> substitutions) {
+        if (formula instanceof Formula.Atom atom) {
+            return Formula.atom(atom.literal().applySubstitution(substitutions));
+        } else if (formula instanceof Formula.And and) {
+            return new Formula.And(and.operands().stream().map(operand -> substitute(operand, substitutions)).toList());
+        } else if (formula instanceof Formula.Or or) {
+            return new Formula.Or(or.operands().stream().map(operand -> substitute(operand, substitutions)).toList());
+        } else if (formula instanceof Formula.Forall forall) {
+            return new Formula.Forall(forall.variables(), substitute(forall.body(), substitutions));
+        }
+        Formula.Exists exists = (Formula.Exists) formula;
+        return new Formula.Exists(exists.variables(), substitute(exists.body(), substitutions));
+    }
+
+    /**
+     * Literals of the clauses of a quantifier-free formula in negation normal form, without the tautologies.
+     */
+    private static List<Set<Literal>> distribute(Formula formula) {
+        if (formula instanceof Formula.Atom atom) {
+            return List.of(Set.of(atom.literal()));
+        } else if (formula instanceof Formula.And and) {
+            List<Set<Literal>> clauses = new ArrayList<>();
+            for (Formula operand : and.operands()) {
+                clauses.addAll(distribute(operand));
+            }
+            return clauses;
+        }
+
+        List<Set<Literal>> clauses = List.of(Set.of());
+        for (Formula operand : ((Formula.Or) formula).operands()) {
+            List<Set<Literal>> product = new ArrayList<>();
+            for (Set<Literal> operandClause : distribute(operand)) {
+                for (Set<Literal> clause : clauses) {
+                    Set<Literal> literals = new HashSet<>(clause);
+                    literals.addAll(operandClause);
+                    if (!isTautology(literals)) {
+                        product.add(literals);
+                    }
+                }
+            }
+            clauses = product;
+        }
+        return clauses;
+    }
+
+    private static boolean isTautology(Set<Literal> literals) {
+        for (Literal literal : literals) {
+            if (literal.isNegated() && literals.contains(literal.negate())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Conjunction of the operands, flattening the nested conjunctions and simplifying the constants.
+     */
+    private static Formula and(List<Formula> operands) {
+        List<Formula> flat = new ArrayList<>();
+        for (Formula operand : operands) {
+            if (operand instanceof Formula.And and) {
+                flat.addAll(and.operands());
+            } else if (operand.equals(Formula.FALSE)) {
+                return Formula.FALSE;
+            } else {
+                flat.add(operand);
+            }
+        }
+        return flat.size() == 1 ? flat.get(0) : new Formula.And(flat);
+    }
+
+    /**
+     * Disjunction of the operands, flattening the nested disjunctions and simplifying the constants.
+     */
+    private static Formula or(List<Formula> operands) {
+        List<Formula> flat = new ArrayList<>();
+        for (Formula operand : operands) {
+            if (operand instanceof Formula.Or or) {
+                flat.addAll(or.operands());
+            } else if (operand.equals(Formula.TRUE)) {
+                return Formula.TRUE;
+            } else {
+                flat.add(operand);
+            }
+        }
+        return flat.size() == 1 ? flat.get(0) : new Formula.Or(flat);
+    }
+
+    private static int[] filled(int length, int value) {
+        int[] values = new int[length];
+        Arrays.fill(values, value);
+        return values;
+    }
+
+    private static long add(long a, long b) {
+        long sum = a + b;
+        return sum < 0 ? Long.MAX_VALUE : sum;
+    }
+
+    private static long multiply(long a, long b) {
+        return a != 0 && b > Long.MAX_VALUE / a ? Long.MAX_VALUE : a * b;
+    }
+
+    private static long sum(List<Formula> operands, int polarity) {
+        long sum = 0;
+        for (Formula operand : operands) {
+            sum = add(sum, clauseCount(operand, polarity));
+        }
+        return sum;
+    }
+
+    private static long product(List<Formula> operands, int polarity) {
+        long product = 1;
+        for (Formula operand : operands) {
+            product = multiply(product, clauseCount(operand, polarity));
+        }
+        return product;
+    }
+}
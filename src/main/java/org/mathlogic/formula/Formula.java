@@ -0,0 +1,201 @@
+package org.mathlogic.formula;
+
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+
+import javax.validation.constraints.NotNull;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * First-order formula, built from literals with connectives and quantifiers.
+ * Variables are terms whose name contains {@code ?}, as in clauses, and a quantifier binds them by name.
+ * The constants {@link #TRUE} and {@link #FALSE} are the empty conjunction and the empty disjunction.
+ */
+public sealed interface Formula {
+    Formula TRUE = new And(List.of());
+    Formula FALSE = new Or(List.of());
+
+    /**
+     * Variables occurring in the formula that are not bound by a quantifier, in order of first occurrence.
+     */
+    Set<String> freeVariables();
+
+    /**
+     * Atomic formula, or its negation if the literal is negated.
+     */
+    record Atom(@NotNull Literal literal) implements Formula {
+        @Override
+        public Set<String> freeVariables() {
+            Set<String> variables = new LinkedHashSet<>();
+            for (Term term : literal.getTerms()) {
+                collectVariables(term, variables);
+            }
+            return variables;
+        }
+
+        @Override
+        public String toString() {
+            return literal.toString();
+        }
+
+        private static void collectVariables(Term term, Set<String> variables) {
+            if (term.isVariable()) {
+                variables.add(term.getName());
+            }
+            for (Term argument : term.getArguments()) {
+                collectVariables(argument, variables);
+            }
+        }
+    }
+
+    record Not(@NotNull Formula operand) implements Formula {
+        @Override
+        public Set<String> freeVariables() {
+            return operand.freeVariables();
+        }
+
+        @Override
+        public String toString() {
+            return "¬" + operand;
+        }
+    }
+
+    record And(@NotNull List<Formula> operands) implements Formula {
+        public And {
+            operands = List.copyOf(operands);
+        }
+
+        @Override
+        public Set<String> freeVariables() {
+            return Formula.freeVariables(operands);
+        }
+
+        @Override
+        public String toString() {
+            return operands.isEmpty() ? "⊤" : join(operands, " ∧ ");
+        }
+    }
+
+    record Or(@NotNull List<Formula> operands) implements Formula {
+        public Or {
+            operands = List.copyOf(operands);
+        }
+
+        @Override
+        public Set<String> freeVariables() {
+            return Formula.freeVariables(operands);
+        }
+
+        @Override
+        public String toString() {
+            return operands.isEmpty() ? "⊥" : join(operands, " ∨ ");
+        }
+    }
+
+    record Implies(@NotNull Formula antecedent, @NotNull Formula consequent) implements Formula {
+        @Override
+        public Set<String> freeVariables() {
+            return Formula.freeVariables(List.of(antecedent, consequent));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + antecedent + " → " + consequent + ")";
+        }
+    }
+
+    record Iff(@NotNull Formula left, @NotNull Formula right) implements Formula {
+        @Override
+        public Set<String> freeVariables() {
+            return Formula.freeVariables(List.of(left, right));
+        }
+
+        @Override
+        public String toString() {
+            return "(" + left + " ↔ " + right + ")";
+        }
+    }
+
+    record Forall(@NotNull List<String> variables, @NotNull Formula body) implements Formula {
+        public Forall {
+            variables = List.copyOf(variables);
+        }
+
+        @Override
+        public Set<String> freeVariables() {
+            Set<String> free = body.freeVariables();
+            variables.forEach(free::remove);
+            return free;
+        }
+
+        @Override
+        public String toString() {
+            return "∀" + String.join(", ", variables) + " " + body;
+        }
+    }
+
+    record Exists(@NotNull List<String> variables, @NotNull Formula body) implements Formula {
+        public Exists {
+            variables = List.copyOf(variables);
+        }
+
+        @Override
+        public Set<String> freeVariables() {
+            Set<String> free = body.freeVariables();
+            variables.forEach(free::remove);
+            return free;
+        }
+
+        @Override
+        public String toString() {
+            return "∃" + String.join(", ", variables) + " " + body;
+        }
+    }
+
+    static Formula atom(@NotNull Literal literal) {
+        return new Atom(literal);
+    }
+
+    static Formula not(@NotNull Formula operand) {
+        return new Not(operand);
+    }
+
+    static Formula and(@NotNull Formula... operands) {
+        return new And(List.of(operands));
+    }
+
+    static Formula or(@NotNull Formula... operands) {
+        return new Or(List.of(operands));
+    }
+
+    static Formula implies(@NotNull Formula antecedent, @NotNull Formula consequent) {
+        return new Implies(antecedent, consequent);
+    }
+
+    static Formula iff(@NotNull Formula left, @NotNull Formula right) {
+        return new Iff(left, right);
+    }
+
+    static Formula forall(@NotNull List<String> variables, @NotNull Formula body) {
+        return variables.isEmpty() ? body : new Forall(variables, body);
+    }
+
+    static Formula exists(@NotNull List<String> variables, @NotNull Formula body) {
+        return variables.isEmpty() ? body : new Exists(variables, body);
+    }
+
+    private static Set<String> freeVariables(List<Formula> operands) {
+        Set<String> variables = new LinkedHashSet<>();
+        for (Formula operand : operands) {
+            variables.addAll(operand.freeVariables());
+        }
+        return variables;
+    }
+
+    private static String join(List<Formula> operands, String connective) {
+        return operands.stream().map(Formula::toString).collect(Collectors.joining(connective, "(", ")"));
+    }
+}
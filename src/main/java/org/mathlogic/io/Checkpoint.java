@@ -0,0 +1,132 @@
+package org.mathlogic.io;
+
+import org.mathlogic.exception.CheckpointException;
+import org.mathlogic.store.ClauseStore;
+import org.mathlogic.structure.Clause;
+
+import javax.validation.constraints.NotNull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.List;
+
+import static org.mathlogic.io.ClauseCodec.readVarInt;
+import static org.mathlogic.io.ClauseCodec.writeVarInt;
+
+/**
+ * Saturation state of a running refutation: the clauses of the store with their ids and ages,
+ * the content of its sets and the number of given clause iterations done, which drives the
+ * selection of the given clauses together with the content of {@code Us}.
+ *
+ * @param calculus   name of the class of the calculus
+ * @param iterations number of given clause iterations done
+ * @param store      snapshot of the store of the calculus
+ */
+public record Checkpoint(String calculus, long iterations, ClauseStore.Snapshot store) {
+    private static final int MAGIC = 0x4D4C4350;
+    private static final int VERSION = 1;
+
+    /**
+     * Write the checkpoint on a channel. The ids are written, and not only the order of the clauses,
+     * so that the resumed refutation assigns the same ids, and then makes the same choices, as the
+     * original one.
+     */
+    public void write(@NotNull WritableByteChannel channel) throws IOException {
+        DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Channels.newOutputStream(channel)));
+        output.writeInt(MAGIC);
+        output.writeInt(VERSION);
+        output.writeUTF(calculus);
+        output.writeLong(iterations);
+        writeVarInt(output, store.getCurrentAge());
+        writeVarInt(output, store.capacity());
+
+        writeVarInt(output, store.size());
+        ClauseCodec.Encoder encoder = new ClauseCodec.Encoder(output);
+        for (int id = 0; id < store.capacity(); id++) {
+            Clause clause = store.get(id);
+            if (clause != null) {
+                writeVarInt(output, id);
+                writeVarInt(output, store.getAge(id));
+                encoder.writeClause(clause);
+            }
+        }
+
+        writeVarInt(output, store.setCount());
+        for (int i = 0; i < store.setCount(); i++) {
+            BitSet ids = store.getSet(i);
+            writeVarInt(output, ids.cardinality());
+            // Ids are increasing, so the gaps between them are written
+            int previous = 0;
+            for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+                writeVarInt(output, id - previous);
+                previous = id;
+            }
+        }
+        output.flush();
+    }
+
+    public static Checkpoint read(@NotNull ReadableByteChannel channel) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(Channels.newInputStream(channel)));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a checkpoint");
+        }
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version);
+        }
+        String calculus = input.readUTF();
+        long iterations = input.readLong();
+        int currentAge = readVarInt(input);
+        int capacity = readVarInt(input);
+
+        List<Clause> clauses = new ArrayList<>(capacity);
+        for (int id = 0; id < capacity; id++) {
+            clauses.add(null);
+        }
+        int[] ages = new int[capacity];
+        int size = readVarInt(input);
+        ClauseCodec.Decoder decoder = new ClauseCodec.Decoder(input);
+        for (int i = 0; i < size; i++) {
+            int id = readVarInt(input);
+            ages[id] = readVarInt(input);
+            clauses.set(id, decoder.readClause());
+        }
+
+        int setCount = readVarInt(input);
+        List<BitSet> sets = new ArrayList<>(setCount);
+        for (int i = 0; i < setCount; i++) {
+            BitSet ids = new BitSet(capacity);
+            int setSize = readVarInt(input);
+            int id = 0;
+            for (int j = 0; j < setSize; j++) {
+                id += readVarInt(input);
+                ids.set(id);
+            }
+            sets.add(ids);
+        }
+
+        return new Checkpoint(calculus, iterations, ClauseStore.Snapshot.of(clauses, ages, currentAge, sets));
+    }
+
+    /**
+     * Read the checkpoint written in a file.
+     * Throw {@link CheckpointException} if the file cannot be read or is not a valid checkpoint.
+     */
+    public static Checkpoint read(@NotNull Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return read(channel);
+        } catch (IOException | RuntimeException e) {
+            throw new CheckpointException("read", e);
+        }
+    }
+}
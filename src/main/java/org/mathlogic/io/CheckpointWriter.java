@@ -0,0 +1,94 @@
+package org.mathlogic.io;
+
+import org.mathlogic.exception.CheckpointException;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Write checkpoints to a file on a background thread, so that the refutation does not wait for them.
+ * Each checkpoint is first written to a temporary file and then moved over the previous one, so the
+ * file always contains a complete checkpoint.
+ */
+public class CheckpointWriter implements AutoCloseable {
+    private final Path path;
+    private final Path temporaryPath;
+    private final ExecutorService executor;
+    private Future<?> pending;
+    private volatile Exception failure;
+
+    public CheckpointWriter(@NotNull Path path) {
+        this.path = path;
+        this.temporaryPath = path.resolveSibling(path.getFileName() + ".tmp");
+        this.executor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "checkpoint-writer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Whether the last submitted checkpoint has been written, so that a new one can be submitted.
+     */
+    public boolean isIdle() {
+        return pending == null || pending.isDone();
+    }
+
+    /**
+     * Start writing the checkpoint in background, unless the previous one is still being written.
+     * Return whether it has been submitted.
+     * Throw {@link CheckpointException} if the previous checkpoint could not be written.
+     */
+    public boolean submit(@NotNull Checkpoint checkpoint) {
+        if (failure != null) {
+            throw new CheckpointException("written", failure);
+        }
+        if (!isIdle()) {
+            return false;
+        }
+        pending = executor.submit(() -> write(checkpoint));
+        return true;
+    }
+
+    private void write(Checkpoint checkpoint) {
+        try {
+            try (FileChannel channel = FileChannel.open(temporaryPath, StandardOpenOption.CREATE,
+                    StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+                checkpoint.write(channel);
+                channel.force(true);
+            }
+            Files.move(temporaryPath, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException | RuntimeException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Wait for the last checkpoint to be written and stop the background thread.
+     * Throw {@link CheckpointException} if a checkpoint could not be written.
+     */
+    @Override
+    public void close() {
+        executor.shutdown();
+        try {
+            while (!executor.awaitTermination(1, TimeUnit.MINUTES)) {
+                // Keep waiting for the last checkpoint
+            }
+        } catch (InterruptedException e) {
+            executor.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+        if (failure != null) {
+            throw new CheckpointException("written", failure);
+        }
+    }
+}
@@ -0,0 +1,138 @@
+package org.mathlogic.io;
+
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+
+import javax.validation.constraints.NotNull;
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Compact binary encoding of clauses. Integers are written as variable length quantities, and every
+ * symbol is written in full only the first time it occurs, then it is referred to by its index:
+ * so a stream of clauses must be decoded, in order, by a single {@link Decoder}.
+ */
+public final class ClauseCodec {
+    private ClauseCodec() {
+    }
+
+    public static class Encoder {
+        private final DataOutput output;
+        private final Map<String, Integer> symbols;
+
+        public Encoder(@NotNull DataOutput output) {
+            this.output = output;
+            this.symbols = new HashMap<>();
+        }
+
+        public void writeClause(@NotNull Clause clause) throws IOException {
+            Set<Literal> literals = clause.getAllLiterals();
+            writeVarInt(output, literals.size());
+            for (Literal literal : literals) {
+                output.writeBoolean(literal.isNegated());
+                writeSymbol(literal.getPredicate());
+                writeVarInt(output, literal.getTerms().size());
+                for (Term term : literal.getTerms()) {
+                    writeTerm(term);
+                }
+            }
+        }
+
+        private void writeTerm(Term term) throws IOException {
+            writeSymbol(term.getName());
+            writeVarInt(output, term.getArguments().size());
+            for (Term argument : term.getArguments()) {
+                writeTerm(argument);
+            }
+        }
+
+        private void writeSymbol(String symbol) throws IOException {
+            Integer index = symbols.get(symbol);
+            if (index != null) {
+                writeVarInt(output, index);
+            } else {
+                // A new symbol gets the next index and is followed by its name
+                writeVarInt(output, symbols.size());
+                output.writeUTF(symbol);
+                symbols.put(symbol, symbols.size());
+            }
+        }
+    }
+
+    public static class Decoder {
+        private final DataInput input;
+        private final List<String> symbols;
+
+        public Decoder(@NotNull DataInput input) {
+            this.input = input;
+            this.symbols = new ArrayList<>();
+        }
+
+        public Clause readClause() throws IOException {
+            int literalCount = readVarInt(input);
+            Set<Literal> literals = new HashSet<>();
+            for (int i = 0; i < literalCount; i++) {
+                boolean negated = input.readBoolean();
+                String predicate = readSymbol();
+                int termCount = readVarInt(input);
+                List<Term> terms = new ArrayList<>(termCount);
+                for (int j = 0; j < termCount; j++) {
+                    terms.add(readTerm());
+                }
+                literals.add(new Literal(negated, predicate, terms));
+            }
+            return new Clause(literals);
+        }
+
+        private Term readTerm() throws IOException {
+            String name = readSymbol();
+            int argumentCount = readVarInt(input);
+            List<Term> arguments = new ArrayList<>(argumentCount);
+            for (int i = 0; i < argumentCount; i++) {
+                arguments.add(readTerm());
+            }
+            return new Term(name, arguments);
+        }
+
+        private String readSymbol() throws IOException {
+            int index = readVarInt(input);
+            if (index == symbols.size()) {
+                symbols.add(input.readUTF());
+            } else if (index > symbols.size()) {
+                throw new IOException("Invalid symbol index " + index);
+            }
+            return symbols.get(index);
+        }
+    }
+
+    /**
+     * Write a non-negative integer in groups of 7 bits, the least significant first.
+     */
+    public static void writeVarInt(@NotNull DataOutput output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    public static int readVarInt(@NotNull DataInput input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            byte b = input.readByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer");
+    }
+}
@@ -0,0 +1,309 @@
+package org.mathlogic.io;
+
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Set of clauses stored in a compact binary file, to be loaded many times without parsing.
+ * <p>
+ * The file is a header followed by the symbol table, the terms and the clauses. Every term is stored
+ * once, after its arguments, as its symbol index, its arity and the indexes of its arguments; every
+ * clause is stored as its number of literals and, for each literal, its symbol index with the
+ * negation as lowest bit, its arity and the indexes of its terms. The offsets of terms and clauses
+ * are stored too, so that the file can be memory-mapped and each clause can be built only when it
+ * is accessed, sharing the terms already built.
+ */
+public class ClauseSetFile {
+    private static final int MAGIC = 0x4D4C4353;
+    private static final int VERSION = 1;
+    private static final int HEADER_INTS = 7;
+
+    private final String[] symbols;
+    private final IntBuffer termOffsets;
+    private final IntBuffer termData;
+    private final IntBuffer clauseOffsets;
+    private final IntBuffer clauseData;
+    private final Term[] terms;
+
+    private ClauseSetFile(
+            String[] symbols,
+            IntBuffer termOffsets,
+            IntBuffer termData,
+            IntBuffer clauseOffsets,
+            IntBuffer clauseData
+    ) {
+        this.symbols = symbols;
+        this.termOffsets = termOffsets;
+        this.termData = termData;
+        this.clauseOffsets = clauseOffsets;
+        this.clauseData = clauseData;
+        this.terms = new Term[termOffsets.capacity()];
+    }
+
+    /**
+     * Write the clauses to a file, in their iteration order.
+     */
+    public static void write(@NotNull Path path, @NotNull Collection<Clause> clauses) throws IOException {
+        Encoder encoder = new Encoder();
+        for (Clause clause : clauses) {
+            encoder.addClause(clause);
+        }
+
+        List<byte[]> symbolBytes = new ArrayList<>();
+        int symbolsLength = 0;
+        for (String symbol : encoder.symbols.keySet()) {
+            byte[] bytes = symbol.getBytes(StandardCharsets.UTF_8);
+            symbolBytes.add(bytes);
+            symbolsLength += Integer.BYTES + bytes.length;
+        }
+
+        int length = Integer.BYTES * (HEADER_INTS + encoder.termOffsets.size + encoder.termData.size +
+                encoder.clauseOffsets.size + encoder.clauseData.size) + symbolsLength;
+        ByteBuffer buffer = ByteBuffer.allocate(length);
+        buffer.putInt(MAGIC)
+                .putInt(VERSION)
+                .putInt(symbolBytes.size())
+                .putInt(encoder.termOffsets.size)
+                .putInt(encoder.termData.size)
+                .putInt(encoder.clauseOffsets.size)
+                .putInt(encoder.clauseData.size);
+        for (byte[] bytes : symbolBytes) {
+            buffer.putInt(bytes.length).put(bytes);
+        }
+        encoder.termOffsets.putInto(buffer);
+        encoder.termData.putInto(buffer);
+        encoder.clauseOffsets.putInto(buffer);
+        encoder.clauseData.putInto(buffer);
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    /**
+     * Memory-map a file written by {@link #write(Path, Collection)}. Only the symbols are read,
+     * the clauses are built when accessed.
+     */
+    public static ClauseSetFile open(@NotNull Path path) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+
+        if (buffer.remaining() < Integer.BYTES * HEADER_INTS || buffer.getInt() != MAGIC) {
+            throw new IOException("Not a clause set file");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported clause set file version " + version);
+        }
+        int symbolCount = buffer.getInt();
+        int termCount = buffer.getInt();
+        int termDataLength = buffer.getInt();
+        int clauseCount = buffer.getInt();
+        int clauseDataLength = buffer.getInt();
+
+        try {
+            String[] symbols = new String[symbolCount];
+            for (int i = 0; i < symbolCount; i++) {
+                byte[] bytes = new byte[buffer.getInt()];
+                buffer.get(bytes);
+                symbols[i] = new String(bytes, StandardCharsets.UTF_8);
+            }
+
+            long expected = (long) Integer.BYTES * (termCount + termDataLength + clauseCount + clauseDataLength);
+            if (buffer.remaining() != expected) {
+                throw new IOException("Truncated clause set file");
+            }
+            return new ClauseSetFile(
+                    symbols,
+                    slice(buffer, termCount),
+                    slice(buffer, termDataLength),
+                    slice(buffer, clauseCount),
+                    slice(buffer, clauseDataLength)
+            );
+        } catch (RuntimeException e) {
+            throw new IOException("Malformed clause set file", e);
+        }
+    }
+
+    /**
+     * Number of clauses in the file.
+     */
+    public int size() {
+        return clauseOffsets.capacity();
+    }
+
+    public int symbolCount() {
+        return symbols.length;
+    }
+
+    /**
+     * Build the clause with the given index, in the order in which the clauses have been written.
+     */
+    public Clause get(int index) {
+        int offset = clauseOffsets.get(index);
+        int literalCount = clauseData.get(offset++);
+        Set<Literal> literals = new HashSet<>();
+        for (int i = 0; i < literalCount; i++) {
+            int header = clauseData.get(offset++);
+            int arity = clauseData.get(offset++);
+            Term[] literalTerms = new Term[arity];
+            for (int j = 0; j < arity; j++) {
+                literalTerms[j] = term(clauseData.get(offset++));
+            }
+            literals.add(new Literal((header & 1) == 1, symbols[header >>> 1], Arrays.asList(literalTerms)));
+        }
+        return new Clause(literals);
+    }
+
+    /**
+     * Build all the clauses, in the order in which they have been written.
+     */
+    public Set<Clause> readAll() {
+        Set<Clause> clauses = new LinkedHashSet<>();
+        for (int i = 0; i < size(); i++) {
+            clauses.add(get(i));
+        }
+        return clauses;
+    }
+
+    /**
+     * Return the term with the given index, building it the first time.
+     */
+    private Term term(int index) {
+        Term term = terms[index];
+        if (term == null) {
+            int offset = termOffsets.get(index);
+            String name = symbols[termData.get(offset)];
+            int arity = termData.get(offset + 1);
+            if (arity == 0) {
+                term = new Term(name, List.of());
+            } else {
+                Term[] arguments = new Term[arity];
+                for (int i = 0; i < arity; i++) {
+                    arguments[i] = term(termData.get(offset + 2 + i));
+                }
+                term = new Term(name, Arrays.asList(arguments));
+            }
+            terms[index] = term;
+        }
+        return term;
+    }
+
+    private static IntBuffer slice(ByteBuffer buffer, int ints) {
+        ByteBuffer slice = buffer.slice();
+        slice.limit(ints * Integer.BYTES);
+        buffer.position(buffer.position() + ints * Integer.BYTES);
+        return slice.asIntBuffer();
+    }
+
+    /**
+     * Flat encoding of the clauses, where equal terms are stored once.
+     */
+    private static class Encoder {
+        private final Map<String, Integer> symbols = new LinkedHashMap<>();
+        private final Map<Term, Integer> termIndexes = new HashMap<>();
+        private final Ints termOffsets = new Ints();
+        private final Ints termData = new Ints();
+        private final Ints clauseOffsets = new Ints();
+        private final Ints clauseData = new Ints();
+
+        private void addClause(Clause clause) {
+            Set<Literal> literals = clause.getAllLiterals();
+            // Terms are added before the clause record, which must be contiguous
+            List<int[]> literalTerms = new ArrayList<>();
+            for (Literal literal : literals) {
+                int[] indexes = new int[literal.getTerms().size()];
+                for (int i = 0; i < indexes.length; i++) {
+                    indexes[i] = addTerm(literal.getTerms().get(i));
+                }
+                literalTerms.add(indexes);
+            }
+
+            clauseOffsets.add(clauseData.size);
+            clauseData.add(literals.size());
+            int i = 0;
+            for (Literal literal : literals) {
+                int[] indexes = literalTerms.get(i++);
+                clauseData.add(symbol(literal.getPredicate()) << 1 | (literal.isNegated() ? 1 : 0));
+                clauseData.add(indexes.length);
+                for (int index : indexes) {
+                    clauseData.add(index);
+                }
+            }
+        }
+
+        private int addTerm(Term term) {
+            Integer existing = termIndexes.get(term);
+            if (existing != null) {
+                return existing;
+            }
+
+            List<Term> arguments = term.getArguments();
+            int[] argumentIndexes = new int[arguments.size()];
+            for (int i = 0; i < argumentIndexes.length; i++) {
+                argumentIndexes[i] = addTerm(arguments.get(i));
+            }
+
+            int index = termOffsets.size;
+            termOffsets.add(termData.size);
+            termData.add(symbol(term.getName()));
+            termData.add(argumentIndexes.length);
+            for (int argumentIndex : argumentIndexes) {
+                termData.add(argumentIndex);
+            }
+            termIndexes.put(term, index);
+            return index;
+        }
+
+        private int symbol(String symbol) {
+            return symbols.computeIfAbsent(symbol, s -> symbols.size());
+        }
+    }
+
+    /**
+     * Growable array of ints.
+     */
+    private static class Ints {
+        private int[] values = new int[64];
+        private int size;
+
+        private void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = value;
+        }
+
+        private void putInto(ByteBuffer buffer) {
+            buffer.asIntBuffer().put(values, 0, size);
+            buffer.position(buffer.position() + size * Integer.BYTES);
+        }
+    }
+}
@@ -0,0 +1,665 @@
+package org.mathlogic.io;
+
+import org.mathlogic.exception.TptpSyntaxException;
+import org.mathlogic.formula.Clausifier;
+import org.mathlogic.formula.Formula;
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+
+import javax.validation.constraints.NotNull;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static org.mathlogic.Constant.IDENTITY_SYMBOL;
+import static org.mathlogic.Constant.VARIABLE_IDENTIFIER;
+
+/**
+ * Streaming reader of the clauses of a TPTP problem file. The file is read through a buffered channel
+ * one annotated formula at a time, so its text is never held in memory.
+ * <p>
+ * It reads {@code cnf} formulas, and {@code fof} formulas that are transformed into clauses by a
+ * {@link Clausifier}, after negating the conjectures. The new symbols of the clausifier are prefixed
+ * with the name of the file, so that the ones of different included files do not clash.
+ * TPTP variables {@code X} become {@code ?X}, and {@code =} and {@code !=} become {@link IDENTITY_SYMBOL}
+ * literals. The {@code include} directives are resolved relative to the including file, and then to the
+ * {@code TPTP} environment variable, and the clauses of every included file are kept in an {@link IncludeCache}.
+ */
+public class TptpReader implements AutoCloseable {
+    private static final String TPTP_ENVIRONMENT_VARIABLE = "TPTP";
+    private static final String TRUE = "$true";
+    private static final String FALSE = "$false";
+
+    /**
+     * Clauses of the already read included files, which can be shared by many readers, even on different threads.
+     */
+    public static class IncludeCache {
+        private final Map<Path, List<NamedClause>> files = new ConcurrentHashMap<>();
+
+        /**
+         * Number of files in the cache.
+         */
+        public int size() {
+            return files.size();
+        }
+
+        public void clear() {
+            files.clear();
+        }
+    }
+
+    /**
+     * Clause of the formula with the given name.
+     */
+    private record NamedClause(String name, Clause clause) {
+    }
+
+    private enum TokenType {
+        LOWER_WORD,
+        UPPER_WORD,
+        DOLLAR_WORD,
+        SINGLE_QUOTED,
+        DISTINCT_OBJECT,
+        NUMBER,
+        PUNCTUATION,
+        END
+    }
+
+    private record Token(TokenType type, String text, int line, int column) {
+    }
+
+    private final Path path;
+    private final IncludeCache cache;
+    private final Set<Path> includers;
+    private final Reader reader;
+    private final Deque<NamedClause> pending;
+    private final Map<String, String> symbols;
+    private final Clausifier clausifier;
+
+    private int nextChar;
+    private int line;
+    private int column;
+    private Token token;
+
+    public TptpReader(@NotNull Path path) throws IOException {
+        this(path, new IncludeCache());
+    }
+
+    public TptpReader(@NotNull Path path, @NotNull IncludeCache cache) throws IOException {
+        this(path, cache, Set.of());
+    }
+
+    private TptpReader(Path path, IncludeCache cache, Set<Path> includers) throws IOException {
+        this.path = path.toAbsolutePath().normalize();
+        this.cache = cache;
+        this.includers = includers;
+        this.reader = new BufferedReader(
+                Channels.newReader(FileChannel.open(path, StandardOpenOption.READ), StandardCharsets.UTF_8),
+                1 << 16
+        );
+        this.pending = new ArrayDeque<>();
+        this.symbols = new HashMap<>();
+        this.clausifier = new Clausifier(
+                Clausifier.DEFAULT_RENAMING_THRESHOLD,
+                Clausifier.DEFAULT_SYMBOL_PREFIX + this.path.getFileName() + "_"
+        );
+        this.line = 1;
+        this.column = 0;
+        this.nextChar = readChar();
+        this.token = lex();
+    }
+
+    /**
+     * Read all the clauses of a file.
+     */
+    public static Set<Clause> readAll(@NotNull Path path) throws IOException {
+        try (TptpReader reader = new TptpReader(path); Stream<Clause> clauses = reader.clauses()) {
+            Set<Clause> result = new LinkedHashSet<>();
+            clauses.forEach(result::add);
+            return result;
+        }
+    }
+
+    /**
+     * Return the next clause, or {@code null} if the file has ended.
+     * Throw {@link TptpSyntaxException} if the file is not valid.
+     */
+    public Clause next() throws IOException {
+        NamedClause next = nextNamed();
+        return next != null ? next.clause() : null;
+    }
+
+    /**
+     * Stream of the remaining clauses, read while the stream is consumed.
+     * The {@link IOException} are rethrown as {@link UncheckedIOException}.
+     */
+    public Stream<Clause> clauses() {
+        Iterator<Clause> iterator = new Iterator<>() {
+            private Clause next;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null) {
+                    try {
+                        next = TptpReader.this.next();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public Clause next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Clause clause = next;
+                next = null;
+                return clause;
+            }
+        };
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.NONNULL), false)
+                .onClose(() -> {
+                    try {
+                        close();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private NamedClause nextNamed() throws IOException {
+        while (pending.isEmpty() && token.type() != TokenType.END) {
+            annotatedFormula();
+        }
+        return pending.poll();
+    }
+
+    /**
+     * Read an annotated formula or an include directive, adding its clauses to the pending ones.
+     */
+    private void annotatedFormula() throws IOException {
+        Token start = expect(TokenType.LOWER_WORD, "'cnf', 'fof' or 'include'");
+        expectPunctuation("(");
+        switch (start.text()) {
+            case "include" -> include();
+            case "cnf" -> {
+                String name = formulaName();
+                expectPunctuation(",");
+                word();
+                expectPunctuation(",");
+                addClause(name, cnfFormula());
+                skipAnnotations();
+            }
+            case "fof" -> {
+                String name = formulaName();
+                expectPunctuation(",");
+                String role = word();
+                expectPunctuation(",");
+                Formula formula = fofFormula();
+                if (role.equals("conjecture")) {
+                    formula = Formula.not(formula);
+                }
+                for (Clause clause : clausifier.clausify(formula)) {
+                    pending.add(new NamedClause(name, clause));
+                }
+                skipAnnotations();
+            }
+            default -> throw error("'cnf', 'fof' or 'include'", start);
+        }
+        expectPunctuation(")");
+        expectPunctuation(".");
+    }
+
+    private void include() throws IOException {
+        Token file = expect(TokenType.SINGLE_QUOTED, "a quoted file name");
+        Set<String> selection = null;
+        if (acceptPunctuation(",")) {
+            selection = new HashSet<>();
+            expectPunctuation("[");
+            if (!acceptPunctuation("]")) {
+                do {
+                    selection.add(formulaName());
+                } while (acceptPunctuation(","));
+                expectPunctuation("]");
+            }
+        }
+
+        Path included = resolveInclude(unquote(file.text()), file);
+        for (NamedClause clause : includedClauses(included, file)) {
+            if (selection == null || selection.contains(clause.name())) {
+                pending.add(clause);
+            }
+        }
+    }
+
+    private Path resolveInclude(String file, Token token) {
+        Path relative = path.resolveSibling(file).normalize();
+        if (Files.exists(relative)) {
+            return relative;
+        }
+        String root = System.getenv(TPTP_ENVIRONMENT_VARIABLE);
+        if (root != null && Files.exists(Path.of(root, file))) {
+            return Path.of(root, file).toAbsolutePath().normalize();
+        }
+        throw error("an existing included file", token);
+    }
+
+    private List<NamedClause> includedClauses(Path included, Token token) throws IOException {
+        List<NamedClause> clauses = cache.files.get(included);
+        if (clauses != null) {
+            return clauses;
+        }
+        if (included.equals(path) || includers.contains(included)) {
+            throw error("a file that does not include itself", token);
+        }
+
+        Set<Path> chain = new HashSet<>(includers);
+        chain.add(path);
+        clauses = new ArrayList<>();
+        try (TptpReader includedReader = new TptpReader(included, cache, chain)) {
+            for (NamedClause clause = includedReader.nextNamed(); clause != null; clause = includedReader.nextNamed()) {
+                clauses.add(clause);
+            }
+        }
+        List<NamedClause> existing = cache.files.putIfAbsent(included, List.copyOf(clauses));
+        return existing != null ? existing : clauses;
+    }
+
+    /**
+     * Add the clause with the given literals, unless it contains {@code $true} and then it is a tautology.
+     * The {@code $false} literals are removed.
+     */
+    private void addClause(String name, List<Literal> literals) {
+        Set<Literal> clauseLiterals = new HashSet<>();
+        for (Literal literal : literals) {
+            String predicate = literal.getPredicate();
+            boolean truth = literal.isNegated() != predicate.equals(TRUE);
+            if (predicate.equals(TRUE) || predicate.equals(FALSE)) {
+                if (truth) {
+                    return;
+                }
+            } else {
+                clauseLiterals.add(literal);
+            }
+        }
+        pending.add(new NamedClause(name, new Clause(clauseLiterals)));
+    }
+
+    private List<Literal> cnfFormula() throws IOException {
+        if (acceptPunctuation("(")) {
+            List<Literal> literals = cnfFormula();
+            expectPunctuation(")");
+            return literals;
+        }
+
+        List<Literal> literals = new ArrayList<>();
+        do {
+            literals.add(literal());
+        } while (acceptPunctuation("|"));
+        return literals;
+    }
+
+    /**
+     * Read a {@code fof} formula: a unitary formula, a chain of conjunctions or disjunctions of them,
+     * or a non-associative binary formula.
+     */
+    private Formula fofFormula() throws IOException {
+        Formula left = fofUnitary();
+        if (isPunctuation("&") || isPunctuation("|")) {
+            String connective = token.text();
+            List<Formula> operands = new ArrayList<>(List.of(left));
+            while (acceptPunctuation(connective)) {
+                operands.add(fofUnitary());
+            }
+            return connective.equals("&") ? new Formula.And(operands) : new Formula.Or(operands);
+        }
+
+        if (token.type() != TokenType.PUNCTUATION) {
+            return left;
+        }
+        return switch (token.text()) {
+            case "=>" -> {
+                advance();
+                yield Formula.implies(left, fofUnitary());
+            }
+            case "<=" -> {
+                advance();
+                yield Formula.implies(fofUnitary(), left);
+            }
+            case "<=>" -> {
+                advance();
+                yield Formula.iff(left, fofUnitary());
+            }
+            case "<~>" -> {
+                advance();
+                yield Formula.not(Formula.iff(left, fofUnitary()));
+            }
+            case "~|" -> {
+                advance();
+                yield Formula.not(Formula.or(left, fofUnitary()));
+            }
+            case "~&" -> {
+                advance();
+                yield Formula.not(Formula.and(left, fofUnitary()));
+            }
+            default -> left;
+        };
+    }
+
+    private Formula fofUnitary() throws IOException {
+        if (isPunctuation("!") || isPunctuation("?")) {
+            boolean universal = token.text().equals("!");
+            advance();
+            expectPunctuation("[");
+            List<String> variables = new ArrayList<>();
+            do {
+                variables.add(intern(VARIABLE_IDENTIFIER + expect(TokenType.UPPER_WORD, "a variable").text()));
+            } while (acceptPunctuation(","));
+            expectPunctuation("]");
+            expectPunctuation(":");
+            Formula body = fofUnitary();
+            return universal ? Formula.forall(variables, body) : Formula.exists(variables, body);
+        }
+        if (acceptPunctuation("(")) {
+            Formula formula = fofFormula();
+            expectPunctuation(")");
+            return formula;
+        }
+        if (acceptPunctuation("~")) {
+            return Formula.not(fofUnitary());
+        }
+
+        Literal literal = literal();
+        if (literal.getTerms().isEmpty() && literal.getPredicate().equals(TRUE)) {
+            return Formula.TRUE;
+        }
+        if (literal.getTerms().isEmpty() && literal.getPredicate().equals(FALSE)) {
+            return Formula.FALSE;
+        }
+        return Formula.atom(literal);
+    }
+
+    private Literal literal() throws IOException {
+        if (acceptPunctuation("~")) {
+            return literal().negate();
+        }
+
+        Token start = token;
+        Term left = term();
+        if (acceptPunctuation("=")) {
+            return new Literal(false, IDENTITY_SYMBOL, left, term());
+        }
+        if (acceptPunctuation("!=")) {
+            return new Literal(true, IDENTITY_SYMBOL, left, term());
+        }
+        if (left.isVariable()) {
+            throw error("a predicate", start);
+        }
+        return new Literal(false, left.getName(), left.getArguments());
+    }
+
+    private Term term() throws IOException {
+        Token start = token;
+        switch (start.type()) {
+            case UPPER_WORD -> {
+                advance();
+                return new Term(intern(VARIABLE_IDENTIFIER + start.text()));
+            }
+            case NUMBER, DISTINCT_OBJECT -> {
+                advance();
+                return new Term(intern(start.text()));
+            }
+            case LOWER_WORD, DOLLAR_WORD, SINGLE_QUOTED -> {
+                advance();
+                String name = intern(start.text());
+                if (!acceptPunctuation("(")) {
+                    return new Term(name);
+                }
+                List<Term> arguments = new ArrayList<>();
+                do {
+                    arguments.add(term());
+                } while (acceptPunctuation(","));
+                expectPunctuation(")");
+                return new Term(name, arguments);
+            }
+            default -> throw error("a term", start);
+        }
+    }
+
+    private String formulaName() throws IOException {
+        Token name = token;
+        if (name.type() != TokenType.LOWER_WORD && name.type() != TokenType.UPPER_WORD &&
+                name.type() != TokenType.SINGLE_QUOTED && name.type() != TokenType.NUMBER) {
+            throw error("a formula name", name);
+        }
+        advance();
+        return name.text();
+    }
+
+    private String word() throws IOException {
+        return expect(TokenType.LOWER_WORD, "a formula role").text();
+    }
+
+    /**
+     * Skip the source and useful info of an annotated formula, up to its closing parenthesis.
+     */
+    private void skipAnnotations() throws IOException {
+        if (!acceptPunctuation(",")) {
+            return;
+        }
+        int depth = 0;
+        while (depth > 0 || !isPunctuation(")")) {
+            if (token.type() == TokenType.END) {
+                throw error("')'", token);
+            }
+            if (isPunctuation("(") || isPunctuation("[")) {
+                depth++;
+            } else if (isPunctuation(")") || isPunctuation("]")) {
+                depth--;
+            }
+            advance();
+        }
+    }
+
+    private String intern(String symbol) {
+        String existing = symbols.putIfAbsent(symbol, symbol);
+        return existing != null ? existing : symbol;
+    }
+
+    private static String unquote(String quoted) {
+        return quoted.substring(1, quoted.length() - 1).replace("\\'", "'").replace("\\\\", "\\");
+    }
+
+    private boolean isPunctuation(String text) {
+        return token.type() == TokenType.PUNCTUATION && token.text().equals(text);
+    }
+
+    private boolean acceptPunctuation(String text) throws IOException {
+        if (isPunctuation(text)) {
+            advance();
+            return true;
+        }
+        return false;
+    }
+
+    private void expectPunctuation(String text) throws IOException {
+        if (!acceptPunctuation(text)) {
+            throw error("'" + text + "'", token);
+        }
+    }
+
+    private Token expect(TokenType type, String expected) throws IOException {
+        Token current = token;
+        if (current.type() != type) {
+            throw error(expected, current);
+        }
+        advance();
+        return current;
+    }
+
+    private void advance() throws IOException {
+        token = lex();
+    }
+
+    private TptpSyntaxException error(String expected, Token at) {
+        return new TptpSyntaxException(expected, path.toString(), at.line(), at.column());
+    }
+
+    /**
+     * Read the next token, skipping whitespace and comments.
+     */
+    private Token lex() throws IOException {
+        skipWhitespaceAndComments();
+        int tokenLine = line;
+        int tokenColumn = column;
+        if (nextChar < 0) {
+            return new Token(TokenType.END, "", tokenLine, tokenColumn);
+        }
+
+        char c = (char) nextChar;
+        StringBuilder text = new StringBuilder();
+        TokenType type;
+        if (Character.isLowerCase(c) || Character.isUpperCase(c) || c == '_' || c == '$') {
+            type = c == '$' ? TokenType.DOLLAR_WORD :
+                    Character.isLowerCase(c) ? TokenType.LOWER_WORD : TokenType.UPPER_WORD;
+            do {
+                text.append((char) nextChar);
+                nextChar = readChar();
+            } while (nextChar >= 0 && (Character.isLetterOrDigit(nextChar) || nextChar == '_' || nextChar == '$'));
+        } else if (Character.isDigit(c) || ((c == '+' || c == '-') && Character.isDigit(peekChar()))) {
+            type = TokenType.NUMBER;
+            do {
+                text.append((char) nextChar);
+                nextChar = readChar();
+            } while (nextChar >= 0 && (Character.isLetterOrDigit(nextChar) || nextChar == '.' || nextChar == '/'));
+        } else if (c == '\'' || c == '"') {
+            type = c == '\'' ? TokenType.SINGLE_QUOTED : TokenType.DISTINCT_OBJECT;
+            quoted(c, text);
+        } else {
+            type = TokenType.PUNCTUATION;
+            punctuation(text);
+        }
+        return new Token(type, text.toString(), tokenLine, tokenColumn);
+    }
+
+    private void quoted(char quote, StringBuilder text) throws IOException {
+        text.append(quote);
+        nextChar = readChar();
+        while (nextChar != quote) {
+            if (nextChar < 0) {
+                throw new TptpSyntaxException("a closing quote", path.toString(), line, column);
+            }
+            if (nextChar == '\\') {
+                text.append((char) nextChar);
+                nextChar = readChar();
+            }
+            text.append((char) nextChar);
+            nextChar = readChar();
+        }
+        text.append(quote);
+        nextChar = readChar();
+    }
+
+    private void punctuation(StringBuilder text) throws IOException {
+        char c = (char) nextChar;
+        text.append(c);
+        nextChar = readChar();
+        switch (c) {
+            case '!', '~' -> {
+                if (nextChar == '=' && c == '!' || (nextChar == '|' || nextChar == '&') && c == '~') {
+                    text.append((char) nextChar);
+                    nextChar = readChar();
+                }
+            }
+            case '=' -> {
+                if (nextChar == '>') {
+                    text.append((char) nextChar);
+                    nextChar = readChar();
+                }
+            }
+            case '<' -> {
+                while (nextChar == '=' || nextChar == '~' || nextChar == '>') {
+                    text.append((char) nextChar);
+                    nextChar = readChar();
+                }
+            }
+            default -> {
+            }
+        }
+    }
+
+    private void skipWhitespaceAndComments() throws IOException {
+        while (nextChar >= 0) {
+            if (Character.isWhitespace(nextChar)) {
+                nextChar = readChar();
+            } else if (nextChar == '%') {
+                while (nextChar >= 0 && nextChar != '\n') {
+                    nextChar = readChar();
+                }
+            } else if (nextChar == '/' && peekChar() == '*') {
+                readChar();
+                nextChar = readChar();
+                int previous = 0;
+                while (nextChar >= 0 && !(previous == '*' && nextChar == '/')) {
+                    previous = nextChar;
+                    nextChar = readChar();
+                }
+                nextChar = readChar();
+            } else {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Character after {@link #nextChar}, without consuming it.
+     */
+    private int peekChar() throws IOException {
+        reader.mark(1);
+        int c = reader.read();
+        reader.reset();
+        return c;
+    }
+
+    private int readChar() throws IOException {
+        int c = reader.read();
+        if (c == '\n') {
+            line++;
+            column = 0;
+        } else {
+            column++;
+        }
+        return c;
+    }
+}
@@ -0,0 +1,316 @@
+package org.mathlogic.io;
+
+import org.mathlogic.exception.TraceException;
+import org.mathlogic.structure.Clause;
+
+import javax.validation.constraints.NotNull;
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.mathlogic.io.ClauseCodec.readVarInt;
+
+/**
+ * Given clause trace of a refutation, written by {@link TraceWriter}: the configuration of the calculus and of its
+ * execution, the input clauses and, for each iteration, the given clause with its id, the inferences with the id of
+ * the partner of the given clause and the rule and clause of each conclusion, the clauses deleted and added by each
+ * forward and backward reduction, and the new clauses kept in {@code Us} with their ids.
+ * <p>
+ * The search path of two traces of the same input can be compared step by step with {@link #firstDivergence(Trace)},
+ * while the {@link Step#nanos()} of their steps compare the cost of each iteration.
+ *
+ * @param parallelism           threads of the inferences and reductions
+ * @param pipelined             whether the inferences were pipelined with the forward reductions
+ * @param orderingCacheCapacity capacity of the cache of the term ordering, {@code 0} if there was none
+ * @param origin                where the refutation started from
+ * @param input                 input clauses, in the order they have been passed or consumed
+ * @param refuted               answer of the refutation, {@code null} if it has been cancelled or stopped by a limit
+ * @param nanos                 duration of the refutation, {@code -1} if it has not ended
+ */
+public record Trace(
+        String calculus,
+        boolean deterministic,
+        int ageWeightRatio,
+        long maxIterations,
+        int parallelism,
+        boolean pipelined,
+        int orderingCacheCapacity,
+        Origin origin,
+        List<Clause> input,
+        List<Step> steps,
+        Boolean refuted,
+        long nanos
+) {
+    static final int MAGIC = 0x4D4C5452;
+    static final int VERSION = 2;
+
+    static final int INPUT = 1;
+    static final int STREAMED_INPUT = 2;
+    static final int CONTINUED = 3;
+    static final int GIVEN = 4;
+    static final int INFERENCE = 5;
+    static final int REDUCTION = 6;
+    static final int END = 7;
+    static final int KEPT = 8;
+
+    public enum Origin {
+        /**
+         * Input clauses passed as a set.
+         */
+        SET,
+        /**
+         * Input clauses consumed from a stream or an iterator.
+         */
+        STREAM,
+        /**
+         * Continuation of an existing saturation state, which cannot be replayed from the trace.
+         */
+        STATE
+    }
+
+    /**
+     * Clause with its id in the store, {@code -1} for a new clause that has not been inserted.
+     */
+    public record StoredClause(int id, Clause clause) {
+    }
+
+    /**
+     * Conclusion of an inference, with the name of the {@code InferenceRule} that derived it.
+     */
+    public record Conclusion(String rule, Clause clause) {
+    }
+
+    /**
+     * Inferences between the given clause and a partner, the given clause itself or a clause of {@code Wo},
+     * with their conclusions in the order they have been derived.
+     */
+    public record Inference(int partnerId, List<Conclusion> conclusions) {
+    }
+
+    /**
+     * Application of a reduction, with the name of its {@code ReductionRule}, to the new clauses of an iteration,
+     * if {@code forward}, or to the clauses of {@code Us} and {@code Wo}: the clauses it deleted, with the ids they
+     * had, and the ones it added in place of them.
+     */
+    public record Reduction(String rule, boolean forward, List<StoredClause> deleted, List<Clause> replacements) {
+    }
+
+    /**
+     * Single change of the clauses in a step, which are compared regardless of the order of the changes.
+     */
+    private record Change(int kind, String rule, boolean forward, int id, Clause clause) {
+        private static final int CONCLUSION = 0;
+        private static final int DELETION = 1;
+        private static final int REPLACEMENT = 2;
+        private static final int KEPT = 3;
+    }
+
+    /**
+     * Given clause iteration.
+     *
+     * @param startNanos time elapsed since the start of the refutation when the iteration started
+     * @param nanos      duration of the iteration, {@code -1} if the trace ends during it
+     * @param usableSize size of {@code Us} before the selection of the given clause
+     * @param inferences inferences in the order they have been written, which depends on the threads
+     * @param reductions reductions in the order they have been written, which depends on the threads
+     * @param kept       new clauses added to {@code Us} at the end of the iteration, with their ids
+     */
+    public record Step(
+            long iteration,
+            long startNanos,
+            long nanos,
+            int givenId,
+            Clause given,
+            int usableSize,
+            List<Inference> inferences,
+            List<Reduction> reductions,
+            List<StoredClause> kept
+    ) {
+        /**
+         * Whether the two steps take the same decisions: same given clause, with the same id, same conclusions
+         * of the same rules, same clauses deleted and added by the same reductions, and same clauses kept with
+         * the same ids. The order of the inferences and reductions and the durations are not compared.
+         */
+        public boolean samePath(@NotNull Step other) {
+            return iteration == other.iteration && givenId == other.givenId && given.equals(other.given) &&
+                    usableSize == other.usableSize && changes().equals(other.changes());
+        }
+
+        private Map<Change, Long> changes() {
+            Stream<Change> conclusions = inferences.stream().flatMap(inference -> inference.conclusions().stream()
+                    .map(conclusion -> new Change(Change.CONCLUSION, conclusion.rule(), true,
+                            inference.partnerId(), conclusion.clause())));
+            Stream<Change> reduced = reductions.stream().flatMap(reduction -> Stream.concat(
+                    reduction.deleted().stream().map(deleted -> new Change(Change.DELETION, reduction.rule(),
+                            reduction.forward(), deleted.id(), deleted.clause())),
+                    reduction.replacements().stream().map(replacement -> new Change(Change.REPLACEMENT,
+                            reduction.rule(), reduction.forward(), -1, replacement))));
+            Stream<Change> keptClauses = kept.stream()
+                    .map(clause -> new Change(Change.KEPT, null, false, clause.id(), clause.clause()));
+            return Stream.of(conclusions, reduced, keptClauses)
+                    .flatMap(Function.identity())
+                    .collect(Collectors.groupingBy(Function.identity(), Collectors.counting()));
+        }
+    }
+
+    /**
+     * Index of the first step where the search paths of the two traces differ, or {@code -1} if they are the same
+     * and end with the same answer. If one trace is a prefix of the other, it is the length of the shorter one.
+     */
+    public int firstDivergence(@NotNull Trace other) {
+        int common = Math.min(steps.size(), other.steps.size());
+        for (int i = 0; i < common; i++) {
+            if (!steps.get(i).samePath(other.steps.get(i))) {
+                return i;
+            }
+        }
+        return steps.size() == other.steps.size() && Objects.equals(refuted, other.refuted) ? -1 : common;
+    }
+
+    public static Trace read(@NotNull InputStream stream) throws IOException {
+        DataInputStream input = new DataInputStream(new BufferedInputStream(stream));
+        if (input.readInt() != MAGIC) {
+            throw new IOException("Not a trace");
+        }
+        int version = input.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported trace version " + version);
+        }
+        String calculus = input.readUTF();
+        boolean deterministic = input.readBoolean();
+        int ageWeightRatio = readVarInt(input);
+        long maxIterations = input.readLong();
+        int parallelism = readVarInt(input);
+        boolean pipelined = input.readBoolean();
+        int orderingCacheCapacity = readVarInt(input);
+
+        ClauseCodec.Decoder decoder = new ClauseCodec.Decoder(input);
+        Origin origin = Origin.SET;
+        List<Clause> clauses = new ArrayList<>();
+        List<Step> steps = new ArrayList<>();
+        Boolean refuted = null;
+        long nanos = -1;
+        StepBuilder step = null;
+        for (int tag = nextTag(input); tag >= 0; tag = nextTag(input)) {
+            switch (tag) {
+                case INPUT, STREAMED_INPUT -> {
+                    origin = tag == INPUT ? Origin.SET : Origin.STREAM;
+                    clauses.add(decoder.readClause());
+                }
+                case CONTINUED -> origin = Origin.STATE;
+                case GIVEN -> {
+                    long iteration = input.readLong();
+                    long start = input.readLong();
+                    if (step != null) {
+                        steps.add(step.build(start));
+                    }
+                    step = new StepBuilder(iteration, start, readVarInt(input), decoder.readClause(), readVarInt(input));
+                }
+                case INFERENCE -> {
+                    int partnerId = readVarInt(input);
+                    List<Conclusion> conclusions = new ArrayList<>();
+                    for (int i = readVarInt(input); i > 0; i--) {
+                        conclusions.add(new Conclusion(input.readUTF(), decoder.readClause()));
+                    }
+                    current(step).inferences.add(new Inference(partnerId, List.copyOf(conclusions)));
+                }
+                case REDUCTION -> {
+                    String rule = input.readUTF();
+                    boolean forward = input.readBoolean();
+                    List<StoredClause> deleted = readStoredClauses(input, decoder);
+                    List<Clause> replacements = new ArrayList<>();
+                    for (int i = readVarInt(input); i > 0; i--) {
+                        replacements.add(decoder.readClause());
+                    }
+                    current(step).reductions.add(new Reduction(rule, forward, deleted, List.copyOf(replacements)));
+                }
+                case KEPT -> current(step).kept.addAll(readStoredClauses(input, decoder));
+                case END -> {
+                    nanos = input.readLong();
+                    refuted = input.readBoolean();
+                }
+                default -> throw new IOException("Invalid trace record " + tag);
+            }
+        }
+        if (step != null) {
+            steps.add(step.build(nanos));
+        }
+
+        return new Trace(calculus, deterministic, ageWeightRatio, maxIterations, parallelism, pipelined,
+                orderingCacheCapacity, origin,
+                List.copyOf(clauses), List.copyOf(steps), refuted, nanos);
+    }
+
+    /**
+     * Read the trace written in a file.
+     * Throw {@link TraceException} if the file cannot be read or is not a valid trace.
+     */
+    public static Trace read(@NotNull Path path) {
+        try (InputStream input = Files.newInputStream(path)) {
+            return read(input);
+        } catch (IOException | RuntimeException e) {
+            throw new TraceException("read", e);
+        }
+    }
+
+    /**
+     * Tag of the next record, or {@code -1} at the end of the trace.
+     */
+    private static int nextTag(DataInputStream input) throws IOException {
+        try {
+            return input.readUnsignedByte();
+        } catch (EOFException e) {
+            return -1;
+        }
+    }
+
+    private static List<StoredClause> readStoredClauses(DataInputStream input, ClauseCodec.Decoder decoder)
+            throws IOException {
+        List<StoredClause> clauses = new ArrayList<>();
+        for (int i = readVarInt(input); i > 0; i--) {
+            clauses.add(new StoredClause(readVarInt(input), decoder.readClause()));
+        }
+        return List.copyOf(clauses);
+    }
+
+    private static StepBuilder current(StepBuilder step) throws IOException {
+        if (step == null) {
+            throw new IOException("Trace record outside of an iteration");
+        }
+        return step;
+    }
+
+    private record StepBuilder(
+            long iteration,
+            long start,
+            int givenId,
+            Clause given,
+            int usableSize,
+            List<Inference> inferences,
+            List<Reduction> reductions,
+            List<StoredClause> kept
+    ) {
+        StepBuilder(long iteration, long start, int givenId, Clause given, int usableSize) {
+            this(iteration, start, givenId, given, usableSize, new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
+        }
+
+        /**
+         * The step, ended at the given time, or {@code -1} if unknown.
+         */
+        Step build(long end) {
+            return new Step(iteration, start, end < 0 ? -1 : end - start, givenId, given, usableSize,
+                    List.copyOf(inferences), List.copyOf(reductions), List.copyOf(kept));
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package org.mathlogic.io;
+
+import org.mathlogic.exception.TraceException;
+import org.mathlogic.structure.Clause;
+
+import javax.validation.constraints.NotNull;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.mathlogic.io.ClauseCodec.writeVarInt;
+
+/**
+ * Writer of the {@link Trace} of a refutation. The given clauses and the input clauses are written by the
+ * refuting thread, while the inferences may be written concurrently by the threads generating them,
+ * so every record is written atomically. Every method throws {@link TraceException} if the trace cannot be written.
+ */
+public class TraceWriter implements AutoCloseable {
+    private final DataOutputStream output;
+    private final ClauseCodec.Encoder encoder;
+
+    /**
+     * Create the trace file, overwriting it, and write the configuration of the calculus and of its execution
+     * to replay it.
+     *
+     * @param orderingCacheCapacity capacity of the cache of the term ordering, {@code 0} if there is none
+     */
+    public TraceWriter(
+            @NotNull Path path,
+            @NotNull String calculus,
+            boolean deterministic,
+            int ageWeightRatio,
+            long maxIterations,
+            int parallelism,
+            boolean pipelined,
+            int orderingCacheCapacity
+    ) {
+        try {
+            this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(path)));
+            this.encoder = new ClauseCodec.Encoder(output);
+            output.writeInt(Trace.MAGIC);
+            output.writeInt(Trace.VERSION);
+            output.writeUTF(calculus);
+            output.writeBoolean(deterministic);
+            writeVarInt(output, ageWeightRatio);
+            output.writeLong(maxIterations);
+            writeVarInt(output, parallelism);
+            output.writeBoolean(pipelined);
+            writeVarInt(output, orderingCacheCapacity);
+        } catch (IOException e) {
+            throw new TraceException("written", e);
+        }
+    }
+
+    /**
+     * Write an input clause of the refutation, as passed in a set or consumed from a stream.
+     */
+    public synchronized void writeInput(@NotNull Clause clause, boolean streamed) {
+        try {
+            output.writeByte(streamed ? Trace.STREAMED_INPUT : Trace.INPUT);
+            encoder.writeClause(clause);
+        } catch (IOException e) {
+            throw new TraceException("written", e);
+        }
+    }
+
+    /**
+     * Record that the refutation continues a saturation state instead of starting from input clauses.
+     */
+    public synchronized void writeContinued() {
+        writeTag(Trace.CONTINUED);
+    }
+
+    /**
+     * Write the start of a given clause iteration.
+     *
+     * @param nanos      time elapsed since the start of the refutation
+     * @param givenId    id of the given clause in the store
+     * @param usableSize size of {@code Us} before the selection
+     */
+    public synchronized void writeGiven(long iteration, long nanos, int givenId, @NotNull Clause given, int usableSize) {
+        try {
+            output.writeByte(Trace.GIVEN);
+            output.writeLong(iteration);
+            output.writeLong(nanos);
+            writeVarInt(output, givenId);
+            encoder.writeClause(given);
+            writeVarInt(output, usableSize);
+        } catch (IOException e) {
+            throw new TraceException("written", e);
+        }
+    }
+
+    /**
+     * Write the inferences between the given clause and a partner, the given clause itself or a clause of {@code Wo},
+     * with their conclusions.
+     */
+    public synchronized void writeInference(int partnerId, @NotNull List<Trace.Conclusion> conclusions) {
+        try {
+            output.writeByte(Trace.INFERENCE);
+            writeVarInt(output, partnerId);
+            writeVarInt(output, conclusions.size());
+            for (Trace.Conclusion conclusion : conclusions) {
+                output.writeUTF(conclusion.rule());
+                encoder.writeClause(conclusion.clause());
+            }
+        } catch (IOException e) {
+            throw new TraceException("written", e);
+        }
+    }
+
+    /**
+     * Write an application of a reduction rule in the current iteration, forward on the new clauses or backward
+     * on the clauses of {@code Us} and {@code Wo}, with the clauses it deleted and the ones it added.
+     */
+    public synchronized void writeReduction(
+            @NotNull String rule,
+            boolean forward,
+            @NotNull List<Trace.StoredClause> deleted,
+            @NotNull List<Clause> replacements
+    ) {
+        try {
+            output.writeByte(Trace.REDUCTION);
+            output.writeUTF(rule);
+            output.writeBoolean(forward);
+            writeStoredClauses(deleted);
+            writeVarInt(output, replacements.size());
+            for (Clause replacement : replacements) {
+                encoder.writeClause(replacement);
+            }
+        } catch (IOException e) {
+            throw new TraceException("written", e);
+        }
+    }
+
+    /**
+     * Write the new clauses added to {@code Us} at the end of the current iteration, with their ids.
+     */
+    public synchronized void writeKept(@NotNull List<Trace.StoredClause> kept) {
+        try {
+            output.writeByte(Trace.KEPT);
+            writeStoredClauses(kept);
+        } catch (IOException e) {
+            throw new TraceException("written", e);
+        }
+    }
+
+    /**
+     * Write the answer of the refutation. A trace without it has been cancelled or stopped by a limit.
+     */
+    public synchronized void writeEnd(long nanos, boolean refuted) {
+        try {
+            output.writeByte(Trace.END);
+            output.writeLong(nanos);
+            output.writeBoolean(refuted);
+        } catch (IOException e) {
+            throw new TraceException("written", e);
+        }
+    }
+
+    @Override
+    public synchronized void close() {
+        try {
+            output.close();
+        } catch (IOException e) {
+            throw new TraceException("written", e);
+        }
+    }
+
+    private void writeStoredClauses(List<Trace.StoredClause> clauses) throws IOException {
+        writeVarInt(output, clauses.size());
+        for (Trace.StoredClause clause : clauses) {
+            writeVarInt(output, clause.id());
+            encoder.writeClause(clause.clause());
+        }
+    }
+
+    private void writeTag(int tag) {
+        try {
+            output.writeByte(tag);
+        } catch (IOException e) {
+            throw new TraceException("written", e);
+        }
+    }
+}
@@ -0,0 +1,124 @@
+package org.mathlogic.store;
+
+import org.mathlogic.structure.Clause;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Assumption scopes of the clauses of a store. Every clause has a level, the deepest scope whose
+ * assumptions it may depend on: a clause inserted in the store gets the current level, which can
+ * then be lowered when the clause is known to depend only on outer scopes.
+ * <p>
+ * While a scope is open, the clauses of outer scopes deleted from the store, or discarded before
+ * being inserted, are recorded in the trail of the scope, since they may have been deleted because
+ * of its assumptions: popping the scope retracts all its clauses and returns the trail, so that
+ * the deleted clauses can be restored.
+ */
+public class ClauseScopes implements ClauseStoreListener {
+    /**
+     * Clause deleted while a scope was open, with its level.
+     */
+    public record TrailedClause(Clause clause, int level) {
+    }
+
+    private final ClauseStore store;
+    private final List<List<TrailedClause>> trails;
+    private int[] levels;
+    private int maxId;
+    private int level;
+
+    public ClauseScopes(@NotNull ClauseStore store) {
+        this.store = store;
+        this.trails = new ArrayList<>();
+        this.levels = new int[16];
+        this.maxId = -1;
+        store.addListener(this);
+    }
+
+    /**
+     * Current level, {@code 0} if no scope is open.
+     */
+    public int getLevel() {
+        return level;
+    }
+
+    /**
+     * Level of the clause with the given id, {@code 0} for the clauses inserted before the last {@link #reset()}.
+     */
+    public int levelOf(int id) {
+        return id < levels.length ? levels[id] : 0;
+    }
+
+    /**
+     * Lower the level of the clause with the given id to {@code level}, if it is higher.
+     */
+    public void lower(int id, int level) {
+        if (id >= 0 && levelOf(id) > level) {
+            levels[id] = level;
+        }
+    }
+
+    /**
+     * Record in the trail of the current scope a clause of the given level that has been deleted,
+     * if it belongs to an outer scope.
+     */
+    public void trail(@NotNull Clause clause, int level) {
+        if (level < this.level) {
+            trails.get(this.level - 1).add(new TrailedClause(clause, level));
+        }
+    }
+
+    /**
+     * Open a new scope.
+     */
+    public void push() {
+        level++;
+        trails.add(new ArrayList<>());
+    }
+
+    /**
+     * Close the current scope, deleting from the store all its clauses, and return the clauses of
+     * outer scopes deleted while it was open.
+     */
+    public List<TrailedClause> pop() {
+        if (level == 0) {
+            throw new IllegalStateException("No scope to pop");
+        }
+
+        for (int id = 0; id <= maxId; id++) {
+            if (levels[id] >= level && store.contains(id)) {
+                store.delete(id);
+            }
+        }
+
+        level--;
+        return trails.remove(level);
+    }
+
+    /**
+     * Close all the scopes, without deleting any clause, and move all the clauses to level {@code 0}.
+     */
+    public void reset() {
+        level = 0;
+        trails.clear();
+        levels = new int[16];
+        maxId = -1;
+    }
+
+    @Override
+    public void onInsert(int id, Clause clause) {
+        if (id >= levels.length) {
+            levels = Arrays.copyOf(levels, Math.max(levels.length * 2, id + 1));
+        }
+        levels[id] = level;
+        maxId = Math.max(maxId, id);
+    }
+
+    @Override
+    public void onDelete(int id, Clause clause) {
+        trail(clause, levelOf(id));
+    }
+}
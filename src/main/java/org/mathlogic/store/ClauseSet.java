@@ -0,0 +1,164 @@
+package org.mathlogic.store;
+
+import org.mathlogic.structure.Clause;
+
+import java.util.AbstractSet;
+import java.util.BitSet;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Set of clauses of a {@link ClauseStore}, represented by the ids of its clauses.
+ * Adding a clause inserts it in the store, while removing it deletes it from the store
+ * when no other set of the same store contains it. Iteration follows the order of the ids.
+ */
+public class ClauseSet extends AbstractSet<Clause> {
+    private final ClauseStore store;
+    private BitSet ids;
+    private int size;
+
+    /**
+     * Whether {@link #ids} is shared with a snapshot, and must be copied before being modified.
+     */
+    private boolean shared;
+
+    ClauseSet(ClauseStore store) {
+        this.store = store;
+        this.ids = new BitSet();
+    }
+
+    public ClauseStore getStore() {
+        return store;
+    }
+
+    /**
+     * Return the id of the clause if it belongs to this set, otherwise a negative number.
+     */
+    public int idOf(Clause clause) {
+        int id = store.idOf(clause);
+        return containsId(id) ? id : -1;
+    }
+
+    public boolean containsId(int id) {
+        return id >= 0 && ids.get(id);
+    }
+
+    /**
+     * Add the clause with the given id, that must already be in the store.
+     */
+    public boolean addId(int id) {
+        if (!store.contains(id) || ids.get(id)) {
+            return false;
+        }
+        ensureOwned();
+        ids.set(id);
+        size++;
+        return true;
+    }
+
+    public boolean removeId(int id) {
+        if (!unset(id)) {
+            return false;
+        }
+        store.release(id);
+        return true;
+    }
+
+    /**
+     * Remove the id from the set without releasing the clause from the store.
+     */
+    boolean unset(int id) {
+        if (!containsId(id)) {
+            return false;
+        }
+        ensureOwned();
+        ids.clear(id);
+        size--;
+        return true;
+    }
+
+    /**
+     * Copy of the ids of the set, that can be shared by the sets restored from it.
+     */
+    BitSet snapshotIds() {
+        return (BitSet) ids.clone();
+    }
+
+    /**
+     * Replace the content of the set with the ids of a snapshot, without copying them until
+     * the set is modified. The clauses of the old content are not released.
+     */
+    void share(BitSet snapshotIds, int snapshotSize) {
+        ids = snapshotIds;
+        size = snapshotSize;
+        shared = true;
+    }
+
+    private void ensureOwned() {
+        if (shared) {
+            ids = (BitSet) ids.clone();
+            shared = false;
+        }
+    }
+
+    @Override
+    public boolean add(Clause clause) {
+        return addId(store.insert(clause));
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        return o instanceof Clause clause && removeId(store.idOf(clause));
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return o instanceof Clause clause && containsId(store.idOf(clause));
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public void clear() {
+        for (int id = ids.nextSetBit(0); id >= 0; id = ids.nextSetBit(id + 1)) {
+            removeId(id);
+        }
+    }
+
+    @Override
+    public Iterator<Clause> iterator() {
+        return new Iterator<>() {
+            // The next id is looked up lazily, so that removals during the iteration are tolerated
+            private int cursor = 0;
+            private int last = -1;
+
+            @Override
+            public boolean hasNext() {
+                return ids.nextSetBit(cursor) >= 0;
+            }
+
+            @Override
+            public Clause next() {
+                int next = ids.nextSetBit(cursor);
+                if (next < 0) {
+                    throw new NoSuchElementException();
+                }
+                last = next;
+                cursor = next + 1;
+                return store.get(next);
+            }
+
+            @Override
+            public void remove() {
+                if (last < 0) {
+                    throw new IllegalStateException();
+                }
+                removeId(last);
+                last = -1;
+            }
+        };
+    }
+}
@@ -0,0 +1,385 @@
+package org.mathlogic.store;
+
+import org.mathlogic.structure.Clause;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Owner of all the clauses of a saturation. Every clause inserted in the store receives a stable
+ * integer id, never reused until the store is cleared, and an age, the store generation in which
+ * it has been inserted.
+ * <p>
+ * A clause must never be mutated while it is in the store, otherwise its hash would change and
+ * lookups would fail: an update of a clause is always the deletion of the old clause followed by
+ * the insertion of the new one, so that the registered {@link ClauseStoreListener} can keep their
+ * indexes consistent.
+ * <p>
+ * A store can be restored from an immutable {@link Snapshot} in constant time: the clauses of the
+ * snapshot are shared and never modified, the deletions and insertions are recorded on top of them,
+ * and the sets copy the ids of the snapshot only when they are first modified.
+ */
+public class ClauseStore {
+    private static final int NO_ID = -1;
+
+    /**
+     * Immutable state of a store and of its sets, that can be shared by any number of stores,
+     * even used by different threads.
+     */
+    public static final class Snapshot {
+        private static final Snapshot EMPTY = new Snapshot(List.of(), Map.of(), new int[0], 0, 0, List.of(), new int[0]);
+
+        private final List<Clause> clauses;
+        private final Map<Clause, Integer> ids;
+        private final int[] ages;
+        private final int size;
+        private final int currentAge;
+        private final List<BitSet> sets;
+        private final int[] setSizes;
+
+        private Snapshot(
+                List<Clause> clauses,
+                Map<Clause, Integer> ids,
+                int[] ages,
+                int size,
+                int currentAge,
+                List<BitSet> sets,
+                int[] setSizes
+        ) {
+            this.clauses = clauses;
+            this.ids = ids;
+            this.ages = ages;
+            this.size = size;
+            this.currentAge = currentAge;
+            this.sets = sets;
+            this.setSizes = setSizes;
+        }
+
+        /**
+         * Snapshot with the given clauses indexed by id, {@code null} for the ids of deleted clauses,
+         * their ages, and the ids of the clauses of each set, in order of creation of the sets.
+         */
+        public static Snapshot of(
+                @NotNull List<Clause> clauses,
+                @NotNull int[] ages,
+                int currentAge,
+                @NotNull List<BitSet> sets
+        ) {
+            Map<Clause, Integer> ids = new HashMap<>();
+            for (int id = 0; id < clauses.size(); id++) {
+                if (clauses.get(id) != null) {
+                    ids.put(clauses.get(id), id);
+                }
+            }
+
+            List<BitSet> snapshotSets = new ArrayList<>();
+            int[] setSizes = new int[sets.size()];
+            for (int i = 0; i < sets.size(); i++) {
+                snapshotSets.add((BitSet) sets.get(i).clone());
+                setSizes[i] = sets.get(i).cardinality();
+            }
+
+            return new Snapshot(
+                    Collections.unmodifiableList(new ArrayList<>(clauses)),
+                    Collections.unmodifiableMap(ids),
+                    Arrays.copyOf(ages, clauses.size()),
+                    ids.size(),
+                    currentAge,
+                    List.copyOf(snapshotSets),
+                    setSizes
+            );
+        }
+
+        /**
+         * Number of clauses in the snapshot.
+         */
+        public int size() {
+            return size;
+        }
+
+        /**
+         * Number of ids assigned in the snapshot, including the ones of deleted clauses.
+         */
+        public int capacity() {
+            return clauses.size();
+        }
+
+        /**
+         * Return the clause with the given id, or {@code null} if it has been deleted.
+         */
+        public Clause get(int id) {
+            return clauses.get(id);
+        }
+
+        public int getAge(int id) {
+            return ages[id];
+        }
+
+        public int getCurrentAge() {
+            return currentAge;
+        }
+
+        public int setCount() {
+            return sets.size();
+        }
+
+        /**
+         * Return a copy of the ids of the clauses of the set with the given index.
+         */
+        public BitSet getSet(int index) {
+            return (BitSet) sets.get(index).clone();
+        }
+    }
+
+    /**
+     * Clauses with id lower than {@code base.clauses.size()}, shared with the snapshot
+     * the store has been restored from.
+     */
+    private Snapshot base;
+
+    /**
+     * Ids of the clauses of {@link #base} deleted from the store, {@code null} if there is none.
+     */
+    private BitSet deletedBase;
+
+    /**
+     * Clauses inserted on top of {@link #base}, indexed by their id minus the size of the base,
+     * {@code null} if the clause has been deleted.
+     */
+    private List<Clause> clauses;
+    private Map<Clause, Integer> ids;
+    private int[] ages;
+    private final List<ClauseSet> sets;
+    private final List<ClauseStoreListener> listeners;
+    private int size;
+    private int currentAge;
+
+    public ClauseStore() {
+        this.base = Snapshot.EMPTY;
+        this.clauses = new ArrayList<>();
+        this.ids = new HashMap<>();
+        this.sets = new ArrayList<>();
+        this.listeners = new ArrayList<>();
+        this.ages = new int[16];
+    }
+
+    /**
+     * Create a new empty set of clauses of this store.
+     */
+    public ClauseSet createSet() {
+        ClauseSet set = new ClauseSet(this);
+        sets.add(set);
+        return set;
+    }
+
+    public void addListener(@NotNull ClauseStoreListener listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(@NotNull ClauseStoreListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Insert a clause in the store and return its id. If an equal clause is already
+     * in the store, the id of the existing clause is returned.
+     */
+    public int insert(@NotNull Clause clause) {
+        int existing = idOf(clause);
+        if (existing != NO_ID) {
+            return existing;
+        }
+
+        int index = clauses.size();
+        int id = base.clauses.size() + index;
+        clauses.add(clause);
+        ids.put(clause, id);
+        if (index >= ages.length) {
+            ages = Arrays.copyOf(ages, ages.length * 2);
+        }
+        ages[index] = currentAge;
+        size++;
+
+        for (ClauseStoreListener listener : listeners) {
+            listener.onInsert(id, clause);
+        }
+        return id;
+    }
+
+    /**
+     * Delete the clause with the given id from the store, and from every set containing it.
+     */
+    public void delete(int id) {
+        Clause clause = get(id);
+        if (clause == null) {
+            return;
+        }
+
+        for (ClauseSet set : sets) {
+            set.unset(id);
+        }
+        int baseSize = base.clauses.size();
+        if (id < baseSize) {
+            if (deletedBase == null) {
+                deletedBase = new BitSet(baseSize);
+            }
+            deletedBase.set(id);
+        } else {
+            clauses.set(id - baseSize, null);
+            ids.remove(clause);
+        }
+        size--;
+
+        for (ClauseStoreListener listener : listeners) {
+            listener.onDelete(id, clause);
+        }
+    }
+
+    /**
+     * Delete the clause with the given id if no set of the store contains it anymore.
+     */
+    void release(int id) {
+        for (ClauseSet set : sets) {
+            if (set.containsId(id)) {
+                return;
+            }
+        }
+        delete(id);
+    }
+
+    /**
+     * Delete all the clauses and restart ids and ages from zero.
+     */
+    public void clear() {
+        for (int id = 0; id < base.clauses.size() + clauses.size(); id++) {
+            delete(id);
+        }
+        base = Snapshot.EMPTY;
+        deletedBase = null;
+        clauses.clear();
+        currentAge = 0;
+    }
+
+    /**
+     * Take an immutable snapshot of the clauses of the store and of the content of its sets.
+     * It costs a copy of the store, while restoring it costs constant time.
+     */
+    public Snapshot snapshot() {
+        int capacity = base.clauses.size() + clauses.size();
+        List<Clause> snapshotClauses = new ArrayList<>(capacity);
+        Map<Clause, Integer> snapshotIds = new HashMap<>();
+        int[] snapshotAges = new int[capacity];
+        for (int id = 0; id < capacity; id++) {
+            Clause clause = get(id);
+            snapshotClauses.add(clause);
+            if (clause != null) {
+                snapshotIds.put(clause, id);
+                snapshotAges[id] = getAge(id);
+            }
+        }
+
+        List<BitSet> snapshotSets = new ArrayList<>();
+        int[] snapshotSetSizes = new int[sets.size()];
+        for (int i = 0; i < sets.size(); i++) {
+            snapshotSets.add(sets.get(i).snapshotIds());
+            snapshotSetSizes[i] = sets.get(i).size();
+        }
+
+        return new Snapshot(
+                Collections.unmodifiableList(snapshotClauses),
+                Collections.unmodifiableMap(snapshotIds),
+                snapshotAges,
+                size,
+                currentAge,
+                List.copyOf(snapshotSets),
+                snapshotSetSizes
+        );
+    }
+
+    /**
+     * Replace the content of the store and of its sets with a snapshot, in constant time.
+     * The snapshot must have been taken from a store with the same number of sets, created in the same order.
+     * The listeners are not notified, so the indexes built on top of the store must be rebuilt.
+     */
+    public void restore(@NotNull Snapshot snapshot) {
+        if (snapshot.sets.size() != sets.size()) {
+            throw new IllegalArgumentException("Snapshot has a different number of sets");
+        }
+
+        base = snapshot;
+        deletedBase = null;
+        clauses = new ArrayList<>();
+        ids = new HashMap<>();
+        ages = new int[16];
+        size = snapshot.size;
+        currentAge = snapshot.currentAge;
+        for (int i = 0; i < sets.size(); i++) {
+            sets.get(i).share(snapshot.sets.get(i), snapshot.setSizes[i]);
+        }
+    }
+
+    /**
+     * Return the clause with the given id, or {@code null} if it is not in the store.
+     */
+    public Clause get(int id) {
+        int baseSize = base.clauses.size();
+        if (id < baseSize) {
+            return id < 0 || isDeletedBase(id) ? null : base.clauses.get(id);
+        }
+        int index = id - baseSize;
+        return index < clauses.size() ? clauses.get(index) : null;
+    }
+
+    /**
+     * Return the id of the clause, or a negative number if it is not in the store.
+     */
+    public int idOf(Clause clause) {
+        Integer id = ids.get(clause);
+        if (id != null) {
+            return id;
+        }
+        id = base.ids.get(clause);
+        return id != null && !isDeletedBase(id) ? id : NO_ID;
+    }
+
+    public boolean contains(int id) {
+        return get(id) != null;
+    }
+
+    public int getAge(int id) {
+        int baseSize = base.clauses.size();
+        return id < baseSize ? base.ages[id] : ages[id - baseSize];
+    }
+
+    /**
+     * Age that will be assigned to the next inserted clauses.
+     */
+    public int getCurrentAge() {
+        return currentAge;
+    }
+
+    /**
+     * Start a new generation: all the clauses inserted from now on will be older
+     * than the ones inserted so far.
+     */
+    public void nextAge() {
+        currentAge++;
+    }
+
+    /**
+     * Number of clauses currently in the store.
+     */
+    public int size() {
+        return size;
+    }
+
+    private boolean isDeletedBase(int id) {
+        return deletedBase != null && deletedBase.get(id);
+    }
+}
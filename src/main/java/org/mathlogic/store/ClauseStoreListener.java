@@ -0,0 +1,19 @@
+package org.mathlogic.store;
+
+import org.mathlogic.structure.Clause;
+
+/**
+ * Hook notified by a {@link ClauseStore} every time a clause enters or leaves it,
+ * used to keep the indexes built on top of the store up to date.
+ */
+public interface ClauseStoreListener {
+    /**
+     * Called after {@code clause} has been inserted in the store with the given {@code id}.
+     */
+    void onInsert(int id, Clause clause);
+
+    /**
+     * Called after the clause with the given {@code id} has been deleted from the store.
+     */
+    void onDelete(int id, Clause clause);
+}
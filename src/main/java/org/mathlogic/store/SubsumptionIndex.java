@@ -0,0 +1,122 @@
+package org.mathlogic.store;
+
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.utility.Subsumption;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mathlogic.Constant.NOT_SYMBOL;
+
+/**
+ * Index of the clauses inserted in a {@link ClauseStore} by the predicate, arity and polarity of their literals.
+ * A clause can subsume another one only if every such key of its literals is a key of the other one too,
+ * so the subsumption test is run only on the clauses that share the right keys.
+ * <p>
+ * The index registers itself as a listener of the store, and it indexes only the clauses inserted
+ * from then on, until it is closed. Since the listeners are not notified of
+ * {@link ClauseStore#restore(ClauseStore.Snapshot)}, it must not be open across a restore.
+ */
+public class SubsumptionIndex implements ClauseStoreListener, AutoCloseable {
+    private final ClauseStore store;
+
+    /**
+     * Ids of the indexed clauses with a literal with the given key.
+     */
+    private final Map<String, BitSet> postings;
+
+    public SubsumptionIndex(@NotNull ClauseStore store) {
+        this.store = store;
+        this.postings = new HashMap<>();
+        store.addListener(this);
+    }
+
+    @Override
+    public void onInsert(int id, Clause clause) {
+        for (String key : keys(clause)) {
+            postings.computeIfAbsent(key, k -> new BitSet()).set(id);
+        }
+    }
+
+    @Override
+    public void onDelete(int id, Clause clause) {
+        for (String key : keys(clause)) {
+            BitSet ids = postings.get(key);
+            if (ids != null) {
+                ids.clear(id);
+            }
+        }
+    }
+
+    /**
+     * Return an indexed clause that subsumes the given one, or {@code null} if there is none.
+     */
+    public Clause findSubsuming(@NotNull Clause clause) {
+        Set<String> keys = keys(clause);
+        BitSet candidates = new BitSet();
+        for (String key : keys) {
+            BitSet ids = postings.get(key);
+            if (ids != null) {
+                candidates.or(ids);
+            }
+        }
+
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            Clause candidate = store.get(id);
+            if (keys.containsAll(keys(candidate)) && Subsumption.isSubsumed(candidate, clause)) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Return the indexed clauses, other than the given one, that are subsumed by it.
+     */
+    public List<Clause> findSubsumed(@NotNull Clause clause) {
+        BitSet candidates = null;
+        for (String key : keys(clause)) {
+            BitSet ids = postings.get(key);
+            if (ids == null) {
+                return List.of();
+            }
+            if (candidates == null) {
+                candidates = (BitSet) ids.clone();
+            } else {
+                candidates.and(ids);
+            }
+        }
+        if (candidates == null) {
+            return List.of();
+        }
+
+        List<Clause> subsumed = new ArrayList<>();
+        for (int id = candidates.nextSetBit(0); id >= 0; id = candidates.nextSetBit(id + 1)) {
+            Clause candidate = store.get(id);
+            if (!candidate.equals(clause) && Subsumption.isSubsumed(clause, candidate)) {
+                subsumed.add(candidate);
+            }
+        }
+        return subsumed;
+    }
+
+    @Override
+    public void close() {
+        store.removeListener(this);
+    }
+
+    private static Set<String> keys(Clause clause) {
+        Set<String> keys = new HashSet<>();
+        for (Literal literal : clause.getAllLiterals()) {
+            keys.add((literal.isNegated() ? NOT_SYMBOL : "") + literal.getPredicate() + "/" + literal.getTerms().size());
+        }
+        return keys;
+    }
+}
@@ -1,6 +1,7 @@
 package org.mathlogic.structure;
 
 import org.mathlogic.utility.MaximalLiteral;
+import org.mathlogic.utility.Parser;
 import org.mathlogic.utility.Parsing;
 
 import javax.validation.constraints.NotNull;
@@ -224,50 +225,6 @@ public class Clause implements LogicalStructure<Clause>, Comparable<Clause> {
 
     public static Clause parse(@NotNull String input) {
         Parsing.checkEmptyLogicalStructure(input);
-
-        input = Parsing.removeWhitespace(input);
-
-        String[] parts = input.split(CLAUSE_LITERALS_DIVISOR, 2);
-
-        Set<Literal> literals = new HashSet<>();
-
-        if (!parts[0].isEmpty()) {
-            List<String> negativeLiteralsStr = splitLiterals(parts[0]);
-            for (String litStr : negativeLiteralsStr) {
-                literals.add(Literal.parse(litStr).negate());
-            }
-        }
-
-        if (parts.length > 1 && !parts[1].isEmpty()) {
-            List<String> positiveLiteralsStr = splitLiterals(parts[1]);
-            for (String litStr : positiveLiteralsStr) {
-                literals.add(Literal.parse(litStr));
-            }
-        }
-
-        return new Clause(literals);
-    }
-
-    private static List<String> splitLiterals(String input) {
-        List<String> literals = new ArrayList<>();
-        int depth = 0;
-        StringBuilder currentLiteral = new StringBuilder();
-
-        for (char c : input.toCharArray()) {
-            if (c == ',' && depth == 0) {
-                literals.add(currentLiteral.toString().trim());
-                currentLiteral = new StringBuilder();
-            } else {
-                if (c == '(') depth++;
-                if (c == ')') depth--;
-                currentLiteral.append(c);
-            }
-        }
-
-        if (!currentLiteral.isEmpty()) {
-            literals.add(currentLiteral.toString().trim());
-        }
-
-        return literals;
+        return new Parser().parseClause(input);
     }
 }
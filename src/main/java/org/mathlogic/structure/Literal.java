@@ -1,5 +1,6 @@
 package org.mathlogic.structure;
 
+import org.mathlogic.utility.Parser;
 import org.mathlogic.utility.Parsing;
 
 import javax.validation.constraints.NotNull;
@@ -151,6 +152,7 @@ public class Literal implements LogicalStructure<Literal> {
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) return true;
         if (!(o instanceof Literal other)) return false;
         return Objects.equals(isNegated, other.isNegated) &&
                 Objects.equals(predicate, other.predicate) &&
@@ -170,25 +172,6 @@ public class Literal implements LogicalStructure<Literal> {
 
     public static Literal parse(@NotNull String input) {
         Parsing.checkEmptyLogicalStructure(input);
-
-        input = Parsing.removeWhitespace(input);
-
-        boolean isNegated = input.startsWith(NOT_SYMBOL);
-        if (isNegated) {
-            input = input.substring(1);
-        }
-
-        if (Parsing.dontContainsParentheses(input)) {
-            return new Literal(isNegated, input);
-        }
-
-        int openParen = input.indexOf("(");
-        int closeParen = input.lastIndexOf(")");
-        String predicate = input.substring(0, openParen);
-        String argsString = input.substring(openParen + 1, closeParen);
-
-        List<Term> terms = Term.parseArguments(argsString);
-
-        return new Literal(isNegated, predicate, terms);
+        return new Parser().parseLiteral(input);
     }
 }
@@ -1,5 +1,6 @@
 package org.mathlogic.structure;
 
+import org.mathlogic.utility.Parser;
 import org.mathlogic.utility.Parsing;
 
 import javax.validation.constraints.NotNull;
@@ -28,6 +29,11 @@ public class Term implements LogicalStructure<Term> {
     private final String name;
     private final List<Term> arguments;
 
+    /**
+     * Cached hash code, since terms are never modified and are hashed repeatedly.
+     */
+    private int hash;
+
     public Term(@NotNull String name, @NotNull List<Term> arguments) {
         this.name = name;
         this.arguments = arguments;
@@ -124,14 +130,21 @@ public class Term implements LogicalStructure<Term> {
 
     @Override
     public boolean equals(Object o) {
+        if (this == o) return true;
         if (!(o instanceof Term other)) return false;
-        return Objects.equals(name, other.name) &&
+        return hashCode() == other.hashCode() &&
+                Objects.equals(name, other.name) &&
                 Objects.equals(arguments, other.arguments);
     }
 
     @Override
     public int hashCode() {
-        return Objects.hash(name, arguments);
+        int h = hash;
+        if (h == 0) {
+            h = Objects.hash(name, arguments);
+            hash = h;
+        }
+        return h;
     }
 
     @Override
@@ -143,41 +156,6 @@ public class Term implements LogicalStructure<Term> {
 
     public static Term parse(@NotNull String input) {
         Parsing.checkEmptyLogicalStructure(input);
-
-        input = Parsing.removeWhitespace(input);
-
-        if (Parsing.dontContainsParentheses(input)) {
-            return new Term(input);
-        }
-
-        int openParen = input.indexOf("(");
-        int closeParen = input.lastIndexOf(")");
-        String functionName = input.substring(0, openParen);
-        String argsString = input.substring(openParen + 1, closeParen);
-        List<Term> arguments = parseArguments(argsString);
-
-        return new Term(functionName, arguments);
-    }
-
-    public static List<Term> parseArguments(String argsString) {
-        List<Term> arguments = new ArrayList<>();
-        int depth = 0;
-        StringBuilder currentArg = new StringBuilder();
-        for (char c : argsString.toCharArray()) {
-            if (c == ',' && depth == 0) {
-                arguments.add(parse(currentArg.toString().trim()));
-                currentArg = new StringBuilder();
-            } else {
-                if (c == '(') depth++;
-                if (c == ')') depth--;
-                currentArg.append(c);
-            }
-        }
-
-        if (!currentArg.isEmpty()) {
-            arguments.add(parse(currentArg.toString().trim()));
-        }
-
-        return arguments;
+        return new Parser().parseTerm(input);
     }
 }
\ No newline at end of file
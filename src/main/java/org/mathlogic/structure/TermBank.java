@@ -0,0 +1,105 @@
+package org.mathlogic.structure;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe bank of symbols and terms. Interning a structure returns an equal one built from
+ * the canonical instances of its symbols and terms, so that equal terms of different clauses,
+ * even of different problems, share the same memory and are compared by identity.
+ * A bounded bank is cleared when it reaches its capacity, after which it shares only the structures
+ * interned from then on.
+ */
+public class TermBank {
+    private final Map<String, String> symbols;
+    private final Map<Term, Term> terms;
+    private final int capacity;
+
+    /**
+     * Unbounded bank.
+     */
+    public TermBank() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Bank of at most {@code capacity} symbols and {@code capacity} terms.
+     */
+    public TermBank(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.symbols = new ConcurrentHashMap<>();
+        this.terms = new ConcurrentHashMap<>();
+        this.capacity = capacity;
+    }
+
+    public String intern(@NotNull String symbol) {
+        if (symbols.size() >= capacity) {
+            symbols.clear();
+        }
+        String existing = symbols.putIfAbsent(symbol, symbol);
+        return existing != null ? existing : symbol;
+    }
+
+    public Term intern(@NotNull Term term) {
+        Term existing = terms.get(term);
+        if (existing != null) {
+            return existing;
+        }
+
+        List<Term> arguments = new ArrayList<>();
+        for (Term argument : term.getArguments()) {
+            arguments.add(intern(argument));
+        }
+        Term canonical = new Term(intern(term.getName()), arguments);
+
+        if (terms.size() >= capacity) {
+            terms.clear();
+        }
+        existing = terms.putIfAbsent(canonical, canonical);
+        return existing != null ? existing : canonical;
+    }
+
+    public Literal intern(@NotNull Literal literal) {
+        List<Term> literalTerms = new ArrayList<>();
+        for (Term term : literal.getTerms()) {
+            literalTerms.add(intern(term));
+        }
+        return new Literal(literal.isNegated(), intern(literal.getPredicate()), literalTerms);
+    }
+
+    public Clause intern(@NotNull Clause clause) {
+        Set<Literal> literals = new HashSet<>();
+        for (Literal literal : clause.getAllLiterals()) {
+            literals.add(intern(literal));
+        }
+        return new Clause(literals);
+    }
+
+    public Set<Clause> intern(@NotNull Set<Clause> clauses) {
+        Set<Clause> interned = new HashSet<>();
+        for (Clause clause : clauses) {
+            interned.add(intern(clause));
+        }
+        return interned;
+    }
+
+    public int symbolCount() {
+        return symbols.size();
+    }
+
+    public int termCount() {
+        return terms.size();
+    }
+
+    public void clear() {
+        symbols.clear();
+        terms.clear();
+    }
+}
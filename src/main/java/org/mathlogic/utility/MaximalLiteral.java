@@ -16,7 +16,7 @@ import java.util.Map;
 import java.util.Set;
 
 public class MaximalLiteral {
-    private static final LpoComparator lpoComparator = new LpoComparator();
+    private static final LpoComparator lpoComparator = LpoComparator.DEFAULT;
     private static final Comparator<Map<Term , Integer>> multisetComparator = new MultisetComparator();
 
     /**
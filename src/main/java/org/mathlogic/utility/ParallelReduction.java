@@ -0,0 +1,184 @@
+package org.mathlogic.utility;
+
+import org.mathlogic.structure.Clause;
+
+import javax.validation.constraints.NotNull;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Parallel version of the reductions of {@link Reduction}, producing exactly the same result.
+ * Every reduction is split in two phases: a read-only phase, where the targets are partitioned
+ * across the threads of the pool and the outcome of every check is computed, and a sequential
+ * commit phase, where the outcomes are applied to the sets in the same order of the
+ * sequential reduction.
+ */
+public class ParallelReduction {
+    /**
+     * A replacement of a target clause computed by the reference at index {@code step}.
+     */
+    private record Replacement(int step, Clause replacer) {
+    }
+
+    /**
+     * <b>Taut:</b> remove tautological clauses. Return the number of removed clauses.
+     */
+    public static int removeTautology(@NotNull Set<Clause> clauses, @NotNull ForkJoinPool pool) {
+        List<Clause> clauseList = new ArrayList<>(clauses);
+        List<Clause> tautologies = pool.submit(() -> clauseList.parallelStream()
+                .filter(Clause::isTautology)
+                .toList()
+        ).join();
+        tautologies.forEach(clauses::remove);
+        return tautologies.size();
+    }
+
+    /**
+     * <b>Sub:</b> remove subsumed clauses. Return the number of removed clauses.
+     */
+    public static int subsumptionReduction(@NotNull Set<Clause> clauses, @NotNull ForkJoinPool pool) {
+        List<Clause> clauseList = new ArrayList<>(clauses);
+        int size = clauseList.size();
+
+        // Read-only phase: for each target, the indexes of the clauses that subsume it
+        List<int[]> subsumers = pool.submit(() -> IntStream.range(0, size)
+                .parallel()
+                .mapToObj(j -> IntStream.range(0, size)
+                        .filter(i -> i != j && Subsumption.isSubsumed(clauseList.get(i), clauseList.get(j)))
+                        .toArray())
+                .toList()
+        ).join();
+
+        List<List<Integer>> subsumedBy = new ArrayList<>();
+        for (int i = 0; i < size; i++) {
+            subsumedBy.add(new ArrayList<>());
+        }
+        for (int j = 0; j < size; j++) {
+            for (int i : subsumers.get(j)) {
+                subsumedBy.get(i).add(j);
+            }
+        }
+
+        // Commit phase: replay the sequential reduction, where a removed clause
+        // is no more used to subsume the others
+        boolean[] removed = new boolean[size];
+        Set<Clause> toRemove = new HashSet<>();
+        for (int i = 0; i < size; i++) {
+            if (removed[i]) continue;
+
+            for (int j : subsumedBy.get(i)) {
+                if (!removed[j]) {
+                    removed[j] = true;
+                    toRemove.add(clauseList.get(j));
+                }
+            }
+        }
+        clauses.removeAll(toRemove);
+        return toRemove.size();
+    }
+
+    /**
+     * <b>MRR:</b> update target's clauses using Matching Replacement Resolution.
+     * When the reference and the target sets share some clause, the reference changes while the
+     * reduction goes on, so the sequential {@link Reduction#matchingReplacementResolution} is used.
+     * Return the number of replacements.
+     */
+    public static int matchingReplacementResolution(
+            @NotNull Set<Clause> reference,
+            @NotNull Set<Clause> target,
+            @NotNull ForkJoinPool pool
+    ) {
+        return matchingReplacementResolution(reference, target, pool, Reduction.ReplacementListener.NONE);
+    }
+
+    /**
+     * <b>MRR:</b> update target's clauses using Matching Replacement Resolution, like
+     * {@link #matchingReplacementResolution(Set, Set, ForkJoinPool)}, notifying each replacement to the
+     * listener during the commit phase, in the order of the sequential reduction.
+     */
+    public static int matchingReplacementResolution(
+            @NotNull Set<Clause> reference,
+            @NotNull Set<Clause> target,
+            @NotNull ForkJoinPool pool,
+            @NotNull Reduction.ReplacementListener listener
+    ) {
+        if (reference == target || !Collections.disjoint(reference, target)) {
+            return Reduction.matchingReplacementResolution(reference, target, listener);
+        }
+
+        List<Clause> referenceList = new ArrayList<>(reference);
+        List<Clause> targetList = new ArrayList<>(target);
+
+        // Read-only phase: since the reference never changes, the sequence of replacements
+        // of each target only depends on the target itself
+        List<Deque<Replacement>> replacements = pool.submit(() -> targetList.parallelStream()
+                .map(t -> replacementsOf(referenceList, t))
+                .toList()
+        ).join();
+
+        Map<Clause, Deque<Replacement>> pending = new HashMap<>();
+        Set<Integer> steps = new TreeSet<>();
+        for (int j = 0; j < targetList.size(); j++) {
+            Deque<Replacement> targetReplacements = replacements.get(j);
+            if (!targetReplacements.isEmpty()) {
+                pending.put(targetList.get(j), targetReplacements);
+                targetReplacements.forEach(replacement -> steps.add(replacement.step()));
+            }
+        }
+
+        // Commit phase: apply the replacements reference by reference, in the order
+        // the sequential reduction visits the target set
+        int replaced = 0;
+        for (int step : steps) {
+            Map<Clause, Clause> stepReplacements = new LinkedHashMap<>();
+            for (Clause t : target) {
+                Deque<Replacement> targetReplacements = pending.get(t);
+                if (targetReplacements != null && targetReplacements.peek().step() == step) {
+                    stepReplacements.put(t, targetReplacements.peek().replacer());
+                }
+            }
+
+            for (Map.Entry<Clause, Clause> replacement : stepReplacements.entrySet()) {
+                Deque<Replacement> targetReplacements = pending.remove(replacement.getKey());
+                targetReplacements.poll();
+                if (!targetReplacements.isEmpty()) {
+                    // A replacement equal to a clause already pending has the same future replacements
+                    pending.putIfAbsent(replacement.getValue(), targetReplacements);
+                }
+
+                listener.onReplacement(replacement.getKey(), referenceList.get(step), replacement.getValue());
+                target.remove(replacement.getKey());
+                target.add(replacement.getValue());
+            }
+            replaced += stepReplacements.size();
+        }
+        return replaced;
+    }
+
+    /**
+     * Sequence of replacements that the references apply, one after the other, to a target clause.
+     */
+    private static Deque<Replacement> replacementsOf(List<Clause> referenceList, Clause target) {
+        Deque<Replacement> replacements = new ArrayDeque<>();
+        Clause current = target;
+        for (int k = 0; k < referenceList.size(); k++) {
+            Clause replacer = MatchingReplacementResolution.apply(referenceList.get(k), current);
+            if (replacer != null) {
+                replacements.add(new Replacement(k, replacer));
+                current = replacer;
+            }
+        }
+        return replacements;
+    }
+}
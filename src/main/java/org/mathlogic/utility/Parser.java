@@ -0,0 +1,284 @@
+package org.mathlogic.utility;
+
+import org.mathlogic.exception.ParsingEmptyLogicalStructureException;
+import org.mathlogic.exception.ParsingSyntaxException;
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+import org.mathlogic.structure.TermBank;
+
+import javax.validation.constraints.NotNull;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.mathlogic.Constant.CLAUSE_LITERALS_DIVISOR;
+import static org.mathlogic.Constant.NOT_SYMBOL;
+
+/**
+ * Single pass recursive descent parser of terms, literals and clauses, in the syntax of their
+ * {@code toString}. Whitespace is allowed between the symbols, and the symbols are interned while
+ * they are read, so that equal symbols of the parsed structures are the same string.
+ * <p>
+ * A clause {@code A1, ..., An => B1, ..., Bm} has the negative literals {@code A1, ..., An} and the
+ * positive literals {@code B1, ..., Bm}, and without {@code =>} all its literals are negative.
+ * A parser is not thread-safe, but it can parse any number of inputs.
+ */
+public class Parser {
+    private static final char NOT = NOT_SYMBOL.charAt(0);
+    private static final char DIVISOR_START = CLAUSE_LITERALS_DIVISOR.charAt(0);
+    private static final char DIVISOR_END = CLAUSE_LITERALS_DIVISOR.charAt(1);
+
+    private final TermBank bank;
+    private String[] symbols;
+    private int symbolCount;
+
+    private CharSequence input;
+    private int position;
+    private int end;
+
+    public Parser() {
+        this(null);
+    }
+
+    /**
+     * Parser interning the new symbols also in {@code bank}, so that they are shared with other parsers.
+     */
+    public Parser(TermBank bank) {
+        this.bank = bank;
+        this.symbols = new String[64];
+    }
+
+    public Term parseTerm(@NotNull CharSequence input) {
+        start(input, 0, input.length());
+        Term term = term();
+        finish();
+        return term;
+    }
+
+    public Literal parseLiteral(@NotNull CharSequence input) {
+        start(input, 0, input.length());
+        Literal literal = literal(false);
+        finish();
+        return literal;
+    }
+
+    public Clause parseClause(@NotNull CharSequence input) {
+        start(input, 0, input.length());
+        Clause clause = clause();
+        finish();
+        return clause;
+    }
+
+    /**
+     * Parse one clause for each line that is not blank. The positions of the errors are relative to
+     * the whole input.
+     */
+    public List<Clause> parseClauses(@NotNull CharSequence input) {
+        List<Clause> clauses = new ArrayList<>();
+        int lineStart = 0;
+        while (lineStart < input.length()) {
+            int lineEnd = lineStart;
+            while (lineEnd < input.length() && input.charAt(lineEnd) != '\n') {
+                lineEnd++;
+            }
+
+            if (lineStart < lineEnd) {
+                start(input, lineStart, lineEnd);
+                skipWhitespace();
+                if (position < end) {
+                    clauses.add(clause());
+                    finish();
+                }
+            }
+            lineStart = lineEnd + 1;
+        }
+        return clauses;
+    }
+
+    /**
+     * Parse the clauses of a file, one for each line that is not blank.
+     */
+    public List<Clause> parseClauses(@NotNull Path path) throws IOException {
+        return parseClauses(Files.readString(path));
+    }
+
+    private void start(CharSequence input, int start, int end) {
+        if (start == end) {
+            throw new ParsingEmptyLogicalStructureException();
+        }
+        this.input = input;
+        this.position = start;
+        this.end = end;
+    }
+
+    private void finish() {
+        skipWhitespace();
+        if (position < end) {
+            throw new ParsingSyntaxException("end of input", position);
+        }
+        input = null;
+    }
+
+    private Clause clause() {
+        Set<Literal> literals = new HashSet<>();
+        boolean negative = true;
+
+        skipWhitespace();
+        if (!atDivisor() && position < end) {
+            literals(literals, true);
+        }
+        if (atDivisor()) {
+            position += CLAUSE_LITERALS_DIVISOR.length();
+            negative = false;
+            skipWhitespace();
+            if (position < end) {
+                literals(literals, false);
+            }
+        }
+        if (negative && position < end) {
+            throw new ParsingSyntaxException(String.format("',' or '%s'", CLAUSE_LITERALS_DIVISOR), position);
+        }
+        return new Clause(literals);
+    }
+
+    private void literals(Set<Literal> literals, boolean negative) {
+        do {
+            literals.add(literal(negative));
+        } while (accept(','));
+    }
+
+    /**
+     * Read a literal, negating it if {@code negate} is {@code true}.
+     */
+    private Literal literal(boolean negate) {
+        boolean isNegated = accept(NOT) != negate;
+        String predicate = symbol();
+        return new Literal(isNegated, predicate, arguments());
+    }
+
+    private Term term() {
+        String name = symbol();
+        return new Term(name, arguments());
+    }
+
+    /**
+     * Arguments of a function or predicate, empty if they are not in parentheses.
+     */
+    private List<Term> arguments() {
+        if (!accept('(')) {
+            return List.of();
+        }
+        if (accept(')')) {
+            return List.of();
+        }
+
+        List<Term> arguments = new ArrayList<>(2);
+        do {
+            arguments.add(term());
+        } while (accept(','));
+        expect(')');
+        return arguments;
+    }
+
+    /**
+     * Read a symbol, computing its hash while scanning it to look it up in the symbol table.
+     */
+    private String symbol() {
+        skipWhitespace();
+        int start = position;
+        int hash = 0;
+        while (position < end) {
+            char c = input.charAt(position);
+            if (c == '(' || c == ')' || c == ',' || Character.isWhitespace(c) || atDivisor()) {
+                break;
+            }
+            hash = 31 * hash + c;
+            position++;
+        }
+        if (position == start) {
+            throw new ParsingSyntaxException("a symbol", position);
+        }
+        return intern(start, position, hash);
+    }
+
+    private String intern(int start, int end, int hash) {
+        int mask = symbols.length - 1;
+        int index = (hash ^ (hash >>> 16)) & mask;
+        for (String symbol = symbols[index]; symbol != null; symbol = symbols[index]) {
+            if (symbol.hashCode() == hash && matches(symbol, start, end)) {
+                return symbol;
+            }
+            index = (index + 1) & mask;
+        }
+
+        String symbol = input.subSequence(start, end).toString();
+        if (bank != null) {
+            symbol = bank.intern(symbol);
+        }
+        symbols[index] = symbol;
+        if (++symbolCount * 2 > symbols.length) {
+            resizeSymbols();
+        }
+        return symbol;
+    }
+
+    private boolean matches(String symbol, int start, int end) {
+        if (symbol.length() != end - start) {
+            return false;
+        }
+        for (int i = 0; i < symbol.length(); i++) {
+            if (symbol.charAt(i) != input.charAt(start + i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void resizeSymbols() {
+        String[] old = symbols;
+        symbols = new String[old.length * 2];
+        int mask = symbols.length - 1;
+        for (String symbol : old) {
+            if (symbol != null) {
+                int hash = symbol.hashCode();
+                int index = (hash ^ (hash >>> 16)) & mask;
+                while (symbols[index] != null) {
+                    index = (index + 1) & mask;
+                }
+                symbols[index] = symbol;
+            }
+        }
+    }
+
+    private boolean atDivisor() {
+        return position + 1 < end &&
+                input.charAt(position) == DIVISOR_START &&
+                input.charAt(position + 1) == DIVISOR_END;
+    }
+
+    private boolean accept(char c) {
+        skipWhitespace();
+        if (position < end && input.charAt(position) == c) {
+            position++;
+            return true;
+        }
+        return false;
+    }
+
+    private void expect(char c) {
+        if (!accept(c)) {
+            throw new ParsingSyntaxException(String.format("'%c'", c), position);
+        }
+    }
+
+    private void skipWhitespace() {
+        while (position < end && Character.isWhitespace(input.charAt(position))) {
+            position++;
+        }
+    }
+}
@@ -10,12 +10,4 @@ public class Parsing {
             throw new ParsingEmptyLogicalStructureException();
         }
     }
-
-    public static String removeWhitespace(String input) {
-        return input.replaceAll("\\s+", "");
-    }
-
-    public static boolean dontContainsParentheses(String input) {
-        return !input.contains("(") || !input.contains(")");
-    }
 }
@@ -3,21 +3,39 @@ package org.mathlogic.utility;
 import org.mathlogic.structure.Clause;
 
 import javax.validation.constraints.NotNull;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
 import java.util.Set;
 
 public class Reduction {
     /**
-     * <b>Taut:</b> remove tautological clauses.
+     * Receiver of the replacements of <b>MRR</b>, notified before {@code replaced} is replaced by
+     * {@code replacement}, obtained by Matching Replacement Resolution with {@code reference}.
      */
-    public static void removeTautology(@NotNull Set<Clause> clauses) {
+    @FunctionalInterface
+    public interface ReplacementListener {
+        ReplacementListener NONE = (replaced, reference, replacement) -> {
+        };
+
+        void onReplacement(Clause replaced, Clause reference, Clause replacement);
+    }
+
+    /**
+     * <b>Taut:</b> remove tautological clauses. Return the number of removed clauses.
+     */
+    public static int removeTautology(@NotNull Set<Clause> clauses) {
+        int size = clauses.size();
         clauses.removeIf(Clause::isTautology);
+        return size - clauses.size();
     }
 
     /**
-     * <b>Sub:</b> remove subsumed clauses.
+     * <b>Sub:</b> remove subsumed clauses. Return the number of removed clauses.
      */
-    public static void subsumptionReduction(@NotNull Set<Clause> clauses) {
+    public static int subsumptionReduction(@NotNull Set<Clause> clauses) {
         Set<Clause> toRemove = new HashSet<>();
         for (Clause ref : clauses) {
             if (toRemove.contains(ref)) continue;
@@ -31,22 +49,88 @@ public class Reduction {
             }
         }
         clauses.removeAll(toRemove);
+        return toRemove.size();
     }
 
     /**
      * <b>MRR:</b> update target's clauses using Matching Replacement Resolution.
+     * A clause is never mutated while it belongs to a set: it is removed from the target and
+     * its replacement is added, so the same sets can be used as reference and target.
+     * Return the number of replacements.
      */
-    public static void matchingReplacementResolution(
+    public static int matchingReplacementResolution(
             @NotNull Set<Clause> reference,
             @NotNull Set<Clause> target
     ) {
-        for (Clause ref : reference) {
+        return matchingReplacementResolution(reference, target, ReplacementListener.NONE);
+    }
+
+    /**
+     * <b>MRR:</b> update target's clauses using Matching Replacement Resolution, like
+     * {@link #matchingReplacementResolution(Set, Set)}, notifying each replacement to the listener.
+     */
+    public static int matchingReplacementResolution(
+            @NotNull Set<Clause> reference,
+            @NotNull Set<Clause> target,
+            @NotNull ReplacementListener listener
+    ) {
+        // Keep track of the replaced clauses, in case a reference is replaced before its turn
+        Map<Clause, Clause> replacedBy = new HashMap<>();
+        int replaced = 0;
+
+        for (Clause ref : new ArrayList<>(reference)) {
+            while (replacedBy.containsKey(ref)) {
+                ref = replacedBy.get(ref);
+            }
+            if (!reference.contains(ref)) continue;
+
+            Map<Clause, Clause> replacements = new LinkedHashMap<>();
             for (Clause t : target) {
                 Clause replacer = MatchingReplacementResolution.apply(ref, t);
                 if (replacer != null) {
-                    t.replace(replacer);
+                    replacements.put(t, replacer);
                 }
             }
+
+            for (Map.Entry<Clause, Clause> replacement : replacements.entrySet()) {
+                listener.onReplacement(replacement.getKey(), ref, replacement.getValue());
+                target.remove(replacement.getKey());
+                target.add(replacement.getValue());
+                replacedBy.put(replacement.getKey(), replacement.getValue());
+            }
+            replaced += replacements.size();
+        }
+        return replaced;
+    }
+
+    /**
+     * <b>MRR:</b> reduce a single clause, not belonging to the reference, using Matching Replacement
+     * Resolution with all the reference's clauses. Return the reduced clause.
+     */
+    public static Clause matchingReplacementResolution(
+            @NotNull Set<Clause> reference,
+            @NotNull Clause target
+    ) {
+        return matchingReplacementResolution(reference, target, ReplacementListener.NONE);
+    }
+
+    /**
+     * <b>MRR:</b> reduce a single clause like {@link #matchingReplacementResolution(Set, Clause)},
+     * notifying each replacement to the listener.
+     */
+    public static Clause matchingReplacementResolution(
+            @NotNull Set<Clause> reference,
+            @NotNull Clause target,
+            @NotNull ReplacementListener listener
+    ) {
+        Clause reduced = target;
+        for (Clause ref : reference) {
+            Clause replacer = MatchingReplacementResolution.apply(ref, reduced);
+            if (replacer != null) {
+                listener.onReplacement(reduced, ref, replacer);
+                reduced = replacer;
+            }
         }
+        return reduced;
     }
 }
@@ -0,0 +1,169 @@
+package org.mathlogic;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+import org.mathlogic.utility.MaximalLiteral;
+import org.mathlogic.utility.Unification;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.Properties;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Bytes allocated per operation by the hot paths, on fixed inputs, checked against the budgets of
+ * {@code allocation-budgets.properties}. Each operation is warmed up, so that it runs compiled, and the
+ * least allocating of a few rounds is taken, to ignore the allocations of the compiler and of the class loading.
+ * <p>
+ * The budgets are relative, so that they do not depend on the object layout of the JVM: the bytes of an
+ * operation, per generated clause for the refutations, are divided by the bytes of a copy of a reference clause,
+ * measured in the same way right before the operation. The refutations are budgeted both in the default configuration
+ * and in the deterministic one.
+ */
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class AllocationBudgetTest {
+    private static final int ROUNDS = 3;
+    private static final int BASELINE_REPETITIONS = 2_000;
+    private static final Clause REFERENCE = Clause.parse("P(?x, f(?y)), Q(g(?x, a)) => R(?y), S(h(?x, ?y))");
+
+    private com.sun.management.ThreadMXBean threads;
+    private Properties budgets;
+
+    /**
+     * Result of the last operation, so that its allocations cannot be optimised away.
+     */
+    private Object sink;
+
+    @BeforeAll
+    void loadBudgets() throws IOException {
+        assumeTrue(ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean);
+        threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        assumeTrue(threads.isThreadAllocatedMemorySupported() && threads.isThreadAllocatedMemoryEnabled());
+
+        budgets = new Properties();
+        try (InputStream input = getClass().getResourceAsStream("/allocation-budgets.properties")) {
+            assertNotNull(input, "Missing allocation-budgets.properties");
+            budgets.load(input);
+        }
+    }
+
+    @ParameterizedTest(name = "{index} -> operation={0}")
+    @MethodSource("provideParametersForBudget")
+    void testBudget(String operation, Runnable run, int repetitions, LongSupplier units) {
+        String budget = budgets.getProperty(operation);
+        assertNotNull(budget, () -> "No allocation budget for " + operation);
+
+        long baseline = bytesPerOperation(() -> sink = REFERENCE.copy(), BASELINE_REPETITIONS);
+        long bytes = bytesPerOperation(run, repetitions);
+        double ratio = (double) bytes / Math.max(1, units.getAsLong()) / Math.max(1, baseline);
+        assertTrue(ratio <= Double.parseDouble(budget), () -> String.format(
+                "%s allocates %d bytes per operation, %.2f reference clause copies, over its budget of %s",
+                operation, bytes, ratio, budget));
+    }
+
+    private long bytesPerOperation(Runnable run, int repetitions) {
+        long thread = Thread.currentThread().getId();
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round <= ROUNDS; round++) {
+            long before = threads.getThreadAllocatedBytes(thread);
+            for (int i = 0; i < repetitions; i++) {
+                run.run();
+            }
+            long bytes = (threads.getThreadAllocatedBytes(thread) - before) / repetitions;
+            // The first round is the warm-up
+            if (round > 0) {
+                best = Math.min(best, bytes);
+            }
+        }
+        return best;
+    }
+
+    Stream<Arguments> provideParametersForBudget() {
+        Literal left = Literal.parse("P(g(?y), f(?x, h(?x), ?y))");
+        Literal right = Literal.parse("P(?x', f(g(?z), ?w, ?z))");
+        Literal clash = Literal.parse("P(g(?y), f(?x, h(?x), a))");
+        Term term = Term.parse("f(g(?x), h(?y, k(?z)))");
+        Term otherTerm = Term.parse("f(?w, h(a, k(b)))");
+        Clause clause = Clause.parse("P(?x, ?y), Q(f(?x)) => =(g(?y), ?z), R(h(?x, ?z))");
+        Map<String, Term> substitution = Map.of(
+                "?x", Term.parse("f(a)"),
+                "?y", Term.parse("g(?w, b)"),
+                "?z", Term.parse("h(?w)")
+        );
+        Clause equations = Clause.parse("=(e(?x), d(?x)), =(a, b) => =(e(?y), e(a)), =(f(?x, ?y), c)");
+        Literal maximal = Literal.parse("=(f(?x, ?y), c)");
+
+        Set<Clause> resolution = Set.of(
+                Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+                Clause.parse("=> R(c, ?y)"),
+                Clause.parse("Q(f(?y)) =>")
+        );
+        Set<Clause> factorization = Set.of(
+                Clause.parse("=> R(?x, f(?y)), R(?y, f(?x))"),
+                Clause.parse("R(?x, f(?y)), R(?y, f(?x)) =>")
+        );
+        Set<Clause> equality = Set.of(
+                Clause.parse("=> =(f(a), b)"),
+                Clause.parse("=> P(f(a))"),
+                Clause.parse("P(b) =>")
+        );
+
+        LongSupplier once = () -> 1;
+        return Stream.of(
+                Arguments.of("unification.literals",
+                        (Runnable) () -> sink = Unification.unify(left, right), 10_000, once),
+                Arguments.of("unification.failure",
+                        (Runnable) () -> sink = Unification.unify(left, clash), 10_000, once),
+                Arguments.of("unification.terms",
+                        (Runnable) () -> sink = Unification.unify(term, otherTerm), 10_000, once),
+                Arguments.of("clause.applySubstitution",
+                        (Runnable) () -> sink = clause.applySubstitution(substitution), 10_000, once),
+                Arguments.of("maximalLiteral.maximalLiterals",
+                        (Runnable) () -> sink = MaximalLiteral.getMaximalLiterals(equations), 2_000, once),
+                Arguments.of("maximalLiteral.strictlyMaximal",
+                        (Runnable) () -> sink = MaximalLiteral.isStrictlyMaximal(maximal, equations), 2_000, once),
+                refutation("refute.calculusR", CalculusR::new, resolution, false, 20),
+                refutation("refute.calculusR.deterministic", CalculusR::new, resolution, true, 20),
+                refutation("refute.sortedCalculus", SortedCalculus::new, factorization, false, 20),
+                refutation("refute.sortedCalculus.deterministic", SortedCalculus::new, factorization, true, 20),
+                refutation("refute.calculusS", CalculusS::new, equality, false, 20),
+                refutation("refute.calculusS.deterministic", CalculusS::new, equality, true, 20)
+        );
+    }
+
+    /**
+     * Arguments of the refutation of the clauses by a new calculus, in its default configuration or in
+     * the deterministic one, with its bytes counted per generated clause.
+     */
+    private static Arguments refutation(
+            String operation,
+            Supplier<AutomaticCalculus> newCalculus,
+            Set<Clause> clauses,
+            boolean deterministic,
+            int repetitions
+    ) {
+        AtomicLong generated = new AtomicLong();
+        Runnable run = () -> {
+            AutomaticCalculus calculus = newCalculus.get();
+            calculus.setDeterministic(deterministic);
+            assertTrue(calculus.refute(clauses));
+            generated.set(calculus.getGeneratedClauses());
+        };
+        return Arguments.of(operation, run, repetitions, (LongSupplier) generated::get);
+    }
+}
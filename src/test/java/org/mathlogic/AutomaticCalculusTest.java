@@ -5,9 +5,16 @@ import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.store.ClauseStore;
 import org.mathlogic.structure.Clause;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -37,6 +44,117 @@ class AutomaticCalculusTest {
         assertEquals(expected, result);
     }
 
+    @ParameterizedTest(name = "{index} -> clauses={1}, expected={2}")
+    @MethodSource("provideParametersForDeterministic")
+    void testDeterministic(Supplier<AutomaticCalculus> newCalculus, List<Clause> clauses, boolean expected) {
+        // Same clauses in opposite orders, refuted sequentially and by a pipelined parallel loop
+        AutomaticCalculus sequential = newCalculus.get();
+        sequential.setDeterministic(true);
+        AutomaticCalculus parallel = newCalculus.get();
+        parallel.setDeterministic(true);
+        parallel.setParallelism(4);
+        parallel.setPipelined(true);
+        List<Clause> reversed = new ArrayList<>(clauses);
+        Collections.reverse(reversed);
+
+        assertEquals(expected, sequential.refute(new LinkedHashSet<>(clauses)));
+        assertEquals(expected, parallel.refute(new LinkedHashSet<>(reversed)));
+        assertEquals(sequential.getIterations(), parallel.getIterations());
+        assertEquals(storeContent(sequential), storeContent(parallel));
+    }
+
+    @ParameterizedTest(name = "{index} -> clauses={0}")
+    @MethodSource("provideParametersForPipelinedSaturation")
+    void testPipelinedSaturation(List<Clause> clauses) {
+        // The pipelined loop applies the forward reductions of the sequential loop, in the same order
+        AutomaticCalculus sequential = new CalculusR();
+        sequential.setDeterministic(true);
+        sequential.setStatistics(new ProverStatistics());
+        AutomaticCalculus pipelined = new CalculusR();
+        pipelined.setDeterministic(true);
+        pipelined.setStatistics(new ProverStatistics());
+        pipelined.setParallelism(4);
+        pipelined.setPipelined(true);
+
+        assertFalse(sequential.refute(new LinkedHashSet<>(clauses)));
+        assertFalse(pipelined.refute(new LinkedHashSet<>(clauses)));
+        assertEquals(sequential.getIterations(), pipelined.getIterations());
+        for (ReductionRule rule : ReductionRule.values()) {
+            assertEquals(sequential.getStatistics().getReductions(rule),
+                    pipelined.getStatistics().getReductions(rule));
+        }
+        assertEquals(storeContent(sequential), storeContent(pipelined));
+    }
+
+    /**
+     * Clauses of the store of the calculus by id.
+     */
+    private static List<Clause> storeContent(AutomaticCalculus calculus) {
+        ClauseStore.Snapshot store = calculus.snapshot().getStore();
+        return IntStream.range(0, store.capacity()).mapToObj(store::get).toList();
+    }
+
+    Stream<Arguments> provideParametersForDeterministic() {
+        return Stream.of(
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) CalculusR::new,
+                        List.of(
+                                Clause.parse("=> P(a)"),
+                                Clause.parse("P(?x) => Q(?x), R(f(?x))"),
+                                Clause.parse("Q(?x) => S(?x)"),
+                                Clause.parse("R(?y) => S(?y)")
+                        ),
+                        false
+                ),
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) SortedCalculus::new,
+                        List.of(
+                                Clause.parse("=> R(?x, f(?y)), R(?y, f(?x))"),
+                                Clause.parse("R(?x, f(?y)), R(?y, f(?x)) =>")
+                        ),
+                        true
+                ),
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) CalculusS::new,
+                        List.of(
+                                Clause.parse("=> =(p(d), a)"),
+                                Clause.parse("=> =(p(c), a)"),
+                                Clause.parse("f(c, d) =>"),
+                                Clause.parse("=(p(?x), a) => =(m(?x), b)"),
+                                Clause.parse("=(p(?x), p(?y)), =(m(?x), m(?y)) => f(?x, ?y)"),
+                                Clause.parse("f(?x, ?y) => =(m(?x), m(?y))"),
+                                Clause.parse("f(?x, ?y) => =(p(?x), p(?y))")
+                        ),
+                        true
+                )
+        );
+    }
+
+    Stream<Arguments> provideParametersForPipelinedSaturation() {
+        return Stream.of(
+                Arguments.of(List.of(
+                        Clause.parse("=> P(a), Q(a)"),
+                        Clause.parse("P(?x) => Q(?x)"),
+                        Clause.parse("Q(a) => R(a)"),
+                        Clause.parse("=> P(?x), R(?x)"),
+                        Clause.parse("R(a), Q(a) => S(b)")
+                )),
+                Arguments.of(List.of(
+                        Clause.parse("=> P(a), Q(b)"),
+                        Clause.parse("P(?x) => R(?x)"),
+                        Clause.parse("R(a) => Q(b)"),
+                        Clause.parse("Q(?x) => S(?x), P(?x)"),
+                        Clause.parse("=> S(b), Q(b)")
+                )),
+                Arguments.of(List.of(
+                        Clause.parse("=> P(a), Q(a), R(a)"),
+                        Clause.parse("P(?x) => Q(?x)"),
+                        Clause.parse("R(?x) => Q(?x), P(?x)"),
+                        Clause.parse("Q(a) => T(a)")
+                ))
+        );
+    }
+
     Stream<Arguments> provideParametersForSelectGivenClause() {
         return Stream.of(
                 Arguments.of(
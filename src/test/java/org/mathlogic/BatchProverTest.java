@@ -0,0 +1,122 @@
+package org.mathlogic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.comparator.LpoComparator;
+import org.mathlogic.structure.Clause;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class BatchProverTest {
+    private final Set<Clause> refutable = Set.of(
+            Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+            Clause.parse("=> R(c, ?y)"),
+            Clause.parse("Q(f(?y)) =>")
+    );
+
+    private final Set<Clause> satisfiable = Set.of(
+            Clause.parse("=> P(f(a))"),
+            Clause.parse("Q(f(a)) =>")
+    );
+
+    private final Set<Clause> infiniteSaturation = Set.of(
+            Clause.parse("=> P(a)"),
+            Clause.parse("P(?x) => P(f(?x))")
+    );
+
+    @Test
+    void testRefute() {
+        BatchProver prover = new BatchProver(CalculusR::new, 3, 50, null);
+        List<BatchProver.Problem> problems = IntStream.range(0, 30)
+                .mapToObj(i -> new BatchProver.Problem(
+                        "p" + i,
+                        switch (i % 3) {
+                            case 0 -> refutable;
+                            case 1 -> satisfiable;
+                            default -> infiniteSaturation;
+                        }
+                ))
+                .toList();
+
+        Map<String, RefutationStatus> statuses;
+        try (Stream<BatchProver.ProblemResult> results = prover.refute(problems.stream())) {
+            statuses = results.collect(Collectors.toMap(
+                    result -> result.problem().name(),
+                    BatchProver.ProblemResult::status
+            ));
+        }
+
+        assertEquals(problems.size(), statuses.size());
+        for (int i = 0; i < problems.size(); i++) {
+            RefutationStatus expected = switch (i % 3) {
+                case 0 -> RefutationStatus.PROOF_FOUND;
+                case 1 -> RefutationStatus.COMPLETION_FOUND;
+                default -> RefutationStatus.LIMIT_REACHED;
+            };
+            assertEquals(expected, statuses.get("p" + i));
+        }
+        assertTrue(prover.getTermBank().termCount() > 0);
+    }
+
+    @ParameterizedTest(name = "{index} -> calculus={0}")
+    @MethodSource("provideParametersForSharedOrderingCache")
+    void testSharedOrderingCache(Supplier<AutomaticCalculus> calculus, Set<Clause> clauses) {
+        BatchProver prover = new BatchProver(calculus, 2, 0, null);
+        List<BatchProver.Problem> problems = List.of(
+                new BatchProver.Problem("p0", clauses),
+                new BatchProver.Problem("p1", clauses)
+        );
+
+        try (Stream<BatchProver.ProblemResult> results = prover.refute(problems.stream())) {
+            assertTrue(results.allMatch(result -> result.status() == RefutationStatus.PROOF_FOUND));
+        }
+        assertTrue(prover.getOrderingCache().size() > 0);
+        assertNull(LpoComparator.DEFAULT.getCache());
+        assertNull(LpoComparator.getThreadCache());
+    }
+
+    @Test
+    void testCloseStopsProblems() {
+        BatchProver prover = new BatchProver(CalculusR::new, 2, 0, null);
+        Stream<BatchProver.Problem> problems = Stream.generate(() -> new BatchProver.Problem("p", infiniteSaturation));
+
+        Stream<BatchProver.ProblemResult> results = prover.refute(problems);
+        Thread closer = new Thread(() -> {
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException ignored) {
+                return;
+            }
+            results.close();
+        });
+        closer.start();
+
+        BatchProver.ProblemResult result = results.findFirst().orElseThrow();
+        assertEquals(RefutationStatus.CANCELLED, result.status());
+    }
+
+    Stream<Arguments> provideParametersForSharedOrderingCache() {
+        Set<Clause> equality = Set.of(
+                Clause.parse("=> =(f(a), b)"),
+                Clause.parse("=> P(f(a))"),
+                Clause.parse("P(b) =>")
+        );
+        return Stream.of(
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, refutable),
+                Arguments.of((Supplier<AutomaticCalculus>) SortedCalculus::new, refutable),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusS::new, equality)
+        );
+    }
+}
@@ -13,6 +13,8 @@ import java.util.Set;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class CalculusRTest {
@@ -44,6 +46,24 @@ class CalculusRTest {
         assertEquals(expected, result);
     }
 
+    @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
+    @MethodSource("provideParametersForRefute")
+    void testClauseCounters(Set<Clause> clauses, boolean expected) {
+        CalculusR sequential = new CalculusR();
+        CalculusR pipelined = new CalculusR();
+        pipelined.setParallelism(4);
+        pipelined.setPipelined(true);
+
+        assertEquals(expected, sequential.refute(clauses));
+        assertEquals(expected, pipelined.refute(clauses));
+        assertEquals(sequential.getGeneratedClauses(), pipelined.getGeneratedClauses());
+        assertTrue(sequential.getKeptClauses() <= sequential.getGeneratedClauses());
+
+        sequential.refute(Set.of());
+        assertEquals(0, sequential.getGeneratedClauses());
+        assertEquals(0, sequential.getKeptClauses());
+    }
+
     @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
     @MethodSource("provideParametersForRefute")
     void testRefute(Set<Clause> clauses, boolean expected) {
@@ -54,6 +74,92 @@ class CalculusRTest {
         }
     }
 
+    @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
+    @MethodSource("provideParametersForRefute")
+    void testStreamRefute(Set<Clause> clauses, boolean expected) {
+        for (AutomaticCalculus resolver : resolvers) {
+            // Duplicates and subsumed copies are reduced while the clauses are ingested
+            Stream<Clause> stream = Stream.concat(clauses.stream(), clauses.stream())
+                    .flatMap(clause -> Stream.of(clause, clause.copy()));
+            boolean result = resolver.refute(stream);
+
+            assertEquals(expected, result);
+        }
+    }
+
+    @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
+    @MethodSource("provideParametersForRefute")
+    void testParallelRefute(Set<Clause> clauses, boolean expected) {
+        for (AutomaticCalculus resolver : resolvers) {
+            resolver.setParallelism(4);
+            boolean result = resolver.refute(clauses);
+
+            assertEquals(expected, result);
+        }
+    }
+
+    @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
+    @MethodSource("provideParametersForRefute")
+    void testPipelinedRefute(Set<Clause> clauses, boolean expected) {
+        for (AutomaticCalculus resolver : resolvers) {
+            resolver.setParallelism(4);
+            resolver.setPipelined(true);
+            boolean result = resolver.refute(clauses);
+
+            assertEquals(expected, result);
+        }
+    }
+
+    @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
+    @MethodSource("provideParametersForRefute")
+    void testIncrementalRefute(Set<Clause> clauses, boolean expected) {
+        for (AutomaticCalculus resolver : resolvers) {
+            resolver.refute(Set.of());
+            resolver.push();
+            resolver.addClauses(clauses);
+            assertEquals(expected, resolver.checkRefutable());
+
+            resolver.pop();
+            assertFalse(resolver.checkRefutable());
+
+            resolver.push();
+            resolver.addClauses(clauses);
+            assertEquals(expected, resolver.checkRefutable());
+        }
+    }
+
+    @ParameterizedTest(name = "{index} -> base={0}, assumptions={1}, expected={2}")
+    @MethodSource("provideParametersForScopedRefute")
+    void testScopedRefute(Set<Clause> base, Set<Clause> assumptions, boolean expected) {
+        for (AutomaticCalculus resolver : resolvers) {
+            boolean baseResult = resolver.refute(base);
+
+            resolver.push();
+            resolver.addClauses(assumptions);
+            assertEquals(expected, resolver.checkRefutable());
+            assertEquals(1, resolver.getScopeLevel());
+
+            resolver.pop();
+            assertEquals(baseResult, resolver.checkRefutable());
+            assertEquals(0, resolver.getScopeLevel());
+        }
+    }
+
+    @ParameterizedTest(name = "{index} -> base={0}, assumptions={1}, expected={2}")
+    @MethodSource("provideParametersForScopedRefute")
+    void testSnapshotRefute(Set<Clause> base, Set<Clause> goals, boolean expected) {
+        for (AutomaticCalculus resolver : resolvers) {
+            resolver.setMaxIterations(2);
+            resolver.tryRefute(base);
+            SaturationSnapshot snapshot = resolver.snapshot();
+            resolver.setMaxIterations(0);
+
+            assertEquals(expected, resolver.refute(snapshot, goals));
+            assertFalse(resolver.refute(snapshot, Set.of()));
+            assertEquals(expected, resolver.refute(snapshot, goals));
+        }
+    }
+
     Stream<Arguments> provideParametersForApplyResolution() {
         return Stream.of(
                 Arguments.of(
@@ -156,4 +262,38 @@ class CalculusRTest {
                 )
         );
     }
+
+    Stream<Arguments> provideParametersForScopedRefute() {
+        return Stream.of(
+                Arguments.of(
+                        Set.of(
+                                Clause.parse("=> P(a)"),
+                                Clause.parse("P(?x) => Q(?x)"),
+                                Clause.parse("Q(?x), R(?x) =>")
+                        ),
+                        Set.of(Clause.parse("=> R(a)")),
+                        true
+                ),
+                Arguments.of(
+                        Set.of(
+                                Clause.parse("=> P(a)"),
+                                Clause.parse("P(?x) => Q(?x)"),
+                                Clause.parse("Q(?x), R(?x) =>")
+                        ),
+                        Set.of(Clause.parse("=> R(b)")),
+                        false
+                ),
+                Arguments.of(
+                        Set.of(
+                                Clause.parse("=> P(a), Q(a)"),
+                                Clause.parse("P(?x) => R(?x)")
+                        ),
+                        Set.of(
+                                Clause.parse("R(a) =>"),
+                                Clause.parse("Q(a) =>")
+                        ),
+                        true
+                )
+        );
+    }
 }
@@ -62,6 +62,41 @@ class CalculusSTest {
         assertEquals(expected, result);
     }
 
+    @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
+    @MethodSource("provideParametersForRefute")
+    void testParallelRefute(Set<Clause> clauses, boolean expected) {
+        resolver.setParallelism(4);
+        boolean result = resolver.refute(clauses);
+
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
+    @MethodSource("provideParametersForRefute")
+    void testPipelinedRefute(Set<Clause> clauses, boolean expected) {
+        resolver.setParallelism(4);
+        resolver.setPipelined(true);
+        boolean result = resolver.refute(clauses);
+
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
+    @MethodSource("provideParametersForRefute")
+    void testIncrementalRefute(Set<Clause> clauses, boolean expected) {
+        resolver.refute(Set.of());
+        resolver.push();
+        resolver.addClauses(clauses);
+        assertEquals(expected, resolver.checkRefutable());
+
+        resolver.pop();
+        assertFalse(resolver.checkRefutable());
+
+        resolver.push();
+        resolver.addClauses(clauses);
+        assertEquals(expected, resolver.checkRefutable());
+    }
+
     Stream<Arguments> provideParametersForApplyRightSuperposition() {
         return Stream.of(
                 Arguments.of(
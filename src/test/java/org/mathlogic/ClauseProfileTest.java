@@ -0,0 +1,74 @@
+package org.mathlogic;
+
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.structure.Clause;
+
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClauseProfileTest {
+    @ParameterizedTest(name = "{index} -> clauses={1}")
+    @MethodSource("provideParametersForProfile")
+    void testProfile(Supplier<AutomaticCalculus> newCalculus, Set<Clause> clauses) {
+        AutomaticCalculus calculus = newCalculus.get();
+        ClauseProfile profile = new ClauseProfile();
+        ProverStatistics statistics = new ProverStatistics();
+        calculus.setClauseProfile(profile);
+        calculus.setStatistics(statistics);
+
+        assertTrue(calculus.refute(clauses));
+        List<ClauseProfile.Entry> entries = profile.entries();
+        assertFalse(entries.isEmpty());
+
+        // Each inference is charged to one or two premises
+        long children = entries.stream().mapToLong(ClauseProfile.Entry::children).sum();
+        assertTrue(children >= statistics.getGeneratedClauses());
+        assertTrue(children <= 2 * statistics.getGeneratedClauses());
+        assertTrue(entries.stream().allMatch(entry -> entry.deletedChildren() <= entry.children()));
+        assertTrue(entries.stream().allMatch(entry -> entry.inferences() > 0 && entry.inferenceNanos() >= 0));
+
+        List<ClauseProfile.Entry> top = profile.top(2, ClauseProfile.BY_CHILDREN);
+        assertEquals(Math.min(2, entries.size()), top.size());
+        assertEquals(entries.stream().mapToLong(ClauseProfile.Entry::children).max().orElseThrow(), top.get(0).children());
+        assertEquals(1 + Math.min(3, entries.size()), profile.report(3).lines().count());
+
+        profile.reset();
+        assertTrue(profile.entries().isEmpty());
+    }
+
+    Stream<Arguments> provideParametersForProfile() {
+        Set<Clause> resolution = Set.of(
+                Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+                Clause.parse("=> R(c, ?y)"),
+                Clause.parse("Q(f(?y)) =>")
+        );
+        Set<Clause> equality = Set.of(
+                Clause.parse("=> =(p(d), a)"),
+                Clause.parse("=> =(p(c), a)"),
+                Clause.parse("f(c, d) =>"),
+                Clause.parse("=(p(?x), a) => =(m(?x), b)"),
+                Clause.parse("=(p(?x), p(?y)), =(m(?x), m(?y)) => f(?x, ?y)"),
+                Clause.parse("f(?x, ?y) => =(m(?x), m(?y))"),
+                Clause.parse("f(?x, ?y) => =(p(?x), p(?y))")
+        );
+        Supplier<AutomaticCalculus> pipelined = () -> {
+            CalculusR calculus = new CalculusR();
+            calculus.setParallelism(4);
+            calculus.setPipelined(true);
+            return calculus;
+        };
+        return Stream.of(
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, resolution),
+                Arguments.of(pipelined, resolution),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusS::new, equality)
+        );
+    }
+}
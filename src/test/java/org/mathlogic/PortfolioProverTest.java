@@ -0,0 +1,115 @@
+package org.mathlogic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.structure.Clause;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class PortfolioProverTest {
+    /**
+     * Satisfiable clauses whose saturation never ends in calculus R.
+     */
+    private final Set<Clause> infiniteSaturation = Set.of(
+            Clause.parse("=> P(a)"),
+            Clause.parse("P(?x) => P(f(?x))")
+    );
+
+    @ParameterizedTest(name = "{index} -> clauses={0}, expected={1}")
+    @MethodSource("provideParametersForRefute")
+    void testRefute(Set<Clause> clauses, RefutationStatus expected) {
+        PortfolioProver.Result result = PortfolioProver.withAllCalculi().refute(clauses);
+
+        assertEquals(expected, result.status());
+        assertNotNull(result.winner());
+        assertEquals(3, result.outcomes().size());
+    }
+
+    @Test
+    void testLosersAreCancelled() {
+        PortfolioProver prover = new PortfolioProver(List.of(
+                new PortfolioProver.Strategy("R", CalculusR::new),
+                new PortfolioProver.Strategy("R oldest first", CalculusR::new, 1, 0, null)
+        ));
+        Set<Clause> clauses = Set.of(
+                Clause.parse("=> P(a)"),
+                Clause.parse("P(?x) => P(f(?x))"),
+                Clause.parse("P(f(f(a))) =>")
+        );
+
+        PortfolioProver.Result result = prover.refute(clauses);
+
+        assertTrue(result.isRefuted());
+        for (PortfolioProver.StrategyOutcome outcome : result.outcomes()) {
+            assertTrue(outcome.status() == RefutationStatus.PROOF_FOUND ||
+                    outcome.status() == RefutationStatus.CANCELLED);
+        }
+    }
+
+    @Test
+    void testIncompleteCompletionIsNotAnAnswer() {
+        // Unsatisfiable only with the equality, that calculi R and sorted R saturate
+        Set<Clause> clauses = Set.of(
+                Clause.parse("=> =(a, b)"),
+                Clause.parse("=> P(a)"),
+                Clause.parse("P(b) =>")
+        );
+
+        PortfolioProver.Result result = PortfolioProver.withAllCalculi().refute(clauses);
+
+        assertTrue(result.isRefuted());
+        assertEquals("S", result.winner().name());
+        for (PortfolioProver.StrategyOutcome outcome : result.outcomes()) {
+            if (outcome.strategy() != result.winner()) {
+                // The completions of the losers are recorded, unless they have been cancelled before
+                assertTrue(outcome.status() == RefutationStatus.COMPLETION_FOUND ||
+                        outcome.status() == RefutationStatus.CANCELLED);
+            }
+        }
+    }
+
+    @Test
+    void testLimitReached() {
+        PortfolioProver prover = new PortfolioProver(List.of(
+                new PortfolioProver.Strategy("R", CalculusR::new, 0, 20, null),
+                new PortfolioProver.Strategy("R oldest first", CalculusR::new, 2, 20, null)
+        ));
+
+        PortfolioProver.Result result = prover.refute(infiniteSaturation);
+
+        assertEquals(RefutationStatus.LIMIT_REACHED, result.status());
+        assertNull(result.winner());
+        for (PortfolioProver.StrategyOutcome outcome : result.outcomes()) {
+            assertEquals(RefutationStatus.LIMIT_REACHED, outcome.status());
+            assertEquals(20, outcome.iterations());
+        }
+    }
+
+    Stream<Arguments> provideParametersForRefute() {
+        return Stream.of(
+                Arguments.of(
+                        Set.of(
+                                Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+                                Clause.parse("=> R(c, ?y)"),
+                                Clause.parse("Q(f(?y)) =>")
+                        ),
+                        RefutationStatus.PROOF_FOUND
+                ),
+                Arguments.of(
+                        Set.of(
+                                Clause.parse("=> P(f(a))"),
+                                Clause.parse("Q(f(a)) =>")
+                        ),
+                        RefutationStatus.COMPLETION_FOUND
+                )
+        );
+    }
+}
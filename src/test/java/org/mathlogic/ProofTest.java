@@ -0,0 +1,126 @@
+package org.mathlogic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.structure.Clause;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProofTest {
+    @ParameterizedTest(name = "{index} -> clauses={1}, pipelined={2}")
+    @MethodSource("provideParametersForProof")
+    void testProof(Supplier<AutomaticCalculus> newCalculus, Set<Clause> clauses, boolean pipelined) {
+        AutomaticCalculus calculus = newCalculus.get();
+        calculus.setPipelined(pipelined);
+        calculus.setParallelism(pipelined ? 4 : 1);
+        calculus.setProofRecording(true);
+        calculus.setUnifierRecording(true);
+
+        assertTrue(calculus.refute(clauses));
+        Proof proof = calculus.getProof();
+        assertTrue(proof.conclusion().isEmpty());
+        assertProof(calculus, proof, calculus.preprocessClauses(clauses));
+        assertEquals(proof.steps().size(), proof.toString().lines().count());
+
+        // Only the derivations of the clauses in the store are indexed
+        assertEquals(calculus.store.size(), calculus.getDerivations().size());
+    }
+
+    @Test
+    void testProofInScopes() {
+        AutomaticCalculus calculus = new CalculusR();
+        calculus.setProofRecording(true);
+        Set<Clause> axioms = Set.of(
+                Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+                Clause.parse("=> R(c, ?y)")
+        );
+        Set<Clause> goal = Set.of(Clause.parse("Q(f(?y)) =>"));
+
+        assertFalse(calculus.refute(axioms));
+        assertThrows(IllegalStateException.class, calculus::getProof);
+
+        calculus.push();
+        calculus.addClauses(goal);
+        assertTrue(calculus.checkRefutable());
+        Set<Clause> inputs = new HashSet<>(axioms);
+        inputs.addAll(goal);
+        assertProof(calculus, calculus.getProof(), inputs);
+
+        calculus.pop();
+        assertEquals(calculus.store.size(), calculus.getDerivations().size());
+        assertThrows(IllegalStateException.class, calculus::getProof);
+
+        calculus.setProofRecording(false);
+        assertThrows(IllegalStateException.class, calculus::getProof);
+    }
+
+    /**
+     * Check that every step follows from the previous ones by a rule with the right number of premises.
+     */
+    private static void assertProof(AutomaticCalculus calculus, Proof proof, Set<Clause> inputs) {
+        List<Proof.Step> steps = proof.steps();
+        for (int i = 0; i < steps.size(); i++) {
+            Proof.Step step = steps.get(i);
+            int index = i;
+            assertTrue(step.premises().stream().allMatch(premise -> premise < index));
+            switch (step.rule()) {
+                case INPUT -> {
+                    assertTrue(inputs.contains(step.clause()), () -> step.clause() + " is not an input");
+                    assertTrue(step.premises().isEmpty());
+                }
+                case RIGHT_FACTORIZATION, EQUALITY_RESOLUTION, EQUALITY_FACTORIZATION -> {
+                    assertEquals(1, step.premises().size());
+                    assertEquals(calculus.isUnifierRecording(), step.unifier() != null);
+                }
+                case MATCHING_REPLACEMENT_RESOLUTION -> assertEquals(2, step.premises().size());
+                default -> {
+                    assertEquals(2, step.premises().size());
+                    assertEquals(calculus.isUnifierRecording(), step.unifier() != null);
+                }
+            }
+        }
+    }
+
+    Stream<Arguments> provideParametersForProof() {
+        Set<Clause> resolution = Set.of(
+                Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+                Clause.parse("=> R(c, ?y)"),
+                Clause.parse("Q(f(?y)) =>")
+        );
+        Set<Clause> factorization = Set.of(
+                Clause.parse("=> R(?x, f(?y)), R(?y, f(?x))"),
+                Clause.parse("R(?x, f(?y)), R(?y, f(?x)) =>")
+        );
+        Set<Clause> replacement = Set.of(
+                Clause.parse("=> P(?x)"),
+                Clause.parse("P(a) => Q(a)"),
+                Clause.parse("Q(a) =>")
+        );
+        Set<Clause> equality = Set.of(
+                Clause.parse("=> =(p(d), a)"),
+                Clause.parse("=> =(p(c), a)"),
+                Clause.parse("f(c, d) =>"),
+                Clause.parse("=(p(?x), a) => =(m(?x), b)"),
+                Clause.parse("=(p(?x), p(?y)), =(m(?x), m(?y)) => f(?x, ?y)"),
+                Clause.parse("f(?x, ?y) => =(m(?x), m(?y))"),
+                Clause.parse("f(?x, ?y) => =(p(?x), p(?y))")
+        );
+        return Stream.of(
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, resolution, false),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, resolution, true),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, replacement, false),
+                Arguments.of((Supplier<AutomaticCalculus>) SortedCalculus::new, factorization, false),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusS::new, equality, false)
+        );
+    }
+}
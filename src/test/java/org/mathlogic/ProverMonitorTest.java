@@ -0,0 +1,168 @@
+package org.mathlogic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.io.Checkpoint;
+import org.mathlogic.structure.Clause;
+
+import javax.management.Attribute;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.MalformedObjectNameException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProverMonitorTest {
+    private static final Set<Clause> DIVERGING = Set.of(
+            Clause.parse("=> P(a)"),
+            Clause.parse("P(?x) => P(f(?x))")
+    );
+
+    private static final ObjectName PROVERS = name("org.mathlogic:type=Prover,*");
+
+    private final MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest(name = "{index} -> calculus={1}, status={3}")
+    @MethodSource("provideParametersForMonitor")
+    void testMonitor(
+            Supplier<AutomaticCalculus> newCalculus,
+            String name,
+            Control control,
+            RefutationStatus status
+    ) throws Exception {
+        AutomaticCalculus calculus = newCalculus.get();
+        calculus.setMonitored(true);
+        calculus.setTimeLimit(Duration.ofMinutes(1));
+        Set<ObjectName> running = server.queryNames(PROVERS, null);
+        CompletableFuture<RefutationStatus> refutation = CompletableFuture.supplyAsync(() -> calculus.tryRefute(DIVERGING));
+
+        try {
+            ObjectName bean = awaitBean(name, running);
+            while ((long) server.getAttribute(bean, "Iterations") < 3) {
+                Thread.sleep(1);
+            }
+            // The attributes are published at different times, so they are only checked one by one
+            assertEquals(calculus.getClass().getName(), server.getAttribute(bean, "Calculus"));
+            assertTrue((int) server.getAttribute(bean, "WorkedSize") > 0);
+            assertTrue((int) server.getAttribute(bean, "StoreSize") > 0);
+            assertTrue((int) server.getAttribute(bean, "GivenClauseWeight") > 0);
+            assertTrue((long) server.getAttribute(bean, "InferredClauses") > 0);
+            assertTrue((long) server.getAttribute(bean, "EstimatedStoreBytes") > 0);
+            assertEquals(60_000L, server.getAttribute(bean, "TimeLimitMillis"));
+
+            Path dump = directory.resolve("dump.ckpt");
+            assertEquals(true, server.invoke(bean, "dumpState",
+                    new Object[]{dump.toString(), 10_000L}, new String[]{String.class.getName(), long.class.getName()}));
+            Checkpoint checkpoint = Checkpoint.read(dump);
+            assertEquals(calculus.getClass().getName(), checkpoint.calculus());
+            assertTrue(checkpoint.iterations() >= 3);
+
+            control.apply(server, bean);
+            assertEquals(status, refutation.get(1, TimeUnit.MINUTES));
+            assertFalse(server.isRegistered(bean));
+        } finally {
+            calculus.cancel();
+            refutation.join();
+        }
+    }
+
+    @Test
+    void testNotMonitored() throws Exception {
+        CalculusR calculus = new CalculusR();
+        calculus.setMaxIterations(3);
+        assertFalse(calculus.isMonitored());
+        Set<ObjectName> running = server.queryNames(PROVERS, null);
+        assertEquals(RefutationStatus.LIMIT_REACHED, calculus.tryRefute(DIVERGING));
+        assertTrue(running.containsAll(server.queryNames(PROVERS, null)));
+    }
+
+    @Test
+    void testSubRunsNotMonitored() {
+        Set<AutomaticCalculus> created = ConcurrentHashMap.newKeySet();
+        Supplier<AutomaticCalculus> calculus = () -> {
+            CalculusR newCalculus = new CalculusR();
+            newCalculus.setMonitored(true);
+            created.add(newCalculus);
+            return newCalculus;
+        };
+        Set<Clause> clauses = Set.of(Clause.parse("=> P(a)"), Clause.parse("P(a) =>"));
+
+        new PortfolioProver(List.of(new PortfolioProver.Strategy("R", calculus))).refute(clauses);
+        try (Stream<BatchProver.ProblemResult> results = new BatchProver(calculus, 1, 0, null)
+                .refute(Stream.of(new BatchProver.Problem("p", clauses)))) {
+            assertEquals(1, results.count());
+        }
+        assertEquals(2, created.size());
+        assertTrue(created.stream().noneMatch(AutomaticCalculus::isMonitored));
+    }
+
+    Stream<Arguments> provideParametersForMonitor() {
+        return Stream.of(
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) CalculusR::new,
+                        "CalculusR",
+                        (Control) (server, bean) -> server.setAttribute(bean, new Attribute("MaxIterations", 1L)),
+                        RefutationStatus.LIMIT_REACHED
+                ),
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) CalculusR::new,
+                        "CalculusR",
+                        (Control) (server, bean) -> server.invoke(bean, "cancel", null, null),
+                        RefutationStatus.CANCELLED
+                ),
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) CalculusS::new,
+                        "CalculusS",
+                        (Control) (server, bean) -> server.setAttribute(bean, new Attribute("TimeLimitMillis", 1L)),
+                        RefutationStatus.LIMIT_REACHED
+                )
+        );
+    }
+
+    /**
+     * Wait for the bean of a refutation of the given calculus that was not already running.
+     */
+    private ObjectName awaitBean(String calculus, Set<ObjectName> running) throws Exception {
+        ObjectName pattern = name("org.mathlogic:type=Prover,name=" + calculus + "-*");
+        while (true) {
+            for (ObjectName bean : server.queryNames(pattern, null)) {
+                if (!running.contains(bean)) {
+                    return bean;
+                }
+            }
+            Thread.sleep(1);
+        }
+    }
+
+    private static ObjectName name(String name) {
+        try {
+            return new ObjectName(name);
+        } catch (MalformedObjectNameException e) {
+            throw new IllegalArgumentException(e);
+        }
+    }
+
+    @FunctionalInterface
+    private interface Control {
+        void apply(MBeanServer server, ObjectName bean) throws JMException;
+    }
+}
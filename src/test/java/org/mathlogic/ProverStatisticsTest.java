@@ -0,0 +1,143 @@
+package org.mathlogic;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.structure.Clause;
+
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProverStatisticsTest {
+    @ParameterizedTest(name = "{index} -> clauses={1}, rules={2}")
+    @MethodSource("provideParametersForCounters")
+    void testCounters(Supplier<AutomaticCalculus> newCalculus, Set<Clause> clauses, Set<InferenceRule> rules) {
+        AutomaticCalculus calculus = newCalculus.get();
+        ProverStatistics statistics = new ProverStatistics();
+        calculus.setStatistics(statistics);
+
+        assertTrue(calculus.refute(clauses));
+        assertEquals(calculus.getIterations(), statistics.getGivenClauses());
+        assertTrue(statistics.getKeptClauses() <= statistics.getGeneratedClauses());
+        assertTrue(statistics.getUnificationFailures() <= statistics.getUnifications());
+
+        long succeeded = 0;
+        for (InferenceRule rule : InferenceRule.values()) {
+            assertTrue(statistics.getSucceededInferences(rule) <= statistics.getAttemptedInferences(rule));
+            assertEquals(rules.contains(rule), statistics.getAttemptedInferences(rule) > 0, rule::name);
+            succeeded += statistics.getSucceededInferences(rule);
+        }
+        assertTrue(statistics.getGeneratedClauses() <= succeeded);
+        assertTrue(statistics.getPhaseNanos(ProverStatistics.Phase.INFERENCE) > 0);
+
+        statistics.reset();
+        assertEquals(0, statistics.getGivenClauses());
+        assertEquals(0, statistics.getPhaseNanos(ProverStatistics.Phase.INFERENCE));
+    }
+
+    @ParameterizedTest(name = "{index} -> clauses={0}")
+    @MethodSource("provideParametersForPipelinedCounters")
+    void testPipelinedCounters(Set<Clause> clauses) {
+        ProverStatistics sequential = new ProverStatistics();
+        ProverStatistics pipelined = new ProverStatistics();
+        CalculusR sequentialCalculus = new CalculusR();
+        sequentialCalculus.setStatistics(sequential);
+        CalculusR pipelinedCalculus = new CalculusR();
+        pipelinedCalculus.setStatistics(pipelined);
+        pipelinedCalculus.setParallelism(4);
+        pipelinedCalculus.setPipelined(true);
+
+        assertTrue(sequentialCalculus.refute(clauses));
+        assertTrue(pipelinedCalculus.refute(clauses));
+        assertEquals(sequential.getGeneratedClauses(), pipelined.getGeneratedClauses());
+        assertEquals(sequential.getUnifications(), pipelined.getUnifications());
+    }
+
+    @Test
+    void testIterationLog() {
+        StringWriter log = new StringWriter();
+        CalculusR calculus = new CalculusR();
+        calculus.setStatistics(new ProverStatistics(log));
+
+        assertTrue(calculus.refute(Set.of(
+                Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+                Clause.parse("=> R(c, ?y)"),
+                Clause.parse("Q(f(?y)) =>")
+        )));
+
+        String[] lines = log.toString().split("\n");
+        assertEquals(calculus.getIterations(), lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            assertTrue(lines[i].startsWith("{\"iteration\": " + (i + 1) + ","), lines[i]);
+            assertTrue(lines[i].endsWith("}"), lines[i]);
+        }
+        assertTrue(Arrays.stream(lines).allMatch(line -> line.contains("\"RESOLUTION\": {\"attempted\": ")));
+    }
+
+    @Test
+    void testDisabled() {
+        CalculusR calculus = new CalculusR();
+        assertNull(calculus.getStatistics());
+        assertTrue(calculus.refute(Set.of(Clause.parse("=> P(f(a))"), Clause.parse("P(f(?x)) =>"))));
+    }
+
+    Stream<Arguments> provideParametersForCounters() {
+        Set<Clause> resolution = Set.of(
+                Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+                Clause.parse("=> R(c, ?y)"),
+                Clause.parse("Q(f(?y)) =>")
+        );
+        Set<Clause> factorization = Set.of(
+                Clause.parse("=> R(?x, f(?y)), R(?y, f(?x))"),
+                Clause.parse("R(?x, f(?y)), R(?y, f(?x)) =>")
+        );
+        Set<Clause> equality = Set.of(
+                Clause.parse("=> =(p(d), a)"),
+                Clause.parse("=> =(p(c), a)"),
+                Clause.parse("f(c, d) =>"),
+                Clause.parse("=(p(?x), a) => =(m(?x), b)"),
+                Clause.parse("=(p(?x), p(?y)), =(m(?x), m(?y)) => f(?x, ?y)"),
+                Clause.parse("f(?x, ?y) => =(m(?x), m(?y))"),
+                Clause.parse("f(?x, ?y) => =(p(?x), p(?y))")
+        );
+        return Stream.of(
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, resolution, Set.of(InferenceRule.RESOLUTION)),
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) SortedCalculus::new,
+                        factorization,
+                        Set.of(InferenceRule.RESOLUTION, InferenceRule.RIGHT_FACTORIZATION)
+                ),
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) CalculusS::new,
+                        equality,
+                        Set.of(
+                                InferenceRule.LEFT_SUPERPOSITION,
+                                InferenceRule.RIGHT_SUPERPOSITION,
+                                InferenceRule.EQUALITY_RESOLUTION
+                        )
+                )
+        );
+    }
+
+    Stream<Arguments> provideParametersForPipelinedCounters() {
+        return Stream.of(
+                Arguments.of(Set.of(
+                        Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+                        Clause.parse("=> R(c, ?y)"),
+                        Clause.parse("Q(f(?y)) =>")
+                )),
+                Arguments.of(Set.of(
+                        Clause.parse("=> R(?x, f(?y)), R(?y, f(?x))"),
+                        Clause.parse("R(?x, f(?y)), R(?y, f(?x)) =>")
+                ))
+        );
+    }
+}
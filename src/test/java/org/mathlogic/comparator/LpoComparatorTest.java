@@ -23,6 +23,22 @@ class LpoComparatorTest {
         assertEquals(expected * -1, inverse);
     }
 
+    @ParameterizedTest(name = "{index} -> s={0}, s={1}, expected={2}")
+    @MethodSource("provideParametersForLpoComparison")
+    void testThreadCache(Term s, Term t, int expected) {
+        OrderingCache cache = new OrderingCache(64);
+        LpoComparator.setThreadCache(cache);
+        try {
+            assertEquals(expected, LpoComparator.DEFAULT.compare(s, t));
+            assertEquals(expected, LpoComparator.DEFAULT.compare(s, t));
+            assertEquals(expected * -1, LpoComparator.DEFAULT.compare(t, s));
+            assertEquals(expected, cache.get(s, t));
+        } finally {
+            LpoComparator.setThreadCache(null);
+        }
+        assertNull(LpoComparator.getThreadCache());
+    }
+
     Stream<Arguments> provideParametersForLpoComparison() {
         return Stream.of(
                 Arguments.of(Term.MINIMAL, Term.parse("?x"), -1),
@@ -0,0 +1,100 @@
+package org.mathlogic.event;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.AutomaticCalculus;
+import org.mathlogic.CalculusR;
+import org.mathlogic.CalculusS;
+import org.mathlogic.InferenceRule;
+import org.mathlogic.structure.Clause;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ProverEventsTest {
+    private static final List<String> EVENTS = List.of(
+            "org.mathlogic.GivenClause",
+            "org.mathlogic.Inference",
+            "org.mathlogic.RuleApplication",
+            "org.mathlogic.Reduction",
+            "org.mathlogic.Unification"
+    );
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest(name = "{index} -> clauses={1}, rule={2}")
+    @MethodSource("provideParametersForEvents")
+    void testEvents(Supplier<AutomaticCalculus> newCalculus, Set<Clause> clauses, InferenceRule rule) throws IOException {
+        AutomaticCalculus calculus = newCalculus.get();
+        Path file = directory.resolve("refutation.jfr");
+        try (Recording recording = new Recording()) {
+            EVENTS.forEach(event -> recording.enable(event).withoutThreshold());
+            recording.start();
+            assertTrue(calculus.refute(clauses));
+            recording.stop();
+            recording.dump(file);
+        }
+
+        List<RecordedEvent> events = RecordingFile.readAllEvents(file);
+        List<RecordedEvent> selections = ofType(events, "org.mathlogic.GivenClause");
+        assertEquals(calculus.getIterations(), selections.size());
+        assertEquals(
+                LongStream.rangeClosed(1, calculus.getIterations()).boxed().toList(),
+                selections.stream().map(event -> event.getLong("iteration")).sorted().toList()
+        );
+        assertTrue(selections.stream().allMatch(event -> event.getInt("clauseId") >= 0));
+
+        assertEquals(2 * calculus.getIterations(), ofType(events, "org.mathlogic.Reduction").size());
+        assertTrue(ofType(events, "org.mathlogic.Inference").stream()
+                .allMatch(event -> event.getInt("givenId") >= 0 && event.getInt("partnerId") >= 0));
+        assertTrue(ofType(events, "org.mathlogic.RuleApplication").stream()
+                .anyMatch(event -> event.getString("rule").equals(rule.name()) && event.getBoolean("succeeded")));
+        assertFalse(ofType(events, "org.mathlogic.Unification").isEmpty());
+    }
+
+    Stream<Arguments> provideParametersForEvents() {
+        return Stream.of(
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) CalculusR::new,
+                        Set.of(
+                                Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+                                Clause.parse("=> R(c, ?y)"),
+                                Clause.parse("Q(f(?y)) =>")
+                        ),
+                        InferenceRule.RESOLUTION
+                ),
+                Arguments.of(
+                        (Supplier<AutomaticCalculus>) CalculusS::new,
+                        Set.of(
+                                Clause.parse("=> =(p(d), a)"),
+                                Clause.parse("=> =(p(c), a)"),
+                                Clause.parse("f(c, d) =>"),
+                                Clause.parse("=(p(?x), a) => =(m(?x), b)"),
+                                Clause.parse("=(p(?x), p(?y)), =(m(?x), m(?y)) => f(?x, ?y)"),
+                                Clause.parse("f(?x, ?y) => =(m(?x), m(?y))"),
+                                Clause.parse("f(?x, ?y) => =(p(?x), p(?y))")
+                        ),
+                        InferenceRule.LEFT_SUPERPOSITION
+                )
+        );
+    }
+
+    private static List<RecordedEvent> ofType(List<RecordedEvent> events, String name) {
+        return events.stream().filter(event -> event.getEventType().getName().equals(name)).toList();
+    }
+}
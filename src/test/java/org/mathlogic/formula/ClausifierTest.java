@@ -0,0 +1,114 @@
+package org.mathlogic.formula;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.CalculusS;
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClausifierTest {
+    @ParameterizedTest(name = "{index} -> formula={0}")
+    @MethodSource("provideParametersForClausify")
+    void testClausify(Formula formula, Set<Clause> expected) {
+        assertEquals(expected, new Clausifier().clausify(formula));
+    }
+
+    @ParameterizedTest(name = "{index} -> formula={0}, refutable={1}")
+    @MethodSource("provideParametersForRefuteClausified")
+    void testRefuteClausified(Formula formula, boolean refutable) {
+        Set<Clause> clauses = new Clausifier(1, Clausifier.DEFAULT_SYMBOL_PREFIX).clausify(formula);
+
+        assertEquals(refutable, new CalculusS().refute(clauses));
+    }
+
+    @Test
+    void testLinearGrowth() {
+        int n = 16;
+        List<Formula> conjunctions = new ArrayList<>();
+        Formula equivalences = atom("p0");
+        for (int i = 1; i <= n; i++) {
+            conjunctions.add(Formula.and(atom("p" + i), atom("q" + i)));
+            equivalences = Formula.iff(atom("p" + i), equivalences);
+        }
+
+        for (Formula formula : List.of(new Formula.Or(conjunctions), equivalences)) {
+            assertTrue(Clausifier.clauseCount(formula, 1) >= 1 << n);
+
+            Set<Clause> clauses = new Clausifier().clausify(formula);
+            int literals = clauses.stream().mapToInt(clause -> clause.getAllLiterals().size()).sum();
+            assertTrue(clauses.size() <= 8 * n, () -> "Too many clauses: " + clauses.size());
+            assertTrue(literals <= 24 * n, () -> "Too many literals: " + literals);
+        }
+    }
+
+    Stream<Arguments> provideParametersForClausify() {
+        return Stream.of(
+                Arguments.of(Formula.TRUE, Set.of()),
+                Arguments.of(Formula.FALSE, Set.of(new Clause())),
+                Arguments.of(
+                        Formula.or(atom("P(?x)"), Formula.not(atom("P(?x)"))),
+                        Set.of()
+                ),
+                Arguments.of(
+                        Formula.forall(List.of("?x"), Formula.implies(
+                                atom("P(?x)"),
+                                Formula.exists(List.of("?y"), atom("Q(?x, ?y)"))
+                        )),
+                        Set.of(Clause.parse("P(?x) => Q(?x, $sk1(?x))"))
+                ),
+                Arguments.of(
+                        Formula.forall(List.of("?x"), Formula.exists(List.of("?y"), Formula.and(
+                                atom("P(?x)"),
+                                atom("Q(?y)")
+                        ))),
+                        Set.of(Clause.parse("=> P(?x)"), Clause.parse("=> Q($sk1)"))
+                ),
+                Arguments.of(
+                        Formula.or(
+                                Formula.forall(List.of("?x"), atom("P(?x)")),
+                                Formula.forall(List.of("?x"), atom("Q(?x)"))
+                        ),
+                        Set.of(Clause.parse("=> P(?x), Q(?v1)"))
+                ),
+                Arguments.of(
+                        Formula.not(Formula.forall(List.of("?x"), Formula.iff(atom("P(?x)"), atom("Q(?x)")))),
+                        Set.of(Clause.parse("=> P($sk1), Q($sk1)"), Clause.parse("P($sk1), Q($sk1) =>"))
+                )
+        );
+    }
+
+    Stream<Arguments> provideParametersForRefuteClausified() {
+        Formula disjunction = Formula.or(
+                Formula.and(atom("P(a)"), atom("Q(a)")),
+                Formula.and(atom("P(b)"), atom("Q(b)")),
+                Formula.and(atom("P(c)"), atom("Q(c)"))
+        );
+        Formula drinker = Formula.exists(List.of("?x"), Formula.implies(
+                atom("D(?x)"),
+                Formula.forall(List.of("?y"), atom("D(?y)"))
+        ));
+        return Stream.of(
+                Arguments.of(Formula.and(disjunction, negated("P(a)"), negated("Q(b)"), negated("P(c)")), true),
+                Arguments.of(Formula.not(drinker), true)
+        );
+    }
+
+    private static Formula atom(String literal) {
+        return Formula.atom(Literal.parse(literal));
+    }
+
+    private static Formula negated(String literal) {
+        return Formula.not(atom(literal));
+    }
+}
@@ -0,0 +1,103 @@
+package org.mathlogic.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.AutomaticCalculus;
+import org.mathlogic.CalculusR;
+import org.mathlogic.CalculusS;
+import org.mathlogic.RefutationStatus;
+import org.mathlogic.exception.CheckpointException;
+import org.mathlogic.store.ClauseSet;
+import org.mathlogic.store.ClauseStore;
+import org.mathlogic.structure.Clause;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class CheckpointTest {
+    @TempDir
+    Path directory;
+
+    @Test
+    void testWriteRead() throws IOException {
+        ClauseStore store = new ClauseStore();
+        ClauseSet usable = store.createSet();
+        ClauseSet worked = store.createSet();
+        usable.add(Clause.parse("Q(f(?y)) => R(c, ?y)"));
+        store.nextAge();
+        usable.add(Clause.parse("=> P(f(a)), =(g(?x), a)"));
+        usable.add(Clause.parse("=> P(b)"));
+        worked.add(Clause.parse("P(f(?x)) =>"));
+        usable.remove(Clause.parse("=> P(b)"));
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        new Checkpoint("calculus", 7, store.snapshot()).write(Channels.newChannel(bytes));
+        Checkpoint checkpoint = Checkpoint.read(Channels.newChannel(new ByteArrayInputStream(bytes.toByteArray())));
+
+        assertEquals("calculus", checkpoint.calculus());
+        assertEquals(7, checkpoint.iterations());
+        ClauseStore restored = new ClauseStore();
+        ClauseSet restoredUsable = restored.createSet();
+        ClauseSet restoredWorked = restored.createSet();
+        restored.restore(checkpoint.store());
+        assertEquals(new ArrayList<>(usable), new ArrayList<>(restoredUsable));
+        assertEquals(new ArrayList<>(worked), new ArrayList<>(restoredWorked));
+        for (Clause clause : usable) {
+            assertEquals(store.idOf(clause), restored.idOf(clause));
+            assertEquals(store.getAge(store.idOf(clause)), restored.getAge(restored.idOf(clause)));
+        }
+        assertEquals(store.getCurrentAge(), restored.getCurrentAge());
+    }
+
+    @Test
+    void testCloseAfterFailedWrite() {
+        CheckpointWriter writer = new CheckpointWriter(directory.resolve("missing").resolve("failed.ckpt"));
+        assertTrue(writer.submit(new Checkpoint("calculus", 1, new ClauseStore().snapshot())));
+
+        assertThrows(CheckpointException.class, writer::close);
+    }
+
+    @ParameterizedTest(name = "{index} -> clauses={1}")
+    @MethodSource("provideParametersForResume")
+    void testResume(Supplier<AutomaticCalculus> calculus, Set<Clause> clauses) {
+        AutomaticCalculus uninterrupted = calculus.get();
+        assertTrue(uninterrupted.refute(clauses));
+        long iterations = uninterrupted.getIterations();
+
+        Path path = directory.resolve("saturation.ckp");
+        AutomaticCalculus interrupted = calculus.get();
+        interrupted.setCheckpoint(path, 2);
+        interrupted.setMaxIterations(iterations - 1);
+        assertEquals(RefutationStatus.LIMIT_REACHED, interrupted.tryRefute(clauses));
+
+        AutomaticCalculus resumed = calculus.get();
+        assertTrue(resumed.resume(path));
+        assertEquals(iterations, resumed.getIterations());
+    }
+
+    Stream<Arguments> provideParametersForResume() {
+        Set<Clause> chain = Set.of(
+                Clause.parse("=> P(a)"),
+                Clause.parse("P(?x) => P(f(?x))"),
+                Clause.parse("P(f(f(f(f(a))))) =>")
+        );
+        return Stream.of(
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, chain),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusS::new, chain)
+        );
+    }
+}
@@ -0,0 +1,60 @@
+package org.mathlogic.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.structure.Clause;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClauseSetFileTest {
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest(name = "{index} -> clauses={0}")
+    @MethodSource("provideParametersForWriteOpen")
+    void testWriteOpen(List<Clause> clauses) throws IOException {
+        Path path = directory.resolve("clauses.bin");
+        ClauseSetFile.write(path, clauses);
+
+        ClauseSetFile file = ClauseSetFile.open(path);
+
+        assertEquals(clauses.size(), file.size());
+        for (int i = clauses.size() - 1; i >= 0; i--) {
+            assertEquals(clauses.get(i), file.get(i));
+        }
+        assertEquals(clauses, new ArrayList<>(file.readAll()));
+    }
+
+    @Test
+    void testOpenInvalidFile() throws IOException {
+        Path path = directory.resolve("invalid.bin");
+        Files.writeString(path, "=> P(a)");
+
+        assertThrows(IOException.class, () -> ClauseSetFile.open(path));
+    }
+
+    Stream<Arguments> provideParametersForWriteOpen() {
+        return Stream.of(
+                Arguments.of(List.of()),
+                Arguments.of(List.of(Clause.parse("=>"))),
+                Arguments.of(List.of(
+                        Clause.parse("Q(f(?y)) => R(c, ?y)"),
+                        Clause.parse("=> R(c, f(?y)), P(f(f(a)))"),
+                        Clause.parse("P(f(?x)), =(g(?x), f(?x)) =>"),
+                        Clause.parse("=> Q")
+                ))
+        );
+    }
+}
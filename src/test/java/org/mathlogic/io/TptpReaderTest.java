@@ -0,0 +1,139 @@
+package org.mathlogic.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.exception.TptpSyntaxException;
+import org.mathlogic.structure.Clause;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TptpReaderTest {
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest(name = "{index} -> problem={0}")
+    @MethodSource("provideParametersForRead")
+    void testRead(String problem, List<Clause> expected) throws IOException {
+        Path path = directory.resolve("problem.p");
+        Files.writeString(path, problem);
+
+        assertEquals(expected, new ArrayList<>(TptpReader.readAll(path)));
+    }
+
+    @Test
+    void testInclude() throws IOException {
+        Files.createDirectories(directory.resolve("Axioms"));
+        Files.writeString(directory.resolve("Axioms/axioms.ax"), """
+                cnf(reflexivity, axiom, X = X).
+                cnf(p_a, axiom, p(a)).
+                """);
+        Files.writeString(directory.resolve("first.p"), """
+                include('Axioms/axioms.ax').
+                cnf(goal, negated_conjecture, ~ p(X)).
+                """);
+        Files.writeString(directory.resolve("second.p"), """
+                include('Axioms/axioms.ax', [p_a]).
+                """);
+
+        TptpReader.IncludeCache cache = new TptpReader.IncludeCache();
+        List<Clause> first;
+        try (TptpReader reader = new TptpReader(directory.resolve("first.p"), cache)) {
+            first = reader.clauses().toList();
+        }
+        List<Clause> second;
+        try (TptpReader reader = new TptpReader(directory.resolve("second.p"), cache)) {
+            second = reader.clauses().toList();
+        }
+
+        assertEquals(List.of(
+                Clause.parse("=> =(?X, ?X)"),
+                Clause.parse("=> p(a)"),
+                Clause.parse("p(?X) =>")
+        ), first);
+        assertEquals(List.of(Clause.parse("=> p(a)")), second);
+        assertEquals(1, cache.size());
+    }
+
+    @Test
+    void testIncludeCycle() throws IOException {
+        Files.writeString(directory.resolve("cycle.p"), "include('cycle.p').");
+
+        assertThrows(TptpSyntaxException.class, () -> TptpReader.readAll(directory.resolve("cycle.p")));
+    }
+
+    @ParameterizedTest(name = "{index} -> problem={0}")
+    @MethodSource("provideParametersForSyntaxError")
+    void testSyntaxError(String problem) throws IOException {
+        Path path = directory.resolve("invalid.p");
+        Files.writeString(path, problem);
+
+        assertThrows(TptpSyntaxException.class, () -> TptpReader.readAll(path));
+    }
+
+    Stream<Arguments> provideParametersForRead() {
+        return Stream.of(
+                Arguments.of("", List.of()),
+                Arguments.of("""
+                        % Comment
+                        cnf(c1, axiom, ( ~ p(X) | q(f(X), 'b') )).
+                        /* Block
+                           comment */
+                        cnf(c2, hypothesis, p(a), file('x.p', c2), [useful]).
+                        """, List.of(
+                        Clause.parse("p(?X) => q(f(?X), 'b')"),
+                        Clause.parse("=> p(a)")
+                )),
+                Arguments.of("""
+                        cnf(eq, axiom, f(X, Y) = f(Y, X) | g(X) != a).
+                        cnf(false, axiom, p | $false).
+                        cnf(true, axiom, p | $true).
+                        """, List.of(
+                        Clause.parse("=(g(?X), a) => =(f(?X, ?Y), f(?Y, ?X))"),
+                        Clause.parse("=> p")
+                )),
+                Arguments.of("""
+                        fof(a1, axiom, ! [X, Y] : (~ r(X, Y) | r(Y, X))).
+                        fof(a2, axiom, r(a, b) & ! [X] : ~ ~ s(X)).
+                        fof(goal, conjecture, r(b, a) | s(c)).
+                        """, List.of(
+                        Clause.parse("r(?X, ?Y) => r(?Y, ?X)"),
+                        Clause.parse("=> r(a, b)"),
+                        Clause.parse("=> s(?X)"),
+                        Clause.parse("r(b, a) =>"),
+                        Clause.parse("s(c) =>")
+                )),
+                Arguments.of("""
+                        fof(total, axiom, ! [X] : ? [Y] : (r(X, Y) <= $true)).
+                        fof(goal, conjecture, ! [X] : (p(X) => ~ (q(X) ~& $true))).
+                        """, List.of(
+                        Clause.parse("=> r(?X, $problem.p_sk1(?X))"),
+                        Clause.parse("=> p($problem.p_sk2)"),
+                        Clause.parse("q($problem.p_sk2) =>")
+                ))
+        );
+    }
+
+    Stream<Arguments> provideParametersForSyntaxError() {
+        return Stream.of(
+                Arguments.of("cnf(c1, axiom, p(a))"),
+                Arguments.of("cnf(c1, axiom, p(a)"),
+                Arguments.of("cnf(c1, axiom, X)."),
+                Arguments.of("tff(c1, axiom, p)."),
+                Arguments.of("fof(c1, axiom, ! [X] p(X))."),
+                Arguments.of("fof(c1, conjecture, p & q => r)."),
+                Arguments.of("include('missing.ax').")
+        );
+    }
+}
@@ -0,0 +1,168 @@
+package org.mathlogic.io;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.api.io.TempDir;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.AutomaticCalculus;
+import org.mathlogic.CalculusR;
+import org.mathlogic.CalculusS;
+import org.mathlogic.InferenceRule;
+import org.mathlogic.ReductionRule;
+import org.mathlogic.SortedCalculus;
+import org.mathlogic.TraceReplay;
+import org.mathlogic.comparator.OrderingCache;
+import org.mathlogic.structure.Clause;
+
+import java.nio.file.Path;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Supplier;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TraceTest {
+    private static final List<Clause> RESOLUTION = List.of(
+            Clause.parse("R(?x, s(?x)) => Q(f(?x))"),
+            Clause.parse("=> R(c, ?y)"),
+            Clause.parse("Q(f(?y)) =>")
+    );
+    private static final List<Clause> FACTORIZATION = List.of(
+            Clause.parse("=> R(?x, f(?y)), R(?y, f(?x))"),
+            Clause.parse("R(?x, f(?y)), R(?y, f(?x)) =>")
+    );
+    private static final List<Clause> EQUALITY = List.of(
+            Clause.parse("=> =(p(d), a)"),
+            Clause.parse("=> =(p(c), a)"),
+            Clause.parse("f(c, d) =>"),
+            Clause.parse("=(p(?x), a) => =(m(?x), b)"),
+            Clause.parse("=(p(?x), p(?y)), =(m(?x), m(?y)) => f(?x, ?y)"),
+            Clause.parse("f(?x, ?y) => =(m(?x), m(?y))"),
+            Clause.parse("f(?x, ?y) => =(p(?x), p(?y))")
+    );
+
+    private static final List<Clause> REDUCTIONS = List.of(
+            Clause.parse("=> P(a), Q(a)"),
+            Clause.parse("P(?x) => Q(?x)"),
+            Clause.parse("Q(a) => R(a)"),
+            Clause.parse("=> P(?x), R(?x)"),
+            Clause.parse("R(a), Q(a) => S(b)")
+    );
+
+    @TempDir
+    Path directory;
+
+    @ParameterizedTest(name = "{index} -> clauses={1}, streamed={2}, parallel={3}")
+    @MethodSource("provideParametersForTrace")
+    void testTrace(Supplier<AutomaticCalculus> newCalculus, List<Clause> clauses, boolean streamed, boolean parallel) {
+        AutomaticCalculus calculus = newCalculus.get();
+        Path path = directory.resolve("refutation.trace");
+        calculus.setDeterministic(true);
+        calculus.setTrace(path);
+        if (parallel) {
+            calculus.setParallelism(2);
+            calculus.setPipelined(true);
+            calculus.setOrderingCache(new OrderingCache(1024));
+        }
+
+        assertTrue(streamed ? calculus.refute(clauses.stream()) : calculus.refute(new LinkedHashSet<>(clauses)));
+        Trace trace = Trace.read(path);
+        assertEquals(calculus.getClass().getName(), trace.calculus());
+        assertEquals(parallel ? 2 : 1, trace.parallelism());
+        assertEquals(parallel, trace.pipelined());
+        assertEquals(parallel ? 1024 : 0, trace.orderingCacheCapacity());
+        assertEquals(streamed ? Trace.Origin.STREAM : Trace.Origin.SET, trace.origin());
+        assertEquals(clauses, trace.input());
+        assertEquals(Boolean.TRUE, trace.refuted());
+        assertEquals(calculus.getIterations(), trace.steps().size());
+        for (int i = 0; i < trace.steps().size(); i++) {
+            Trace.Step step = trace.steps().get(i);
+            assertEquals(i + 1, step.iteration());
+            assertTrue(step.nanos() >= 0);
+            Set<Clause> derived = new HashSet<>();
+            for (Trace.Inference inference : step.inferences()) {
+                for (Trace.Conclusion conclusion : inference.conclusions()) {
+                    InferenceRule.valueOf(conclusion.rule());
+                    derived.add(conclusion.clause());
+                }
+            }
+            for (Trace.Reduction reduction : step.reductions()) {
+                ReductionRule.valueOf(reduction.rule());
+                assertFalse(reduction.deleted().isEmpty() && reduction.replacements().isEmpty());
+                derived.addAll(reduction.replacements());
+            }
+            for (Trace.StoredClause kept : step.kept()) {
+                assertTrue(kept.id() >= 0);
+                assertTrue(derived.contains(kept.clause()));
+            }
+        }
+
+        TraceReplay.Result result = TraceReplay.replay(trace);
+        assertTrue(result.samePath(), () -> "Diverged at step " + result.divergence());
+        assertEquals(trace.steps().size(), result.replayed().steps().size());
+    }
+
+    @Test
+    void testReductions() {
+        // The pipelined loop deletes and replaces the same clauses as the sequential one
+        Path sequential = directory.resolve("sequential.trace");
+        Path pipelined = directory.resolve("pipelined.trace");
+        AutomaticCalculus calculus = new CalculusR();
+        calculus.setDeterministic(true);
+        calculus.setTrace(sequential);
+        AutomaticCalculus pipelinedCalculus = new CalculusR();
+        pipelinedCalculus.setDeterministic(true);
+        pipelinedCalculus.setParallelism(4);
+        pipelinedCalculus.setPipelined(true);
+        pipelinedCalculus.setTrace(pipelined);
+
+        assertFalse(calculus.refute(new LinkedHashSet<>(REDUCTIONS)));
+        assertFalse(pipelinedCalculus.refute(new LinkedHashSet<>(REDUCTIONS)));
+        Trace trace = Trace.read(sequential);
+        assertTrue(trace.steps().stream().anyMatch(step -> step.reductions().stream()
+                .anyMatch(reduction -> !reduction.deleted().isEmpty())));
+        assertEquals(-1, trace.firstDivergence(Trace.read(pipelined)));
+    }
+
+    @Test
+    void testDivergence() {
+        // The ordering restriction of the sorted calculus changes the inferences of the same given clauses
+        Path resolution = directory.resolve("resolution.trace");
+        Path ordered = directory.resolve("ordered.trace");
+        AutomaticCalculus calculus = new CalculusR();
+        calculus.setDeterministic(true);
+        calculus.setTrace(resolution);
+        AutomaticCalculus sortedCalculus = new SortedCalculus();
+        sortedCalculus.setDeterministic(true);
+        sortedCalculus.setTrace(ordered);
+
+        assertTrue(calculus.refute(new LinkedHashSet<>(RESOLUTION)));
+        assertTrue(sortedCalculus.refute(new LinkedHashSet<>(RESOLUTION)));
+        Trace trace = Trace.read(resolution);
+        assertEquals(-1, trace.firstDivergence(trace));
+        assertTrue(trace.firstDivergence(Trace.read(ordered)) >= 0);
+
+        // A continued saturation is traced, but it cannot be replayed
+        assertTrue(calculus.checkRefutable());
+        Trace continued = Trace.read(resolution);
+        assertEquals(Trace.Origin.STATE, continued.origin());
+        assertThrows(IllegalArgumentException.class, () -> TraceReplay.replay(continued));
+    }
+
+    Stream<Arguments> provideParametersForTrace() {
+        return Stream.of(
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, RESOLUTION, false, false),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, RESOLUTION, true, false),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusR::new, RESOLUTION, false, true),
+                Arguments.of((Supplier<AutomaticCalculus>) SortedCalculus::new, FACTORIZATION, false, false),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusS::new, EQUALITY, false, false),
+                Arguments.of((Supplier<AutomaticCalculus>) CalculusS::new, EQUALITY, false, true)
+        );
+    }
+}
@@ -0,0 +1,129 @@
+package org.mathlogic.store;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.mathlogic.structure.Clause;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ClauseStoreTest {
+    private ClauseStore store;
+    private ClauseSet usable;
+    private ClauseSet worked;
+
+    @BeforeEach
+    void setUp() {
+        store = new ClauseStore();
+        usable = store.createSet();
+        worked = store.createSet();
+    }
+
+    @Test
+    void testStableIdAndAge() {
+        Clause clause1 = Clause.parse("Q(f(?y)) => R(c, ?y)");
+        Clause clause2 = Clause.parse("=> P(f(a))");
+        usable.add(clause1);
+        store.nextAge();
+        usable.add(clause2);
+
+        int id1 = store.idOf(clause1);
+        int id2 = store.idOf(clause2);
+        assertNotEquals(id1, id2);
+        assertEquals(0, store.getAge(id1));
+        assertEquals(1, store.getAge(id2));
+
+        // Moving a clause between sets of the same store keeps its id
+        worked.add(clause1);
+        usable.remove(clause1);
+        assertEquals(id1, store.idOf(clause1));
+        assertTrue(worked.contains(Clause.parse("Q(f(?y)) => R(c, ?y)")));
+        assertFalse(usable.contains(clause1));
+    }
+
+    @Test
+    void testDeleteWhenNoSetContainsClause() {
+        Clause clause = Clause.parse("P(f(?x)) =>");
+        usable.add(clause);
+        worked.add(clause);
+
+        usable.remove(clause);
+        assertEquals(1, store.size());
+
+        worked.remove(clause);
+        assertEquals(0, store.size());
+        assertTrue(store.idOf(clause) < 0);
+    }
+
+    @Test
+    void testReplacementNotifiesListeners() {
+        List<String> events = new ArrayList<>();
+        store.addListener(new ClauseStoreListener() {
+            @Override
+            public void onInsert(int id, Clause clause) {
+                events.add("+" + id);
+            }
+
+            @Override
+            public void onDelete(int id, Clause clause) {
+                events.add("-" + id);
+            }
+        });
+
+        Clause target = Clause.parse("P(b) => R(c)");
+        usable.add(target);
+        usable.remove(target);
+        usable.add(Clause.parse("=> R(c)"));
+
+        assertEquals(List.of("+0", "-0", "+1"), events);
+        assertEquals(1, usable.size());
+        assertTrue(usable.contains(Clause.parse("=> R(c)")));
+    }
+
+    @Test
+    void testIteratorRemove() {
+        usable.add(Clause.parse("=> P(a)"));
+        usable.add(Clause.parse("=> P(b)"));
+        usable.add(Clause.parse("=> P(c)"));
+
+        usable.removeIf(clause -> clause.equals(Clause.parse("=> P(b)")));
+
+        assertEquals(List.of(Clause.parse("=> P(a)"), Clause.parse("=> P(c)")), new ArrayList<>(usable));
+        assertEquals(2, store.size());
+    }
+
+    @Test
+    void testSnapshotRestore() {
+        usable.add(Clause.parse("=> P(a)"));
+        usable.add(Clause.parse("=> P(b)"));
+        worked.add(Clause.parse("P(?x) => Q(?x)"));
+        ClauseStore.Snapshot snapshot = store.snapshot();
+
+        // Changes after the snapshot do not affect it
+        usable.remove(Clause.parse("=> P(a)"));
+        assertEquals(2, store.size());
+
+        ClauseStore fork = new ClauseStore();
+        ClauseSet forkUsable = fork.createSet();
+        ClauseSet forkWorked = fork.createSet();
+        fork.restore(snapshot);
+        assertEquals(3, fork.size());
+        assertEquals(2, forkUsable.size());
+        assertTrue(forkWorked.contains(Clause.parse("P(?x) => Q(?x)")));
+
+        // Changes of the fork do not affect the snapshot
+        forkUsable.remove(Clause.parse("=> P(b)"));
+        forkUsable.add(Clause.parse("=> P(c)"));
+        assertEquals(List.of(Clause.parse("=> P(a)"), Clause.parse("=> P(c)")), new ArrayList<>(forkUsable));
+        assertTrue(fork.idOf(Clause.parse("=> P(b)")) < 0);
+        assertEquals(3, fork.idOf(Clause.parse("=> P(c)")));
+
+        store.restore(snapshot);
+        assertEquals(List.of(Clause.parse("=> P(a)"), Clause.parse("=> P(b)")), new ArrayList<>(usable));
+        assertEquals(3, store.size());
+    }
+}
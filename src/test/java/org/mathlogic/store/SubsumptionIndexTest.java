@@ -0,0 +1,69 @@
+package org.mathlogic.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.structure.Clause;
+
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class SubsumptionIndexTest {
+    @ParameterizedTest(name = "{index} -> indexed={0}, clause={1}, subsuming={2}, subsumed={3}")
+    @MethodSource("provideParametersForFind")
+    void testFind(List<Clause> indexed, Clause clause, Clause subsuming, Set<Clause> subsumed) {
+        ClauseStore store = new ClauseStore();
+        try (SubsumptionIndex index = new SubsumptionIndex(store)) {
+            indexed.forEach(store::insert);
+
+            assertEquals(subsuming, index.findSubsuming(clause));
+            assertEquals(subsumed, Set.copyOf(index.findSubsumed(clause)));
+        }
+    }
+
+    @Test
+    void testDeleteAndClose() {
+        ClauseStore store = new ClauseStore();
+        Clause general = Clause.parse("P(?x) => Q(?x)");
+        Clause specific = Clause.parse("P(a), R(a) => Q(a)");
+        SubsumptionIndex index = new SubsumptionIndex(store);
+        int id = store.insert(general);
+
+        assertEquals(general, index.findSubsuming(specific));
+
+        store.delete(id);
+        assertNull(index.findSubsuming(specific));
+
+        index.close();
+        store.insert(general);
+        assertNull(index.findSubsuming(specific));
+    }
+
+    Stream<Arguments> provideParametersForFind() {
+        List<Clause> indexed = List.of(
+                Clause.parse("P(?x) => Q(?x)"),
+                Clause.parse("=> Q(a), R(b)"),
+                Clause.parse("P(a), P(b) => Q(a)"),
+                Clause.parse("=> S(?x, ?y)")
+        );
+        return Stream.of(
+                Arguments.of(indexed, Clause.parse("P(a), R(a) => Q(a)"), Clause.parse("P(?x) => Q(?x)"), Set.of()),
+                Arguments.of(indexed, Clause.parse("=> Q(a)"), null, Set.of(
+                        Clause.parse("=> Q(a), R(b)"),
+                        Clause.parse("P(a), P(b) => Q(a)")
+                )),
+                Arguments.of(indexed, Clause.parse("P(?y) => "), null, Set.of(
+                        Clause.parse("P(?x) => Q(?x)"),
+                        Clause.parse("P(a), P(b) => Q(a)")
+                )),
+                Arguments.of(indexed, Clause.parse("=> S(a, b), T"), Clause.parse("=> S(?x, ?y)"), Set.of()),
+                Arguments.of(indexed, Clause.parse("S(a, b) =>"), null, Set.of())
+        );
+    }
+}
@@ -0,0 +1,74 @@
+package org.mathlogic.structure;
+
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class TermBankTest {
+    @ParameterizedTest(name = "{index} -> first={0}, second={1}")
+    @MethodSource("provideParametersForIntern")
+    void testIntern(Clause first, Clause second) {
+        TermBank bank = new TermBank();
+
+        Clause internedFirst = bank.intern(first);
+        Clause internedSecond = bank.intern(second);
+
+        assertEquals(first, internedFirst);
+        assertEquals(second, internedSecond);
+        for (Literal literal : internedFirst.getAllLiterals()) {
+            for (Literal other : internedSecond.getAllLiterals()) {
+                for (Term term : literal.getTerms()) {
+                    for (Term otherTerm : other.getTerms()) {
+                        if (term.equals(otherTerm)) {
+                            assertSame(term, otherTerm);
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    @ParameterizedTest(name = "{index} -> capacity={0}, clause={1}")
+    @MethodSource("provideParametersForCapacity")
+    void testCapacity(int capacity, Clause clause) {
+        TermBank bank = new TermBank(capacity);
+
+        for (int i = 0; i < 10; i++) {
+            assertEquals(clause, bank.intern(clause));
+            bank.intern(Term.parse("f" + i + "(a" + i + ")"));
+            assertTrue(bank.termCount() <= capacity);
+            assertTrue(bank.symbolCount() <= capacity);
+        }
+
+        bank.clear();
+        assertEquals(0, bank.termCount());
+        assertEquals(0, bank.symbolCount());
+    }
+
+    Stream<Arguments> provideParametersForIntern() {
+        return Stream.of(
+                Arguments.of(
+                        Clause.parse("P(f(a), ?x) => Q(g(b))"),
+                        Clause.parse("R(f(a)) => Q(g(b), ?x)")
+                ),
+                Arguments.of(
+                        Clause.parse("=> P(f(g(a)))"),
+                        Clause.parse("P(f(g(a))) =>")
+                )
+        );
+    }
+
+    Stream<Arguments> provideParametersForCapacity() {
+        return Stream.of(
+                Arguments.of(1, Clause.parse("P(f(a), ?x) => Q(g(b))")),
+                Arguments.of(4, Clause.parse("P(f(a), ?x) => Q(g(b))")),
+                Arguments.of(16, Clause.parse("=> P(f(g(a)))"))
+        );
+    }
+}
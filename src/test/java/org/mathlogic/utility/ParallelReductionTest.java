@@ -0,0 +1,137 @@
+package org.mathlogic.utility;
+
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.store.ClauseSet;
+import org.mathlogic.store.ClauseStore;
+import org.mathlogic.structure.Clause;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParallelReductionTest {
+    private ForkJoinPool pool;
+
+    @BeforeAll
+    void setUp() {
+        pool = new ForkJoinPool(4);
+    }
+
+    @AfterAll
+    void tearDown() {
+        pool.shutdownNow();
+    }
+
+    @ParameterizedTest(name = "{index} -> clauses={0}")
+    @MethodSource("provideParametersForSubsumptionReduction")
+    void testSubsumptionReduction(List<Clause> clauses) {
+        ClauseSet sequential = createSet(clauses);
+        ClauseSet parallel = createSet(clauses);
+
+        int sequentialRemoved = Reduction.removeTautology(sequential) + Reduction.subsumptionReduction(sequential);
+        int parallelRemoved = ParallelReduction.removeTautology(parallel, pool) +
+                ParallelReduction.subsumptionReduction(parallel, pool);
+
+        assertEquals(new ArrayList<>(sequential), new ArrayList<>(parallel));
+        assertEquals(sequentialRemoved, parallelRemoved);
+    }
+
+    @ParameterizedTest(name = "{index} -> reference={0}, target={1}")
+    @MethodSource("provideParametersForMatchingReplacementResolution")
+    void testMatchingReplacementResolution(List<Clause> reference, List<Clause> target) {
+        ClauseStore sequentialStore = new ClauseStore();
+        ClauseSet sequentialReference = createSet(sequentialStore, reference);
+        ClauseSet sequentialTarget = createSet(sequentialStore, target);
+        ClauseStore parallelStore = new ClauseStore();
+        ClauseSet parallelReference = createSet(parallelStore, reference);
+        ClauseSet parallelTarget = createSet(parallelStore, target);
+
+        int sequentialReplaced = Reduction.matchingReplacementResolution(sequentialReference, sequentialTarget);
+        int parallelReplaced = ParallelReduction.matchingReplacementResolution(parallelReference, parallelTarget, pool);
+
+        // Same clauses, inserted in the store in the same order
+        assertEquals(new ArrayList<>(sequentialTarget), new ArrayList<>(parallelTarget));
+        assertEquals(sequentialReplaced, parallelReplaced);
+        for (Clause clause : sequentialTarget) {
+            assertEquals(sequentialStore.idOf(clause), parallelStore.idOf(clause));
+        }
+    }
+
+    private ClauseSet createSet(List<Clause> clauses) {
+        return createSet(new ClauseStore(), clauses);
+    }
+
+    private ClauseSet createSet(ClauseStore store, List<Clause> clauses) {
+        ClauseSet set = store.createSet();
+        set.addAll(clauses);
+        return set;
+    }
+
+    Stream<Arguments> provideParametersForSubsumptionReduction() {
+        return Stream.of(
+                Arguments.of(
+                        List.of(
+                                Clause.parse("Q(?z, f(?h)) => P(a, b), T(f(?x))"),
+                                Clause.parse("=> P(?x, ?y)"),
+                                Clause.parse("Q(?z, f(?h)) => P(a, b)"),
+                                Clause.parse("P(f(a)) => P(f(a))")
+                        )
+                ),
+                Arguments.of(
+                        List.of(
+                                Clause.parse("=> P(?x)"),
+                                Clause.parse("=> P(?y)"),
+                                Clause.parse("Q(?x) => P(?x)"),
+                                Clause.parse("Q(?y) => P(?y)"),
+                                Clause.parse("R(c) => P(a)")
+                        )
+                )
+        );
+    }
+
+    Stream<Arguments> provideParametersForMatchingReplacementResolution() {
+        return Stream.of(
+                Arguments.of(
+                        List.of(
+                                Clause.parse("=> P(f(?x))"),
+                                Clause.parse("=> Q(c)")
+                        ),
+                        List.of(
+                                Clause.parse("P(f(a)), Q(c) => R(c)"),
+                                Clause.parse("Q(c) => R(c)"),
+                                Clause.parse("S(a), P(f(b)) => Q(c)"),
+                                Clause.parse("R(h(?y)) =>")
+                        )
+                ),
+                Arguments.of(
+                        List.of(
+                                Clause.parse("=> Q(c)"),
+                                Clause.parse("S(?x) => P(f(?x)), Q(c)")
+                        ),
+                        List.of(
+                                Clause.parse("S(a), P(f(a)) => Q(c)"),
+                                Clause.parse("Q(c), S(a) => R(c)"),
+                                Clause.parse("Q(c) => R(c)")
+                        )
+                ),
+                Arguments.of(
+                        List.of(
+                                Clause.parse("=> P(?x)")
+                        ),
+                        List.of(
+                                Clause.parse("=> P(?x)"),
+                                Clause.parse("P(b) => R(c)")
+                        )
+                )
+        );
+    }
+}
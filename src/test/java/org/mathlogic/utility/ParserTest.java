@@ -0,0 +1,98 @@
+package org.mathlogic.utility;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.mathlogic.exception.ParsingSyntaxException;
+import org.mathlogic.structure.Clause;
+import org.mathlogic.structure.Literal;
+import org.mathlogic.structure.Term;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+class ParserTest {
+    @ParameterizedTest(name = "{index} -> input={0}, expected={1}")
+    @MethodSource("provideParametersForParseClause")
+    void testParseClause(String input, Clause expected) {
+        Clause result = new Parser().parseClause(input);
+
+        assertEquals(expected, result);
+    }
+
+    @ParameterizedTest(name = "{index} -> input={0}, position={1}")
+    @MethodSource("provideParametersForSyntaxError")
+    void testSyntaxError(String input, int position) {
+        ParsingSyntaxException exception =
+                assertThrows(ParsingSyntaxException.class, () -> new Parser().parseClause(input));
+
+        assertTrue(exception.getMessage().endsWith("at position " + position));
+    }
+
+    @Test
+    void testParseClauses() {
+        Parser parser = new Parser();
+
+        List<Clause> clauses = parser.parseClauses("=> P(f(a))\n\n  \r\nP(f(?x)) =>\r\nQ(f(a)) => P(a)\n");
+
+        assertEquals(List.of(
+                Clause.parse("=> P(f(a))"),
+                Clause.parse("P(f(?x)) =>"),
+                Clause.parse("Q(f(a)) => P(a)")
+        ), clauses);
+        // Symbols are interned while parsing
+        Term first = clauses.get(0).getPositiveLiterals().iterator().next().getTerms().get(0);
+        Term third = clauses.get(2).getNegativeLiterals().iterator().next().getTerms().get(0);
+        assertSame(first.getName(), third.getName());
+    }
+
+    Stream<Arguments> provideParametersForParseClause() {
+        return Stream.of(
+                Arguments.of("=>", new Clause()),
+                Arguments.of(" ", new Clause()),
+                Arguments.of(
+                        "Q(f(?y)) => R(c, ?y)",
+                        new Clause(
+                                new Literal(true, "Q", new Term("f", new Term("?y"))),
+                                new Literal(false, "R", new Term("c"), new Term("?y"))
+                        )
+                ),
+                Arguments.of(
+                        "  P ( f ( ?x' ) ,a )=>=(g(?x),a)",
+                        new Clause(
+                                new Literal(true, "P", new Term("f", new Term("?x'")), new Term("a")),
+                                new Literal(false, "=", new Term("g", new Term("?x")), new Term("a"))
+                        )
+                ),
+                Arguments.of(
+                        "P, ¬Q(a)",
+                        new Clause(
+                                new Literal(true, "P"),
+                                new Literal(false, "Q", new Term("a"))
+                        )
+                ),
+                Arguments.of(
+                        "P=>Q",
+                        new Clause(
+                                new Literal(true, "P"),
+                                new Literal(false, "Q")
+                        )
+                )
+        );
+    }
+
+    Stream<Arguments> provideParametersForSyntaxError() {
+        return Stream.of(
+                Arguments.of("P(a => Q", 4),
+                Arguments.of("=> P(a,)", 7),
+                Arguments.of("P(a) Q(b) =>", 5),
+                Arguments.of("=> P(a) => Q", 8),
+                Arguments.of("=> , P", 3)
+        );
+    }
+}
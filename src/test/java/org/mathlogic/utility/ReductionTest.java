@@ -17,17 +17,32 @@ class ReductionTest {
     @ParameterizedTest(name = "{index} -> original={0}, expected={1}")
     @MethodSource("provideParametersForRemoveTautology")
     void testRemoveTautology(Set<Clause> original, Set<Clause> expected) {
-        Reduction.removeTautology(original);
+        int size = original.size();
+        int removed = Reduction.removeTautology(original);
 
         assertEquals(expected, original);
+        assertEquals(size - expected.size(), removed);
     }
 
     @ParameterizedTest(name = "{index} -> original={0}, expected={1}")
     @MethodSource("provideParametersForSubsumptionReduction")
     void testSubsumptionReduction(Set<Clause> original, Set<Clause> expected) {
-        Reduction.subsumptionReduction(original);
+        int size = original.size();
+        int removed = Reduction.subsumptionReduction(original);
 
         assertEquals(expected, original);
+        assertEquals(size - expected.size(), removed);
+    }
+
+    @ParameterizedTest(name = "{index} -> reference={0}, target={1}, expected={2}")
+    @MethodSource("provideParametersForMatchingReplacementResolution")
+    void testMatchingReplacementResolution(Set<Clause> reference, Set<Clause> target, Set<Clause> expected) {
+        Reduction.matchingReplacementResolution(reference, target);
+
+        assertEquals(expected, target);
+        for (Clause clause : expected) {
+            assertTrue(target.contains(clause));
+        }
     }
 
     Stream<Arguments> provideParametersForRemoveTautology() {
@@ -83,4 +98,35 @@ class ReductionTest {
                 )
         );
     }
-}
\ No newline at end of file
+
+    Stream<Arguments> provideParametersForMatchingReplacementResolution() {
+        return Stream.of(
+                Arguments.of(
+                        Set.of(
+                                Clause.parse("=> P(?x)")
+                        ),
+                        new HashSet<>(Set.of(
+                                Clause.parse("P(b) => R(c)"),
+                                Clause.parse("Q(f(?y)) =>")
+                        )),
+                        Set.of(
+                                Clause.parse("=> R(c)"),
+                                Clause.parse("Q(f(?y)) =>")
+                        )
+                ),
+                Arguments.of(
+                        Set.of(
+                                Clause.parse("=> P(f(?x))"),
+                                Clause.parse("=> Q(c)")
+                        ),
+                        new HashSet<>(Set.of(
+                                Clause.parse("P(f(a)), Q(c) => R(c)"),
+                                Clause.parse("Q(c) => R(c)")
+                        )),
+                        Set.of(
+                                Clause.parse("=> R(c)")
+                        )
+                )
+        );
+    }
+}